@@ -0,0 +1,15 @@
+package com.merchantonboarding.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Controller method that honours the Idempotency-Key request header: a retry with the same key
+ * replays the first response instead of running the method again
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
@@ -0,0 +1,187 @@
+package com.merchantonboarding.aspect;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.merchantonboarding.exception.IdempotencyKeyException;
+import com.merchantonboarding.idempotency.IdempotencyStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Idempotency-Key support for @Idempotent controller methods.
+ * The first request with a key runs normally and its response is stored; a retry with the same key,
+ * caller and endpoint gets that response back (marked Idempotent-Replayed) without the service method,
+ * the audit aspect or notifications running again. Headers the endpoint set (ETag, Location, ...) are
+ * replayed with the body. Requests without the header are untouched.
+ * While the first request runs, its claim is held only for app.idempotency.lease; the response is then
+ * kept for app.idempotency.ttl. A claim left behind by a crashed node therefore blocks retries for the
+ * lease, not the TTL.
+ */
+@Aspect
+@Component
+public class IdempotencyAspect {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyAspect.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // Describe the body or the connection rather than the result; the replay sets its own
+    private static final Set<String> UNREPLAYED_HEADERS = Set.of(HttpHeaders.CONTENT_TYPE.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase());
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl:PT24H}")
+    private Duration ttl = Duration.ofHours(24);
+
+    // Longer than the slowest idempotent request (large uploads), or a retry could run alongside it
+    @Value("${app.idempotency.lease:PT5M}")
+    private Duration lease = Duration.ofMinutes(5);
+
+    @Around("@annotation(com.merchantonboarding.annotation.Idempotent)")
+    public Object handle(ProceedingJoinPoint joinPoint) throws Throwable {
+        HttpServletRequest request = currentRequest();
+        String clientKey = request != null ? request.getHeader(KEY_HEADER) : null;
+        if (clientKey == null || clientKey.isBlank()) {
+            return joinPoint.proceed();
+        }
+        if (clientKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = sha256(request.getMethod() + " " + request.getRequestURI() + "\n" + currentUser() + "\n" + clientKey);
+        String fingerprint = fingerprint(joinPoint.getArgs());
+
+        String owner = UUID.randomUUID().toString();
+        IdempotencyStore.Entry existing = store.claim(key, owner, fingerprint, lease);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        KEY_HEADER + " was already used for a different request");
+            }
+            if (existing.response() == null) {
+                throw new IdempotencyKeyException(HttpStatus.CONFLICT,
+                        "A request with this " + KEY_HEADER + " is still being processed");
+            }
+            return ResponseEntity.status(existing.response().status())
+                    .headers(headers -> existing.response().headers().forEach(headers::addAll))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(REPLAYED_HEADER, "true")
+                    .body(existing.response().body());
+        }
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable t) {
+            // Nothing was committed for this key; let the client retry
+            store.release(key, owner);
+            throw t;
+        }
+        try {
+            if (result instanceof ResponseEntity<?> response) {
+                store.complete(key, owner, new IdempotencyStore.StoredResponse(response.getStatusCode().value(),
+                        replayedHeaders(response.getHeaders()), objectMapper.writeValueAsString(response.getBody())), ttl);
+            } else {
+                store.release(key, owner);
+            }
+        } catch (Exception e) {
+            // The request succeeded; a missing replay entry only means a retry would run it again
+            log.warn("Could not record idempotent response: {}", e.getMessage());
+            store.release(key, owner);
+        }
+        return result;
+    }
+
+    private static Map<String, List<String>> replayedHeaders(HttpHeaders headers) {
+        Map<String, List<String>> kept = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            if (!UNREPLAYED_HEADERS.contains(name.toLowerCase())) {
+                kept.put(name, List.copyOf(values));
+            }
+        });
+        return kept;
+    }
+
+    private HttpServletRequest currentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest();
+        }
+        return null;
+    }
+
+    private String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "";
+    }
+
+    /**
+     * Hash of the request arguments, so a key reused with a different body is caught.
+     * Uploaded files count by name, type and size rather than by content.
+     */
+    private String fingerprint(Object[] args) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (Object arg : args) {
+            if (arg instanceof MultipartFile[] files) {
+                for (MultipartFile file : files) {
+                    appendFile(sb, file);
+                }
+            } else if (arg instanceof MultipartFile file) {
+                appendFile(sb, file);
+            } else {
+                sb.append(objectMapper.writeValueAsString(arg));
+            }
+            sb.append('\n');
+        }
+        return sha256(sb.toString());
+    }
+
+    private void appendFile(StringBuilder sb, MultipartFile file) {
+        sb.append(file.getOriginalFilename()).append('|').append(file.getContentType())
+          .append('|').append(file.getSize()).append(';');
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
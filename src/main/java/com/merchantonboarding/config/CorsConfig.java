@@ -4,21 +4,33 @@ import java.util.Arrays;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.merchantonboarding.aspect.IdempotencyAspect;
+import com.merchantonboarding.service.UploadSessionService;
+
 @Configuration
 public class CorsConfig implements WebMvcConfigurer {
 
+    /**
+     * Response headers the browser client may read: ETags, idempotent replay markers and the resumable
+     * upload offset. Shared with the Spring Security CORS setup in SecurityConfig.
+     */
+    public static final String[] EXPOSED_HEADERS = {HttpHeaders.ETAG, IdempotencyAspect.REPLAYED_HEADER,
+        UploadSessionService.OFFSET_HEADER};
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
                 .allowedOrigins("http://localhost:4200")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(EXPOSED_HEADERS)
                 .allowCredentials(true);
     }
 
@@ -28,6 +40,7 @@ public class CorsConfig implements WebMvcConfigurer {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(EXPOSED_HEADERS));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
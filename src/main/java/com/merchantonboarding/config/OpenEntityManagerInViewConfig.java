@@ -0,0 +1,33 @@
+package com.merchantonboarding.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-session-in-view for every endpoint except document uploads, resumable upload sessions,
+ * single document downloads and the streamed document archive.
+ * Once a request has touched the database, open-in-view keeps that connection until the response is
+ * written; these requests spend most of their time on storage I/O and do their database work in short
+ * transactions of their own, so they run without it (Spring Boot's own interceptor is off via
+ * spring.jpa.open-in-view=false).
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    static final String[] EXCLUDED_PATHS = {"/api/cases/*/documents", "/api/cases/*/uploads/**",
+        "/api/cases/*/documents/archive", "/api/cases/*/documents/*/download"};
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns(EXCLUDED_PATHS);
+    }
+}
@@ -0,0 +1,119 @@
+package com.merchantonboarding.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.merchantonboarding.model.CaseStatus;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Data migrations that ddl-auto=update cannot express (it only adds tables, columns and indexes,
+ * and never changes a column's type).
+ * Runs once ddl-auto has brought the schema up to date (the entity manager factory is created first)
+ * and while the context is still starting, so the web server accepts no request until it has finished.
+ * Every step is idempotent, so it is safe on every startup.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrations {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        backfillCaseStatusCodes();
+        dropIndexIfExists("onboarding_cases", "idx_cases_status_created_at_case_id");
+        convertToTemporal("onboarding_cases", "created_date", "DATE NULL",
+                "^[0-9]{4}-[0-9]{2}-[0-9]{2}$", "NULL");
+        convertToTemporal("onboarding_cases", "last_updated", "DATETIME(6) NULL",
+                "^[0-9]{4}-[0-9]{2}-[0-9]{2}( [0-9]{2}:[0-9]{2}(:[0-9]{2})?)?$", "NULL");
+        // NOT NULL: an unparseable entry takes its case's creation time, or the epoch when that is unknown too
+        convertToTemporal("case_history", "time", "DATETIME(6) NOT NULL",
+                "^[0-9]{4}-[0-9]{2}-[0-9]{2}( [0-9]{2}:[0-9]{2}(:[0-9]{2}(\\.[0-9]{1,6})?)?)?$",
+                "COALESCE((SELECT c.created_at FROM onboarding_cases c WHERE c.case_id = case_history.case_id), " +
+                "'1970-01-01 00:00:00')");
+        backfillCaseVersions();
+    }
+
+    /**
+     * Give rows written before the version column existed a starting version, so every case has an ETag
+     */
+    void backfillCaseVersions() {
+        int updated = jdbcTemplate.update("UPDATE onboarding_cases SET version = 0 WHERE version IS NULL");
+        if (updated > 0) {
+            log.info("Backfilled version for {} onboarding cases", updated);
+        }
+    }
+
+    /**
+     * Fill onboarding_cases.status_code for rows written before the column existed,
+     * and rewrite their free-text status to the canonical label
+     */
+    void backfillCaseStatusCodes() {
+        int total = 0;
+        for (CaseStatus status : CaseStatus.values()) {
+            total += jdbcTemplate.update(
+                    "UPDATE onboarding_cases SET status_code = ?, status = ? " +
+                    "WHERE status_code IS NULL AND UPPER(REPLACE(REPLACE(TRIM(status), ' ', '_'), '-', '_')) = ?",
+                    status.name(), status.getLabel(), status.name());
+        }
+        if (total > 0) {
+            log.info("Backfilled status_code for {} onboarding cases", total);
+        }
+        Integer unmapped = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM onboarding_cases WHERE status_code IS NULL", Integer.class);
+        if (unmapped != null && unmapped > 0) {
+            log.warn("{} onboarding cases have a status that maps to no CaseStatus and were left unchanged", unmapped);
+        }
+    }
+
+    /**
+     * Change a column written as formatted text (yyyy-MM-dd, yyyy-MM-dd HH:mm) to a DATE/DATETIME type.
+     * MySQL converts the existing values in place and rebuilds indexes on the column. Values that are
+     * missing or do not match validPattern are first set to replacement (an SQL expression: NULL for
+     * nullable columns, a stand-in value for NOT NULL ones) so the ALTER cannot fail on them.
+     */
+    void convertToTemporal(String table, String column, String columnType, String validPattern, String replacement) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                String.class, table, column);
+        if (types.isEmpty() || !"varchar".equalsIgnoreCase(types.get(0))) {
+            return;
+        }
+        String invalid = "NULL".equals(replacement)
+                ? "`" + column + "` NOT REGEXP ?"
+                : "`" + column + "` IS NULL OR `" + column + "` NOT REGEXP ?";
+        int repaired = jdbcTemplate.update(
+                "UPDATE " + table + " SET `" + column + "` = " + replacement + " WHERE " + invalid, validPattern);
+        if (repaired > 0) {
+            log.warn("Set {} unparseable {}.{} values to {} before type conversion", repaired, table, column, replacement);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY COLUMN `" + column + "` " + columnType);
+        log.info("Converted {}.{} to {}", table, column, columnType);
+    }
+
+    /**
+     * Drop an index replaced by a newer one; ddl-auto never removes indexes itself
+     */
+    void dropIndexIfExists(String table, String index) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, table, index);
+        if (count != null && count > 0) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP INDEX " + index);
+            log.info("Dropped index {} on {}", index, table);
+        }
+    }
+}
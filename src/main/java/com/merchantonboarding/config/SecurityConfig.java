@@ -16,6 +16,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
@@ -51,6 +53,7 @@ public class SecurityConfig {
                 corsConfig.setAllowedOriginPatterns(java.util.List.of("*"));
                 corsConfig.setAllowedMethods(java.util.List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
                 corsConfig.setAllowedHeaders(java.util.List.of("*"));
+                corsConfig.setExposedHeaders(java.util.List.of(CorsConfig.EXPOSED_HEADERS));
                 corsConfig.setAllowCredentials(true);
                 return corsConfig;
             }))
@@ -60,6 +63,10 @@ public class SecurityConfig {
                 // Public endpoints - no authentication required
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/roles/active").permitAll()
+                // Cache and JVM metrics are operational data for administrators only
+                .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
+                // Async dispatches (streamed responses) finish a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             );
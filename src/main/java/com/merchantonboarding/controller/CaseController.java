@@ -1,16 +1,17 @@
 package com.merchantonboarding.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,15 +21,33 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.merchantonboarding.annotation.Idempotent;
+import com.merchantonboarding.dto.BulkCaseUpdateRequest;
+import com.merchantonboarding.dto.BulkOperationResultDTO;
+import com.merchantonboarding.dto.CaseBatchGetRequest;
+import com.merchantonboarding.dto.CaseBatchGetResultDTO;
 import com.merchantonboarding.dto.CaseDTO;
-import com.merchantonboarding.model.User;
-import com.merchantonboarding.repository.UserRepository;
+import com.merchantonboarding.dto.CasePatchResultDTO;
+import com.merchantonboarding.dto.CaseSearchResultDTO;
+import com.merchantonboarding.dto.CaseSummaryDTO;
+import com.merchantonboarding.dto.CursorPageDTO;
+import com.merchantonboarding.dto.DocumentOcrDTO;
+import com.merchantonboarding.dto.UploadSessionDTO;
+import com.merchantonboarding.dto.UploadSessionRequest;
+import com.merchantonboarding.model.CaseStatus;
 import com.merchantonboarding.service.CaseService;
+import com.merchantonboarding.service.UploadSessionService;
+import com.merchantonboarding.storage.DocumentDownload;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -40,7 +59,7 @@ public class CaseController {
     private CaseService caseService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UploadSessionService uploadSessionService;
     
     /**
      * Get all cases with pagination and filtering
@@ -56,6 +75,24 @@ public class CaseController {
         return ResponseEntity.ok(cases);
     }
 
+    /**
+     * Stream all cases as a JSON array without building the list in memory
+     * (documents and history are omitted; use GET /{caseId} for those)
+     * Requires CASE_MANAGEMENT, CASE_CREATION, or ALL_MODULES permission
+     */
+    @GetMapping("/stream")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<StreamingResponseBody> streamCases(@RequestParam(required = false) String status) {
+        // Reject a bad status now, while a 400 can still be sent
+        if (status != null && !status.isEmpty()) {
+            CaseStatus.fromValue(status);
+        }
+        StreamingResponseBody body = out -> caseService.streamCases(status, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     /**
      * Get all cases with pagination
      * Requires CASE_MANAGEMENT, CASE_CREATION, or ALL_MODULES permission
@@ -70,6 +107,48 @@ public class CaseController {
         Page<CaseDTO> cases = caseService.getAllCases(page, size, status);
         return ResponseEntity.ok(cases);
     }
+
+    /**
+     * Get cases with cursor (keyset) pagination, newest first
+     * Pass the returned nextCursor as ?cursor= to fetch the following page
+     * Requires CASE_MANAGEMENT, CASE_CREATION, or ALL_MODULES permission
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<CursorPageDTO<CaseDTO>> getCasesByCursor(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        CursorPageDTO<CaseDTO> cases = caseService.getCasesByCursor(status, cursor, limit);
+        return ResponseEntity.ok(cases);
+    }
+
+    /**
+     * Get lightweight case summaries for list screens (no documents or history), cursor paginated
+     * Requires CASE_MANAGEMENT, CASE_CREATION, or ALL_MODULES permission
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<CursorPageDTO<CaseSummaryDTO>> getCaseSummaries(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        CursorPageDTO<CaseSummaryDTO> summaries = caseService.getCaseSummaries(status, cursor, limit);
+        return ResponseEntity.ok(summaries);
+    }
+
+    /**
+     * Get lightweight case summaries assigned to an officer
+     * Requires CASE_CREATION, CASE_MANAGEMENT, or ALL_MODULES permission
+     */
+    @GetMapping("/summary/by-officer/{assignedTo}")
+    @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('CASE_MANAGEMENT') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<List<CaseSummaryDTO>> getCaseSummariesByOfficer(@PathVariable String assignedTo) {
+        List<CaseSummaryDTO> summaries = caseService.getCaseSummariesByOfficer(assignedTo);
+        return ResponseEntity.ok(summaries);
+    }
     
     /**
      * Create new merchant onboarding case
@@ -77,17 +156,45 @@ public class CaseController {
      */
     @PostMapping
     @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    @Idempotent
     public ResponseEntity<CaseDTO> createCase(@Valid @RequestBody CaseDTO caseDTO) {
         CaseDTO createdCase = caseService.createCase(caseDTO);
         return ResponseEntity.ok(createdCase);
     }
 
+    /**
+     * Fetch many cases by id in one request (found cases in request order plus missing ids);
+     * set summary=true for list-screen summaries without documents and history
+     * Requires CASE_MANAGEMENT, CASE_CREATION, or ALL_MODULES permission
+     */
+    @PostMapping("/batch-get")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<CaseBatchGetResultDTO<?>> batchGetCases(@RequestBody CaseBatchGetRequest request) {
+        CaseBatchGetResultDTO<?> result = request.isSummary()
+            ? caseService.batchGetCaseSummaries(request.getCaseIds())
+            : caseService.batchGetCases(request.getCaseIds());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Create many cases in one request; each item is validated and reported separately
+     * Requires CASE_CREATION or ALL_MODULES permission
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    @Idempotent
+    public ResponseEntity<BulkOperationResultDTO> bulkCreateCases(@RequestBody List<CaseDTO> caseDTOs) {
+        BulkOperationResultDTO result = caseService.bulkCreateCases(caseDTOs);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Save case as draft (no field validation required)
      * Requires CASE_CREATION permission
      */
     @PostMapping("/draft")
     @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    @Idempotent
     public ResponseEntity<CaseDTO> saveDraft(@RequestBody CaseDTO caseDTO) {
         CaseDTO createdCase = caseService.saveDraft(caseDTO);
         return ResponseEntity.ok(createdCase);
@@ -111,23 +218,45 @@ public class CaseController {
      */
     @GetMapping("/{caseId}")
     @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
-    public ResponseEntity<CaseDTO> getCaseById(@PathVariable String caseId) {
+    public ResponseEntity<CaseDTO> getCaseById(@PathVariable String caseId, WebRequest request) {
+        // Revalidation only needs the version column; answer 304 before documents and history are read
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(CaseETags.of(caseService.getCaseVersion(caseId)))) {
+            return null;
+        }
         CaseDTO caseDTO = caseService.getCaseById(caseId);
-        return ResponseEntity.ok(caseDTO);
+        return ResponseEntity.ok().eTag(CaseETags.of(caseDTO.getVersion())).body(caseDTO);
     }
     
     /**
      * Update existing case
-     * Requires CASE_MANAGEMENT permission
+     * Requires CASE_MANAGEMENT permission.
+     * With If-Match, the update is rejected with 412 unless the case is still at that ETag.
      */
     @PutMapping("/{caseId}")
     @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('ALL_MODULES')")
     public ResponseEntity<CaseDTO> updateCase(@PathVariable String caseId,
-                                              @Valid @RequestBody CaseDTO caseDTO) {
-        CaseDTO updatedCase = caseService.updateCase(caseId, caseDTO);
-        return ResponseEntity.ok(updatedCase);
+                                              @Valid @RequestBody CaseDTO caseDTO,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CaseDTO updatedCase = caseService.updateCase(caseId, caseDTO, CaseETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(CaseETags.of(updatedCase.getVersion())).body(updatedCase);
     }
     
+    /**
+     * Partially update a case with a JSON Merge Patch: only the supplied fields change, null clears a field
+     * (business name cannot be cleared). Status and assignment are not patchable; use their own endpoints.
+     * Returns the changed field names and the new ETag; honours If-Match like PUT.
+     * Requires CASE_MANAGEMENT permission, like PUT.
+     */
+    @PatchMapping(value = "/{caseId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<CasePatchResultDTO> patchCase(@PathVariable String caseId,
+                                                        @RequestBody Map<String, Object> patch,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CasePatchResultDTO result = caseService.patchCase(caseId, patch, CaseETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(CaseETags.of(result.getVersion())).body(result);
+    }
+
     /**
      * Delete case
      * Requires CASE_CREATION, CASE_MANAGEMENT, or ALL_MODULES permission
@@ -161,6 +290,23 @@ public class CaseController {
         List<CaseDTO> cases = caseService.searchCases(keyword);
         return ResponseEntity.ok(cases);
     }
+
+    /**
+     * Paged full-text search with status and category facets
+     * Requires CASE_CREATION, CASE_MANAGEMENT, or ALL_MODULES permission
+     */
+    @GetMapping("/search/paged")
+    @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('CASE_MANAGEMENT') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<CaseSearchResultDTO> searchCasesPaged(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CaseSearchResultDTO result = caseService.searchCasesPaged(q, status, category, page, size);
+        return ResponseEntity.ok(result);
+    }
     
     /**
      * Get case statistics
@@ -176,30 +322,52 @@ public class CaseController {
     /**
      * Update case status
      * Requires CASE_MANAGEMENT permission.
-     * Both admins and compliance reviewers can only approve/reject cases assigned to them.
+     * Only moves allowed by the case workflow succeed; approve/reject is limited to the assigned user.
+     * With If-Match, the change is rejected with 412 unless the case is still at that ETag.
      */
     @PatchMapping("/{caseId}/status")
     @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('ALL_MODULES')")
     public ResponseEntity<CaseDTO> updateCaseStatus(@PathVariable String caseId,
-                                                    @RequestBody Map<String, String> request) {
-        String status = request.get("status");
-
-        // Enforce: only the assigned user (admin or reviewer) can approve/reject
-        if ("Approved".equals(status) || "Rejected".equals(status)) {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String email = auth.getName();
-            String currentUserId = userRepository.findByEmail(email)
-                    .map(User::getId)
-                    .orElse(null);
-
-            CaseDTO caseData = caseService.getCaseById(caseId);
-            if (currentUserId == null || !currentUserId.equals(caseData.getAssignedTo())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-        }
+                                                    @RequestBody Map<String, String> request,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // The case workflow enforces the allowed moves, including approve/reject by the assignee only
+        CaseDTO updatedCase = caseService.updateCaseStatus(caseId, request.get("status"), CaseETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(CaseETags.of(updatedCase.getVersion())).body(updatedCase);
+    }
 
-        CaseDTO updatedCase = caseService.updateCaseStatus(caseId, status);
-        return ResponseEntity.ok(updatedCase);
+    /**
+     * Statuses the current user may move this case to, so the UI only offers valid actions
+     * Requires CASE_MANAGEMENT, CASE_CREATION, or ALL_MODULES permission
+     */
+    @GetMapping("/{caseId}/allowed-transitions")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<List<String>> getAllowedTransitions(@PathVariable String caseId) {
+        return ResponseEntity.ok(caseService.getAllowedTransitions(caseId));
+    }
+
+    /**
+     * Move many cases to one status; each case is checked and reported separately
+     * Requires CASE_MANAGEMENT permission. Approve/reject only applies to cases assigned to the caller.
+     */
+    @PatchMapping("/bulk/status")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<BulkOperationResultDTO> bulkUpdateCaseStatus(@RequestBody BulkCaseUpdateRequest request) {
+        BulkOperationResultDTO result = caseService.bulkUpdateCaseStatus(request.getCaseIds(), request.getStatus());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Get a page of a case's history, latest entries first
+     * Requires CASE_MANAGEMENT, CASE_CREATION, or ALL_MODULES permission
+     */
+    @GetMapping("/{caseId}/history")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<Page<CaseDTO.CaseHistoryDTO>> getCaseHistory(
+            @PathVariable String caseId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<CaseDTO.CaseHistoryDTO> history = caseService.getCaseHistory(caseId, page, size);
+        return ResponseEntity.ok(history);
     }
 
     /**
@@ -229,12 +397,24 @@ public class CaseController {
         return ResponseEntity.ok(updatedCase);
     }
 
+    /**
+     * Assign many cases to one reviewer
+     * Requires CASE_MANAGEMENT or CASE_CREATION permission
+     */
+    @PatchMapping("/bulk/assign")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<BulkOperationResultDTO> bulkAssignCases(@RequestBody BulkCaseUpdateRequest request) {
+        BulkOperationResultDTO result = caseService.bulkAssignCases(request.getCaseIds(), request.getAssignedTo());
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Upload documents for a case
      * Requires CASE_CREATION or DOCUMENT_UPLOAD permission
      */
     @PostMapping(value = "/{caseId}/documents", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('DOCUMENT_UPLOAD') or hasAuthority('ALL_MODULES')")
+    @Idempotent
     public ResponseEntity<CaseDTO> uploadDocuments(
             @PathVariable String caseId,
             @RequestParam("files") MultipartFile[] files,
@@ -244,13 +424,116 @@ public class CaseController {
     }
 
     /**
-     * Download a document by its ID
+     * Start a resumable upload of one document; chunks are then PUT to the returned uploadId
+     * Requires CASE_CREATION or DOCUMENT_UPLOAD permission
      */
-    @GetMapping("/{caseId}/documents/{documentId}/download")
+    @PostMapping("/{caseId}/uploads")
+    @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('DOCUMENT_UPLOAD') or hasAuthority('ALL_MODULES')")
+    @Idempotent
+    public ResponseEntity<UploadSessionDTO> createUploadSession(
+            @PathVariable String caseId,
+            @Valid @RequestBody UploadSessionRequest request) {
+        UploadSessionDTO session = uploadSessionService.create(caseId, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(UploadSessionService.OFFSET_HEADER, String.valueOf(session.getOffset()))
+                .body(session);
+    }
+
+    /**
+     * Current offset of a resumable upload, for picking up after a dropped connection
+     */
+    @GetMapping("/{caseId}/uploads/{uploadId}")
+    @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('DOCUMENT_UPLOAD') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<UploadSessionDTO> getUploadSession(
+            @PathVariable String caseId,
+            @PathVariable String uploadId) {
+        UploadSessionDTO session = uploadSessionService.get(caseId, uploadId);
+        return ResponseEntity.ok()
+                .header(UploadSessionService.OFFSET_HEADER, String.valueOf(session.getOffset()))
+                .body(session);
+    }
+
+    /**
+     * Append a chunk (raw bytes) at Upload-Offset, verified against Upload-Checksum: sha256 base64.
+     * 409 if the offset is not where the upload stands; the response carries the new offset.
+     */
+    @PutMapping(value = "/{caseId}/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('DOCUMENT_UPLOAD') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<UploadSessionDTO> uploadChunk(
+            @PathVariable String caseId,
+            @PathVariable String uploadId,
+            @RequestHeader(UploadSessionService.OFFSET_HEADER) long offset,
+            @RequestHeader(value = UploadSessionService.CHECKSUM_HEADER, required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+        UploadSessionDTO session = uploadSessionService.appendChunk(caseId, uploadId, offset, checksum,
+                request.getInputStream());
+        return ResponseEntity.ok()
+                .header(UploadSessionService.OFFSET_HEADER, String.valueOf(session.getOffset()))
+                .body(session);
+    }
+
+    /**
+     * Commit a fully received upload as a document of the case, optionally checking the whole file's SHA-256 (hex)
+     */
+    @PostMapping("/{caseId}/uploads/{uploadId}/complete")
+    @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('DOCUMENT_UPLOAD') or hasAuthority('ALL_MODULES')")
+    @Idempotent
+    public ResponseEntity<CaseDTO> completeUploadSession(
+            @PathVariable String caseId,
+            @PathVariable String uploadId,
+            @RequestParam(required = false) String sha256) {
+        return ResponseEntity.ok(uploadSessionService.complete(caseId, uploadId, sha256));
+    }
+
+    /**
+     * Abandon a resumable upload
+     */
+    @DeleteMapping("/{caseId}/uploads/{uploadId}")
+    @PreAuthorize("hasAuthority('CASE_CREATION') or hasAuthority('DOCUMENT_UPLOAD') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<Void> abortUploadSession(
+            @PathVariable String caseId,
+            @PathVariable String uploadId) {
+        uploadSessionService.abort(caseId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * OCR status and extracted fields (registration number, director IC) for a document
+     */
+    @GetMapping("/{caseId}/documents/{documentId}/ocr")
     @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
-    public ResponseEntity<org.springframework.core.io.Resource> downloadDocument(
+    public ResponseEntity<DocumentOcrDTO> getDocumentOcr(
             @PathVariable String caseId,
             @PathVariable Long documentId) {
-        return caseService.downloadDocument(caseId, documentId);
+        return ResponseEntity.ok(caseService.getDocumentOcr(caseId, documentId));
+    }
+
+    /**
+     * Download every document of the case as one ZIP, streamed as it is built
+     */
+    @GetMapping("/{caseId}/documents/archive")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    public ResponseEntity<StreamingResponseBody> downloadDocumentArchive(@PathVariable String caseId) {
+        // Resolved before streaming starts, so an unknown case or missing file is still a clean 404
+        List<DocumentDownload> documents = caseService.getDocumentArchive(caseId);
+        StreamingResponseBody body = out -> DocumentArchives.write(documents, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(caseId + "-documents.zip").build().toString())
+                .body(body);
+    }
+
+    /**
+     * Download a document by its ID. Supports single byte ranges and revalidation through ETag/Last-Modified.
+     */
+    @GetMapping("/{caseId}/documents/{documentId}/download")
+    @PreAuthorize("hasAuthority('CASE_MANAGEMENT') or hasAuthority('CASE_CREATION') or hasAuthority('ALL_MODULES')")
+    public void downloadDocument(
+            @PathVariable String caseId,
+            @PathVariable Long documentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        DocumentDownloads.send(caseService.getDocumentDownload(caseId, documentId), request, response);
     }
 }
@@ -0,0 +1,39 @@
+package com.merchantonboarding.controller;
+
+import com.merchantonboarding.exception.PreconditionFailedException;
+
+/**
+ * Strong ETags for a case, taken straight from its @Version column: "\"<version>\""
+ */
+final class CaseETags {
+
+    private CaseETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    /**
+     * Version a write is conditional on, or null when there is no If-Match header (or it is "*").
+     * Weak or foreign tags can never match strongly, so they fail the precondition outright.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String[] tags = ifMatch.split(",");
+        if (tags.length > 1) {
+            throw new IllegalArgumentException("If-Match must carry a single ETag");
+        }
+        String tag = tags[0].trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match does not match any version of this case");
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match any version of this case");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.merchantonboarding.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.merchantonboarding.storage.DocumentDownload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a stored document to the response: conditional GET (304), a single byte range (206/416),
+ * and the bytes themselves through Tomcat's sendfile when the connector offers it, otherwise
+ * FileChannel.transferTo straight into the response stream. Documents in a remote store are
+ * streamed from the store's response without buffering.
+ */
+final class DocumentDownloads {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private DocumentDownloads() {
+    }
+
+    static void send(DocumentDownload download, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // Sets ETag and Last-Modified, and answers If-None-Match / If-Modified-Since with a 304
+        if (new ServletWebRequest(request, response).checkNotModified(download.etag(), download.lastModified())) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(download.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(download.name(), StandardCharsets.UTF_8).build().toString());
+
+        long size = download.size();
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = requestedRange(download, request);
+        if (range != null) {
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+            if (start >= size || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (download.path() == null) {
+            try (InputStream in = download.content().open(start, end)) {
+                if (in.transferTo(response.getOutputStream()) != length) {
+                    throw new IOException("Stored object shorter than expected: " + download.name());
+                }
+            }
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat copies the file to the socket itself once this request returns
+            request.setAttribute(SENDFILE_FILENAME, download.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(download.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    throw new IOException("File shrank while sending: " + download.name());
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * The single range to serve, or null for the whole file. Multiple ranges, malformed headers and
+     * a stale If-Range all fall back to the full body, which the HTTP spec allows.
+     */
+    private static HttpRange requestedRange(DocumentDownload download, HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !ifRangeMatches(download, request)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean ifRangeMatches(DocumentDownload download, HttpServletRequest request) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Weak tags never match for ranges
+            return ifRange.equals(download.etag());
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == download.lastModified() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.merchantonboarding.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Body of the bulk status and bulk assign endpoints: the cases to change plus the target status or assignee.
+ */
+@Data
+public class BulkCaseUpdateRequest {
+    private List<String> caseIds;
+    private String status;
+    private String assignedTo;
+}
@@ -0,0 +1,38 @@
+package com.merchantonboarding.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class BulkOperationResultDTO {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private long elapsedMs;
+    private List<ItemResult> results = new ArrayList<>(); // one per requested item, in request order
+
+    public void addSuccess(int index, String caseId) {
+        results.add(new ItemResult(index, caseId, true, null));
+        succeeded++;
+    }
+
+    public void addFailure(int index, String caseId, String error) {
+        results.add(new ItemResult(index, caseId, false, error));
+        failed++;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private String caseId;
+        private boolean success;
+        private String error;
+    }
+}
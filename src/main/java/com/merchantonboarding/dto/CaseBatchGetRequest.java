@@ -0,0 +1,14 @@
+package com.merchantonboarding.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Body of POST /api/cases/batch-get: the case ids to resolve, and whether list-screen summaries are enough.
+ */
+@Data
+public class CaseBatchGetRequest {
+    private List<String> caseIds;
+    private boolean summary; // true: CaseSummaryDTO (one query, no documents or history)
+}
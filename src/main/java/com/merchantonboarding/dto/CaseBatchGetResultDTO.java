@@ -0,0 +1,15 @@
+package com.merchantonboarding.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseBatchGetResultDTO<T> {
+    private List<T> cases;      // found cases, in request order, each id once
+    private List<String> missing; // requested ids that do not exist
+}
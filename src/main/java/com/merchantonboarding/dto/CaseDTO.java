@@ -2,6 +2,8 @@ package com.merchantonboarding.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -51,6 +53,11 @@ public class CaseDTO {
 
     private List<DocumentDTO> documents;
     private List<CaseHistoryDTO> history;
+    private Long historyTotal; // all history entries; history itself may hold only the latest ones
+
+    // Case version at the time this view was built; sent as the ETag header, not in the body
+    @JsonIgnore
+    private Long version;
 
     @Data
     public static class DocumentDTO {
@@ -58,6 +65,8 @@ public class CaseDTO {
         private String name;
         private String type;
         private String uploadedAt;
+        private Long sizeBytes;
+        private String contentHash; // SHA-256 hex, so clients can verify downloads
     }
 
     @Data
@@ -0,0 +1,24 @@
+package com.merchantonboarding.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a merge patch: which fields actually changed. An empty list means nothing was written.
+ * Kept small on purpose so autosave round trips stay cheap; fetch the case for the full view.
+ */
+@Data
+@NoArgsConstructor
+public class CasePatchResultDTO {
+    private String caseId;
+    private List<String> changedFields = new ArrayList<>();
+
+    // Case version after the patch; sent as the ETag header, not in the body
+    @JsonIgnore
+    private Long version;
+}
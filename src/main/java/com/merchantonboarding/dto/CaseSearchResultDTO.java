@@ -0,0 +1,19 @@
+package com.merchantonboarding.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseSearchResultDTO {
+    private List<CaseSummaryDTO> items; // best match first
+    private long total;
+    private int page;
+    private int size;
+    private Map<String, Map<String, Long>> facets; // "status" and "category" value -> count over all matches
+}
@@ -0,0 +1,41 @@
+package com.merchantonboarding.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * List-screen view of a case, built directly by a JPQL constructor query
+ * (no entity hydration, no documents or history). Detail views use CaseDTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseSummaryDTO {
+    private String caseId;
+    private String businessName;
+    private String businessType;
+    private String merchantCategory;
+    private String status;
+    private String assignedTo;
+    private String assignedToName;
+    private String createdDate;
+    private String lastUpdated;
+
+    // Keyset position for cursor pagination; not part of the response
+    @JsonIgnore
+    private LocalDateTime createdAt;
+
+    // Used by CaseRepository.SUMMARY_SELECT: typed columns in, wire-format strings out
+    public CaseSummaryDTO(String caseId, String businessName, String businessType, String merchantCategory,
+                          String status, String assignedTo, String assignedToName, LocalDate createdDate,
+                          LocalDateTime lastUpdated, LocalDateTime createdAt) {
+        this(caseId, businessName, businessType, merchantCategory, status, assignedTo, assignedToName,
+                DateFormats.format(createdDate), DateFormats.format(lastUpdated), createdAt);
+    }
+}
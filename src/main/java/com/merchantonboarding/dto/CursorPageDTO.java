@@ -0,0 +1,17 @@
+package com.merchantonboarding.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor; // opaque; pass back as ?cursor= to fetch the next page, null on the last page
+    private boolean hasMore;
+    private int limit;
+}
@@ -0,0 +1,38 @@
+package com.merchantonboarding.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Wire format of case dates. They are typed DATE/DATETIME columns in the database and these
+ * strings in JSON, CSV and PDF output.
+ */
+public final class DateFormats {
+
+    public static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    public static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private DateFormats() {
+    }
+
+    public static String format(LocalDate date) {
+        return date != null ? date.format(DATE) : null;
+    }
+
+    public static String format(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(DATE_TIME) : null;
+    }
+
+    /**
+     * Parse a yyyy-MM-dd date from a request; malformed input is a client error
+     */
+    public static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value, DATE);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + value + "', expected yyyy-MM-dd");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.merchantonboarding.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OCR progress and output for one document.
+ * status is PENDING, PROCESSING, COMPLETED or FAILED once the pipeline has seen the file,
+ * NOT_STARTED before that, and UNAVAILABLE when OCR is switched off or the file predates content hashing.
+ */
+@Data
+@NoArgsConstructor
+public class DocumentOcrDTO {
+    private Long documentId;
+    private String status;
+    private String registrationNumber;
+    private String directorIc;
+    private Integer pageCount;
+    private String extractedText;
+    private String error;
+    private String completedAt;
+}
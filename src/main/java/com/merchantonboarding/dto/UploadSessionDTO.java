@@ -0,0 +1,20 @@
+package com.merchantonboarding.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a resumable upload. offset is how many bytes the server holds; the next chunk starts there.
+ */
+@Data
+@NoArgsConstructor
+public class UploadSessionDTO {
+    private String uploadId;
+    private String caseId;
+    private String fileName;
+    private String type;
+    private long size;
+    private long offset;
+    private long maxChunkSize;
+    private String expiresAt;
+}
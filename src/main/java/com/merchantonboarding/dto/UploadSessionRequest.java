@@ -0,0 +1,19 @@
+package com.merchantonboarding.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Body of POST /api/cases/{caseId}/uploads: the file about to be sent in chunks
+ */
+@Data
+public class UploadSessionRequest {
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    private String type; // document type, as in the types parameter of the multipart upload
+
+    @Positive(message = "Size must be positive")
+    private long size;
+}
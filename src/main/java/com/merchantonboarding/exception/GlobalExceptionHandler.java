@@ -125,6 +125,54 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handle failed If-Match preconditions (client edited a stale copy)
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex) {
+
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatus(HttpStatus.PRECONDITION_FAILED.value());
+        errorResponse.setTimestamp(LocalDateTime.now());
+        errorResponse.setErrors(null);
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handle Idempotency-Key conflicts (first request still running, or key reused for another request)
+     */
+    @ExceptionHandler(IdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyException(
+            IdempotencyKeyException ex) {
+
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatus(ex.getStatus().value());
+        errorResponse.setTimestamp(LocalDateTime.now());
+        errorResponse.setErrors(null);
+
+        return new ResponseEntity<>(errorResponse, ex.getStatus());
+    }
+
+    /**
+     * Handle resumable upload chunks that do not fit the session (wrong offset, concurrent writer, too large, wrong node)
+     */
+    @ExceptionHandler(UploadSessionException.class)
+    public ResponseEntity<ErrorResponse> handleUploadSessionException(
+            UploadSessionException ex) {
+
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatus(ex.getStatus().value());
+        errorResponse.setTimestamp(LocalDateTime.now());
+        errorResponse.setErrors(null);
+
+        return new ResponseEntity<>(errorResponse, ex.getStatus());
+    }
+
     /**
      * Handle general exceptions
      */
@@ -0,0 +1,20 @@
+package com.merchantonboarding.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * An Idempotency-Key cannot be honoured: the first request is still running (409),
+ * or the key was already used for a different request (422)
+ */
+public class IdempotencyKeyException extends RuntimeException {
+    private final HttpStatus status;
+
+    public IdempotencyKeyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
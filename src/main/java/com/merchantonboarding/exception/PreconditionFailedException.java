@@ -0,0 +1,10 @@
+package com.merchantonboarding.exception;
+
+/**
+ * A conditional request (If-Match) no longer matches the current state of the resource
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
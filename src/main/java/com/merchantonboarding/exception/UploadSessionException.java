@@ -0,0 +1,21 @@
+package com.merchantonboarding.exception;
+
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * A chunk cannot be accepted as sent: the offset is not where the upload stands or another chunk
+ * is being written (409), it would run past the declared size or chunk limit (413), or it reached
+ * a node other than the one holding the upload (421)
+ */
+public class UploadSessionException extends RuntimeException {
+    private final HttpStatusCode status;
+
+    public UploadSessionException(HttpStatusCode status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+}
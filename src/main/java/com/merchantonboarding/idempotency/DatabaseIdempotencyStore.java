@@ -0,0 +1,103 @@
+package com.merchantonboarding.idempotency;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.merchantonboarding.model.IdempotencyRecord;
+import com.merchantonboarding.repository.IdempotencyRecordRepository;
+
+/**
+ * Idempotency store shared by all nodes through the idempotency_keys table.
+ * Claims rely on the primary key (INSERT IGNORE), so two nodes racing on one key cannot both win.
+ * An in-flight row expires with its lease, so a claim left by a crashed node is deleted by the next
+ * claim for that key and the retry takes over.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseIdempotencyStore.class);
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Override
+    @Transactional
+    public Entry claim(String key, String owner, String fingerprint, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        // An expired row (a replay past its TTL, or a claim past its lease) must not block a fresh request
+        repository.deleteIfExpired(key, now);
+        if (repository.insertIfAbsent(key, fingerprint, owner, now, now.plus(lease)) == 1) {
+            return null;
+        }
+        IdempotencyRecord existing = repository.findById(key).orElse(null);
+        if (existing == null) {
+            // Released between our insert attempt and the read; treat as in flight and let the client retry
+            return new Entry(fingerprint, null);
+        }
+        StoredResponse response = existing.getResponseStatus() != null
+            ? new StoredResponse(existing.getResponseStatus(), decodeHeaders(existing.getResponseHeaders()),
+                existing.getResponseBody())
+            : null;
+        return new Entry(existing.getFingerprint(), response);
+    }
+
+    @Override
+    @Transactional
+    public void complete(String key, String owner, StoredResponse response, Duration ttl) {
+        if (repository.complete(key, owner, response.status(), encodeHeaders(response.headers()), response.body(),
+                LocalDateTime.now().plus(ttl)) == 0) {
+            log.warn("Idempotency key was taken over before its request completed; response not recorded");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(String key, String owner) {
+        repository.release(key, owner);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT5M}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    static String encodeHeaders(Map<String, List<String>> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        headers.forEach((name, values) -> values.forEach(value -> sb.append(name).append(": ").append(value).append('\n')));
+        return sb.toString();
+    }
+
+    static Map<String, List<String>> decodeHeaders(String encoded) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (encoded != null) {
+            for (String line : encoded.split("\n")) {
+                int colon = line.indexOf(": ");
+                if (colon > 0) {
+                    headers.computeIfAbsent(line.substring(0, colon), name -> new ArrayList<>()).add(line.substring(colon + 2));
+                }
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,48 @@
+package com.merchantonboarding.idempotency;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers which idempotency keys have been used and the response each one produced.
+ * Keys arrive already scoped to caller and endpoint and hashed to a fixed length.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claim a key for a new request on behalf of owner. Returns null if the owner now holds the key,
+     * otherwise the entry already recorded under it (its response is null while the first request is still
+     * running). An uncompleted claim lapses after lease, so a request lost with its node does not block
+     * retries for the whole TTL; the next claim after that takes the key over.
+     */
+    Entry claim(String key, String owner, String fingerprint, Duration lease);
+
+    /**
+     * Record the response for a key the owner still holds so retries can replay it for ttl.
+     * Does nothing if the claim lapsed and another request took the key over.
+     */
+    void complete(String key, String owner, StoredResponse response, Duration ttl);
+
+    /**
+     * Forget a key whose request failed, so a retry runs again; only if the owner still holds it
+     */
+    void release(String key, String owner);
+
+    /**
+     * Drop entries past their expiry
+     */
+    void purgeExpired();
+
+    /**
+     * Status, headers set by the endpoint (ETag, Location, ...) and JSON body of a completed request
+     */
+    record StoredResponse(int status, Map<String, List<String>> headers, String body) {
+    }
+
+    /**
+     * What is recorded under a key: the request fingerprint, and the response once complete
+     */
+    record Entry(String fingerprint, StoredResponse response) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.merchantonboarding.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-node idempotency store: a bounded map in insertion order, so the oldest keys go first
+ * when it is full. Fine for a single node; use app.idempotency.store=database behind a load balancer.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    @Value("${app.idempotency.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    Clock clock = Clock.systemUTC();
+
+    private final Map<String, Slot> slots = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Slot> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    @Override
+    public synchronized Entry claim(String key, String owner, String fingerprint, Duration lease) {
+        Instant now = clock.instant();
+        Slot slot = slots.get(key);
+        if (slot != null && slot.expiresAt.isAfter(now)) {
+            return new Entry(slot.fingerprint, slot.response);
+        }
+        slots.put(key, new Slot(fingerprint, owner, null, now.plus(lease)));
+        return null;
+    }
+
+    @Override
+    public synchronized void complete(String key, String owner, StoredResponse response, Duration ttl) {
+        Slot slot = slots.get(key);
+        if (slot != null && owner.equals(slot.owner)) {
+            slots.put(key, new Slot(slot.fingerprint, owner, response, clock.instant().plus(ttl)));
+        }
+    }
+
+    @Override
+    public synchronized void release(String key, String owner) {
+        Slot slot = slots.get(key);
+        if (slot != null && owner.equals(slot.owner)) {
+            slots.remove(key);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT5M}")
+    public synchronized void purgeExpired() {
+        Instant now = clock.instant();
+        for (Iterator<Slot> it = slots.values().iterator(); it.hasNext(); ) {
+            if (!it.next().expiresAt.isAfter(now)) {
+                it.remove();
+            }
+        }
+    }
+
+    synchronized int size() {
+        return slots.size();
+    }
+
+    private record Slot(String fingerprint, String owner, StoredResponse response, Instant expiresAt) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.merchantonboarding.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -8,6 +10,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "business_types")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "business-types")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,7 @@
 package com.merchantonboarding.model;
 
+import java.time.LocalDateTime;
+
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,7 +18,7 @@ public class CaseHistory {
     private Long id;
 
     @Column(nullable = false)
-    private String time;
+    private LocalDateTime time;
 
     @Column(nullable = false, length = 500)
     private String action;
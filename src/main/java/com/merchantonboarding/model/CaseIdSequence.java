@@ -0,0 +1,41 @@
+package com.merchantonboarding.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-year high-water mark for case IDs (MOP-YYYY-NNN).
+ * Each node reserves a block of sequence numbers by advancing nextValue under a row lock.
+ */
+@Entity
+@Table(name = "case_id_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseIdSequence {
+    @Id
+    @Column(name = "seq_year")
+    private Integer year;
+
+    // First sequence number not yet handed out to any node
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
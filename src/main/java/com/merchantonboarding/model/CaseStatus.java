@@ -0,0 +1,48 @@
+package com.merchantonboarding.model;
+
+import java.util.Locale;
+
+/**
+ * Canonical onboarding case statuses. The enum name is stored in onboarding_cases.status_code
+ * for filtering and indexing; the label is what the API and the legacy status column carry.
+ */
+public enum CaseStatus {
+    DRAFT("Draft"),
+    PENDING_REVIEW("Pending Review"),
+    BACKGROUND_VERIFICATION("Background Verification"),
+    COMPLIANCE_REVIEW("Compliance Review"),
+    APPROVED("Approved"),
+    REJECTED("Rejected");
+
+    private final String label;
+
+    CaseStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Approved and Rejected are final decisions; no further status changes are allowed
+     */
+    public boolean isFinal() {
+        return this == APPROVED || this == REJECTED;
+    }
+
+    /**
+     * Parse a label ("Pending Review"), code ("PENDING_REVIEW") or query-string form ("pending_review")
+     */
+    public static CaseStatus fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Case status is required");
+        }
+        String code = value.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+        try {
+            return CaseStatus.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown case status: " + value);
+        }
+    }
+}
@@ -7,7 +7,9 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", indexes = {
+    @Index(name = "idx_documents_content_hash", columnList = "content_hash")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,6 +29,16 @@ public class Document {
 
     @Column(name = "file_path")
     private String filePath;
+
+    // SHA-256 of the stored bytes; null for files uploaded before content-addressed storage
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "case_id")
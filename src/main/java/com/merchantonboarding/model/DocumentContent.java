@@ -0,0 +1,42 @@
+package com.merchantonboarding.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One stored file, shared by every document with the same bytes.
+ * ref_count is the number of documents pointing at it, plus uploads of the same bytes still on their
+ * way to a document; the file is removed under a lock on this row when it reaches zero.
+ */
+@Entity
+@Table(name = "document_contents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentContent {
+    // Lower-case hex SHA-256 of the file
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    // CRC-32 of the file, taken while it was stored so archives can write it without reading the file first;
+    // null for content stored before it was recorded
+    @Column(name = "crc32")
+    private Long crc32;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
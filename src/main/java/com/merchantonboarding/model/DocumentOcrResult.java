@@ -0,0 +1,57 @@
+package com.merchantonboarding.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OCR output for one stored file, keyed by its content hash so every document with the same
+ * bytes shares a single run
+ */
+@Entity
+@Table(name = "document_ocr_results")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentOcrResult {
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private OcrStatus status;
+
+    @Column(name = "extracted_text", columnDefinition = "LONGTEXT")
+    private String extractedText;
+
+    @Column(name = "registration_number", length = 50)
+    private String registrationNumber;
+
+    @Column(name = "director_ic", length = 20)
+    private String directorIc;
+
+    @Column(name = "page_count")
+    private Integer pageCount;
+
+    @Column(name = "error", length = 500)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // When the current attempt was queued or picked up; a PENDING or PROCESSING row left this long is retried
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,54 @@
+package com.merchantonboarding.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Shared idempotency key record (app.idempotency.store=database).
+ * A row without a status is a request still in flight, held by owner until its short lease runs out;
+ * completed rows keep the response for the full TTL. Expired rows are purged on a schedule.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    // SHA-256 of endpoint, caller and client key
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String key;
+
+    @Column(name = "fingerprint", length = 64, nullable = false)
+    private String fingerprint;
+
+    // Random id of the request holding the claim; a takeover after the lease replaces it
+    @Column(name = "owner", length = 36)
+    private String owner;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_body", columnDefinition = "LONGTEXT")
+    private String responseBody;
+
+    // Endpoint-set response headers, one "Name: value" per line
+    @Column(name = "response_headers", columnDefinition = "TEXT")
+    private String responseHeaders;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,11 @@
+package com.merchantonboarding.model;
+
+/**
+ * Progress of OCR for one piece of stored content
+ */
+public enum OcrStatus {
+    PENDING,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
@@ -1,5 +1,6 @@
 package com.merchantonboarding.model;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -7,7 +8,11 @@ import java.util.List;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -17,8 +22,15 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.merchantonboarding.search.CaseIndexListener;
+
 @Entity
-@Table(name = "onboarding_cases")
+@EntityListeners(CaseIndexListener.class)
+@Table(name = "onboarding_cases", indexes = {
+    @Index(name = "idx_cases_created_at_case_id", columnList = "created_at, case_id"),
+    @Index(name = "idx_cases_status_code_created_at_case_id", columnList = "status_code, created_at, case_id"),
+    @Index(name = "idx_cases_created_date_status_code", columnList = "created_date, status_code")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -54,20 +66,25 @@ public class OnboardingCase {
     @Column(name = "director_email")
     private String directorEmail;
 
+    // Display label, kept in step with statusCode by the setters below
     @Column(length = 50)
-    private String status = "Pending Review";
+    private String status = CaseStatus.PENDING_REVIEW.getLabel();
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_code", length = 30)
+    private CaseStatus statusCode = CaseStatus.PENDING_REVIEW;
 
     @Column(name = "rejected_at_stage", length = 50)
     private String rejectedAtStage;
 
     @Column(name = "created_date")
-    private String createdDate;
+    private LocalDate createdDate;
 
     @Column(name = "assigned_to")
     private String assignedTo;
 
     @Column(name = "last_updated")
-    private String lastUpdated;
+    private LocalDateTime lastUpdated;
 
     @OneToMany(mappedBy = "onboardingCase", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Document> documents = new ArrayList<>();
@@ -85,21 +102,33 @@ public class OnboardingCase {
     @Column(name = "version")
     private Long version;
     
+    /**
+     * Accepts any form CaseStatus.fromValue understands and stores the canonical label and code
+     */
+    public void setStatus(String status) {
+        setStatusCode(status != null ? CaseStatus.fromValue(status) : null);
+    }
+
+    public void setStatusCode(CaseStatus statusCode) {
+        this.statusCode = statusCode;
+        this.status = statusCode != null ? statusCode.getLabel() : null;
+    }
+
     @PrePersist
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
         if (this.createdDate == null) {
-            this.createdDate = java.time.LocalDate.now().toString();
+            this.createdDate = LocalDate.now();
         }
         if (this.lastUpdated == null) {
-            this.lastUpdated = LocalDateTime.now().toString().replace("T", " ").substring(0, 16);
+            this.lastUpdated = LocalDateTime.now();
         }
     }
     
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
-        this.lastUpdated = LocalDateTime.now().toString().replace("T", " ").substring(0, 16);
+        this.lastUpdated = LocalDateTime.now();
     }
 }
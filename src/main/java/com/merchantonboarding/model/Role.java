@@ -1,6 +1,8 @@
 package com.merchantonboarding.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -10,6 +12,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,6 +29,7 @@ public class Role {
     private String description;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role-permissions")
     @JoinTable(
         name = "role_permissions",
         joinColumns = @JoinColumn(name = "role_id"),
@@ -0,0 +1,59 @@
+package com.merchantonboarding.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A resumable document upload in progress. The bytes received so far live in a part file under the
+ * upload spool of the node that opened the session; received_bytes only moves forward once a chunk is
+ * verified and flushed to disk. The row is deleted when the document is committed, or by the purge
+ * once the session goes quiet.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+    @Index(name = "idx_upload_sessions_updated_at", columnList = "updated_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "case_id", length = 50, nullable = false)
+    private String caseId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "document_type")
+    private String documentType;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Column(name = "created_by")
+    private String createdBy;
+
+    // Node holding the part file; null when the spool is shared by every node
+    @Column(name = "node")
+    private String node;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,11 @@
+package com.merchantonboarding.ocr;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Turns one rendered page into text. Implementations may be called from several worker threads at once.
+ */
+public interface OcrEngine {
+
+    String recognize(BufferedImage page);
+}
@@ -0,0 +1,48 @@
+package com.merchantonboarding.ocr;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pulls the fields officers retype from OCR text: the SSM registration number and the director's IC.
+ * Labelled values win; otherwise the first value in the expected shape is taken.
+ */
+final class OcrFieldExtractor {
+
+    // New SSM format: year + entity type (01-06) + 6 digits, e.g. 201901012345; old format: 123456-A
+    private static final String REGISTRATION = "((?:19|20)\\d{2}0[1-6]\\d{6}|\\d{5,7}-[A-Z])";
+    private static final Pattern LABELLED_REGISTRATION = Pattern.compile(
+            "(?:registration|company|syarikat|pendaftaran)\\s*(?:no\\.?|number|nombor)?\\s*[:.]?\\s*" + REGISTRATION,
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern ANY_REGISTRATION = Pattern.compile("\\b" + REGISTRATION + "\\b");
+
+    // MyKad number: YYMMDD-PB-###G, dashes optional when labelled
+    private static final Pattern LABELLED_IC = Pattern.compile(
+            "(?:nric|i/?c|mykad|k/p)\\s*(?:no\\.?|number)?\\s*[:.]?\\s*(\\d{6}-?\\d{2}-?\\d{4})",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern ANY_IC = Pattern.compile("\\b(\\d{6}-\\d{2}-\\d{4})\\b");
+
+    private OcrFieldExtractor() {
+    }
+
+    static String registrationNumber(String text) {
+        return first(text, LABELLED_REGISTRATION, ANY_REGISTRATION);
+    }
+
+    static String directorIc(String text) {
+        String ic = first(text, LABELLED_IC, ANY_IC);
+        return ic != null ? ic.replace("-", "") : null;
+    }
+
+    private static String first(String text, Pattern labelled, Pattern any) {
+        if (text == null) {
+            return null;
+        }
+        Matcher m = labelled.matcher(text);
+        if (m.find()) {
+            return m.group(1).toUpperCase();
+        }
+        m = any.matcher(text);
+        return m.find() ? m.group(1).toUpperCase() : null;
+    }
+}
@@ -0,0 +1,282 @@
+package com.merchantonboarding.ocr;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.merchantonboarding.model.Document;
+import com.merchantonboarding.model.DocumentOcrResult;
+import com.merchantonboarding.model.OcrStatus;
+import com.merchantonboarding.repository.DocumentOcrResultRepository;
+import com.merchantonboarding.storage.DocumentStorage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Background OCR for uploaded documents.
+ * New content gets a PENDING row in the upload's transaction, and its job is queued once the upload
+ * commits. Jobs run on a fixed pool (one worker per core by default) behind a bounded queue. A worker
+ * claims the row as PROCESSING with a started_at lease before running it. A job rejected by a full queue,
+ * or lost with its node, leaves its row PENDING or PROCESSING; once the lease (app.ocr.lease) runs out
+ * the sweeper queues it again. Results are stored per content hash, so identical files are only read once.
+ * Metrics: ocr.queue.depth, ocr.page.latency and ocr.documents (tagged by outcome).
+ */
+@Component
+@ConditionalOnProperty(name = "app.ocr.enabled", havingValue = "true")
+public class OcrPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(OcrPipeline.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private OcrEngine engine;
+
+    @Autowired
+    private DocumentOcrResultRepository resultRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DocumentStorage documentStorage;
+
+    // 0 means one worker per available core
+    @Value("${app.ocr.workers:0}")
+    private int workers;
+
+    @Value("${app.ocr.queue-capacity:500}")
+    private int queueCapacity = 500;
+
+    @Value("${app.ocr.dpi:300}")
+    private float dpi = 300;
+
+    @Value("${app.ocr.max-pages:20}")
+    private int maxPages = 20;
+
+    @Value("${app.ocr.lease:PT15M}")
+    private Duration lease = Duration.ofMinutes(15);
+
+    private ThreadPoolExecutor executor;
+    private Timer pageTimer;
+
+    /**
+     * What a worker needs to OCR one stored file
+     */
+    record Job(String contentHash, String contentType) {
+    }
+
+    @PostConstruct
+    void start() {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "ocr-worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("ocr.queue.depth", executor, e -> e.getQueue().size())
+                .description("OCR jobs waiting for a worker")
+                .register(meterRegistry);
+        pageTimer = Timer.builder("ocr.page.latency")
+                .description("Time to recognise one page")
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Record the given documents' content as waiting for OCR in the surrounding transaction, and queue
+     * it once that commits. Content seen before is not run again unless its last run failed.
+     * Documents stored before content addressing have no hash to key results on and are skipped.
+     */
+    public void submitAfterCommit(Collection<Document> documents) {
+        List<Job> jobs = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Document document : documents) {
+            String hash = document.getContentHash();
+            if (hash == null) {
+                continue;
+            }
+            if (resultRepository.insertPendingIfAbsent(hash, now) == 1 || resultRepository.reclaimFailed(hash, now) == 1) {
+                jobs.add(new Job(hash, document.getContentType()));
+            } else {
+                outcome("cached").increment();
+            }
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    jobs.forEach(OcrPipeline.this::submit);
+                }
+            });
+        } else {
+            jobs.forEach(this::submit);
+        }
+    }
+
+    void submit(Job job) {
+        try {
+            executor.execute(() -> process(job));
+        } catch (RejectedExecutionException e) {
+            outcome("rejected").increment();
+            log.warn("OCR queue full, content {} stays pending until the sweeper requeues it", job.contentHash());
+        }
+    }
+
+    /**
+     * Queue again the jobs whose lease ran out while they waited or ran: rejected by a full queue,
+     * or lost when a node stopped. Only as many as the queue has room for are taken each time.
+     */
+    @Scheduled(fixedDelayString = "${app.ocr.sweep-interval:PT5M}", initialDelayString = "${app.ocr.sweep-interval:PT5M}")
+    public void requeueAbandoned() {
+        int room = executor.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(lease);
+        for (Object[] row : resultRepository.findAbandoned(staleBefore, PageRequest.of(0, room))) {
+            String hash = (String) row[0];
+            // Restarting the lease first keeps other nodes' sweepers from queueing the same row
+            if (resultRepository.requeue(hash, now, staleBefore) == 1) {
+                outcome("requeued").increment();
+                submit(new Job(hash, (String) row[1]));
+            }
+        }
+    }
+
+    void process(Job job) {
+        String hash = job.contentHash();
+        // One worker runs a row at a time; a run whose worker went away is taken over once its lease is up
+        LocalDateTime now = LocalDateTime.now();
+        if (resultRepository.claim(hash, now, now.minus(lease)) == 0) {
+            outcome("skipped").increment();
+            return;
+        }
+
+        DocumentOcrResult result = resultRepository.findById(hash).orElseGet(() -> {
+            DocumentOcrResult created = new DocumentOcrResult();
+            created.setContentHash(hash);
+            created.setCreatedAt(LocalDateTime.now());
+            return created;
+        });
+        try {
+            List<String> pages = recognize(job);
+            String text = String.join("\n\f\n", pages);
+            result.setExtractedText(text);
+            result.setPageCount(pages.size());
+            result.setRegistrationNumber(OcrFieldExtractor.registrationNumber(text));
+            result.setDirectorIc(OcrFieldExtractor.directorIc(text));
+            result.setError(null);
+            result.setStatus(OcrStatus.COMPLETED);
+            outcome("completed").increment();
+        } catch (Exception | LinkageError e) {
+            // LinkageError covers a host without the Tesseract native library
+            log.warn("OCR failed for content {}: {}", hash, e.toString());
+            String message = e.getMessage() != null ? e.getMessage() : e.toString();
+            result.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            result.setStatus(OcrStatus.FAILED);
+            outcome("failed").increment();
+        }
+        result.setCompletedAt(LocalDateTime.now());
+        resultRepository.save(result);
+    }
+
+    /**
+     * Text of each page, rendering PDFs one page at a time so only the current page is held in memory.
+     * Local objects are read in place; remote ones are streamed (PDFBox spools them to a temp file).
+     */
+    private List<String> recognize(Job job) throws IOException {
+        List<String> pages = new ArrayList<>();
+        Path local = documentStorage.localPath(job.contentHash());
+        if ("application/pdf".equals(job.contentType())) {
+            try (PDDocument pdf = local != null
+                    ? PDDocument.load(local.toFile(), MemoryUsageSetting.setupTempFileOnly())
+                    : loadRemote(job.contentHash())) {
+                PDFRenderer renderer = new PDFRenderer(pdf);
+                int count = Math.min(pdf.getNumberOfPages(), maxPages);
+                for (int i = 0; i < count; i++) {
+                    pages.add(recognizePage(renderer.renderImageWithDPI(i, dpi, ImageType.GRAY)));
+                }
+            }
+        } else {
+            BufferedImage image;
+            if (local != null) {
+                image = ImageIO.read(local.toFile());
+            } else {
+                try (InputStream in = documentStorage.open(job.contentHash())) {
+                    image = ImageIO.read(in);
+                }
+            }
+            if (image == null) {
+                throw new IOException("Unsupported image format: " + job.contentType());
+            }
+            pages.add(recognizePage(image));
+        }
+        return pages;
+    }
+
+    private PDDocument loadRemote(String hash) throws IOException {
+        try (InputStream in = documentStorage.open(hash)) {
+            return PDDocument.load(in, MemoryUsageSetting.setupTempFileOnly());
+        }
+    }
+
+    private String recognizePage(BufferedImage page) {
+        long start = System.nanoTime();
+        try {
+            return engine.recognize(page);
+        } finally {
+            pageTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Counter outcome(String outcome) {
+        return Counter.builder("ocr.documents")
+                .description("Documents handled by the OCR pipeline")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.merchantonboarding.ocr;
+
+import java.awt.image.BufferedImage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * Tess4J-backed OCR. A Tesseract instance is not thread-safe but is expensive to initialise
+ * (it loads the language data), so each worker thread keeps its own for its whole life.
+ * Needs the Tesseract native library and tessdata on the host.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ocr.enabled", havingValue = "true")
+public class TesseractOcrEngine implements OcrEngine {
+
+    @Value("${app.ocr.tessdata-path:}")
+    private String dataPath;
+
+    @Value("${app.ocr.language:eng}")
+    private String language = "eng";
+
+    private final ThreadLocal<Tesseract> instances = ThreadLocal.withInitial(this::newInstance);
+
+    @Override
+    public String recognize(BufferedImage page) {
+        try {
+            return instances.get().doOCR(page);
+        } catch (TesseractException e) {
+            throw new IllegalStateException("Tesseract failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Tesseract newInstance() {
+        Tesseract tesseract = new Tesseract();
+        if (dataPath != null && !dataPath.isBlank()) {
+            tesseract.setDatapath(dataPath);
+        }
+        tesseract.setLanguage(language);
+        return tesseract;
+    }
+}
@@ -0,0 +1,69 @@
+package com.merchantonboarding.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.merchantonboarding.model.CaseHistory;
+import com.merchantonboarding.model.OnboardingCase;
+
+/**
+ * JDBC batch inserts for bulk case creation. Hibernate cannot batch case_history inserts (IDENTITY ids)
+ * and would cascade one statement per row, so bulk writes bypass JPA. Runs in the caller's transaction;
+ * entity callbacks and listeners do not fire, so callers set timestamps and update the search index.
+ */
+@Repository
+public class CaseBulkRepository {
+
+    private static final String INSERT_CASE =
+            "INSERT INTO onboarding_cases (case_id, business_name, business_type, registration_number, " +
+            "merchant_category, business_address, director_name, director_ic, director_phone, director_email, " +
+            "status, status_code, rejected_at_stage, created_date, assigned_to, last_updated, " +
+            "created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_HISTORY =
+            "INSERT INTO case_history (time, action, case_id) VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.cases.bulk.jdbc-batch-size:500}")
+    private int batchSize = 500;
+
+    public void insertCases(List<OnboardingCase> cases) {
+        jdbcTemplate.batchUpdate(INSERT_CASE, cases, batchSize, (ps, c) -> {
+            ps.setString(1, c.getCaseId());
+            ps.setString(2, c.getBusinessName());
+            ps.setString(3, c.getBusinessType());
+            ps.setString(4, c.getRegistrationNumber());
+            ps.setString(5, c.getMerchantCategory());
+            ps.setString(6, c.getBusinessAddress());
+            ps.setString(7, c.getDirectorName());
+            ps.setString(8, c.getDirectorIC());
+            ps.setString(9, c.getDirectorPhone());
+            ps.setString(10, c.getDirectorEmail());
+            ps.setString(11, c.getStatus());
+            ps.setString(12, c.getStatusCode() != null ? c.getStatusCode().name() : null);
+            ps.setString(13, c.getRejectedAtStage());
+            ps.setDate(14, c.getCreatedDate() != null ? Date.valueOf(c.getCreatedDate()) : null);
+            ps.setString(15, c.getAssignedTo());
+            ps.setTimestamp(16, c.getLastUpdated() != null ? Timestamp.valueOf(c.getLastUpdated()) : null);
+            ps.setTimestamp(17, Timestamp.valueOf(c.getCreatedAt()));
+            ps.setTimestamp(18, Timestamp.valueOf(c.getUpdatedAt()));
+        });
+    }
+
+    public void insertHistory(List<CaseHistory> history) {
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, history, batchSize, (ps, h) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(h.getTime()));
+            ps.setString(2, h.getAction());
+            ps.setString(3, h.getOnboardingCase().getCaseId());
+        });
+    }
+}
@@ -1,12 +1,27 @@
 package com.merchantonboarding.repository;
 
 import com.merchantonboarding.model.CaseHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CaseHistoryRepository extends JpaRepository<CaseHistory, Long> {
     List<CaseHistory> findByOnboardingCaseCaseIdOrderByTimeDesc(String caseId);
-}
 
+    // Latest entries first; served from the case_id foreign key index (which carries the id)
+    List<CaseHistory> findByOnboardingCaseCaseIdOrderByIdDesc(String caseId, Pageable pageable);
+
+    Page<CaseHistory> findByOnboardingCaseCaseId(String caseId, Pageable pageable);
+
+    long countByOnboardingCaseCaseId(String caseId);
+
+    // History for a whole page of cases in one statement (avoids per-case lazy loading)
+    @Query("SELECT h FROM CaseHistory h WHERE h.onboardingCase.caseId IN :caseIds ORDER BY h.id")
+    List<CaseHistory> findByCaseIds(@Param("caseIds") Collection<String> caseIds);
+}
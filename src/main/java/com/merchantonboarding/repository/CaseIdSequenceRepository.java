@@ -0,0 +1,22 @@
+package com.merchantonboarding.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.merchantonboarding.model.CaseIdSequence;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface CaseIdSequenceRepository extends JpaRepository<CaseIdSequence, Integer> {
+
+    // SELECT ... FOR UPDATE so concurrent nodes serialize on the year's counter row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CaseIdSequence s WHERE s.year = :year")
+    Optional<CaseIdSequence> findByYearForUpdate(@Param("year") Integer year);
+}
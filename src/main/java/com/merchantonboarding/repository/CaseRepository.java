@@ -1,29 +1,126 @@
 package com.merchantonboarding.repository;
 
+import com.merchantonboarding.dto.CaseSummaryDTO;
+import com.merchantonboarding.model.CaseStatus;
 import com.merchantonboarding.model.OnboardingCase;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface CaseRepository extends JpaRepository<OnboardingCase, String> {
 
+    // Constructor projection for list screens: reads only onboarding_cases plus the assignee's name
+    String SUMMARY_SELECT = "SELECT new com.merchantonboarding.dto.CaseSummaryDTO(" +
+            "c.caseId, c.businessName, c.businessType, c.merchantCategory, c.status, " +
+            "c.assignedTo, u.name, c.createdDate, c.lastUpdated, c.createdAt) " +
+            "FROM OnboardingCase c LEFT JOIN User u ON u.id = c.assignedTo ";
+
     // Derived query methods for assignment requirements
-    List<OnboardingCase> findByStatus(String status);
+    // Status filters use status_code, served by idx_cases_status_code_created_at_case_id
+    List<OnboardingCase> findByStatusCode(CaseStatus statusCode);
     List<OnboardingCase> findByAssignedTo(String assignedTo);
-    Page<OnboardingCase> findByStatusOrderByCreatedAtDesc(String status, Pageable pageable);
+    Page<OnboardingCase> findByStatusCodeOrderByCreatedAtDesc(CaseStatus statusCode, Pageable pageable);
+
+    // Bounded listing (no count query) for the non-paged list endpoints
+    List<OnboardingCase> findAllByOrderByCreatedAtDescCaseIdDesc(Pageable pageable);
+
+    // Keyset pagination on (createdAt, caseId): each page seeks past the last row of the previous one,
+    // so deep pages cost the same as the first
+    List<OnboardingCase> findByStatusCodeOrderByCreatedAtDescCaseIdDesc(CaseStatus statusCode, Pageable pageable);
+
+    @Query("SELECT c FROM OnboardingCase c WHERE c.createdAt < :createdAt " +
+           "OR (c.createdAt = :createdAt AND c.caseId < :caseId) " +
+           "ORDER BY c.createdAt DESC, c.caseId DESC")
+    List<OnboardingCase> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                       @Param("caseId") String caseId,
+                                       Pageable pageable);
+
+    @Query("SELECT c FROM OnboardingCase c WHERE c.statusCode = :status AND (c.createdAt < :createdAt " +
+           "OR (c.createdAt = :createdAt AND c.caseId < :caseId)) " +
+           "ORDER BY c.createdAt DESC, c.caseId DESC")
+    List<OnboardingCase> findPageAfterByStatus(@Param("status") CaseStatus status,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("caseId") String caseId,
+                                               Pageable pageable);
+
+    // Primary-key keyset pages for full scans (index rebuild); unlike created_at, case_id is never NULL
+    List<OnboardingCase> findByCaseIdGreaterThanOrderByCaseIdAsc(String caseId, Pageable pageable);
+
+    // Forward-only streams for the streaming list endpoint. Integer.MIN_VALUE makes MySQL Connector/J stream
+    // rows one at a time instead of buffering the whole result; callers must consume inside a transaction
+    // and close the stream, and may not run other statements on the connection until it is drained.
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM OnboardingCase c ORDER BY c.createdAt DESC, c.caseId DESC")
+    Stream<OnboardingCase> streamAll();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM OnboardingCase c WHERE c.statusCode = :status ORDER BY c.createdAt DESC, c.caseId DESC")
+    Stream<OnboardingCase> streamByStatusCode(@Param("status") CaseStatus status);
+
+    // Summary projections (same keyset ordering as above)
+    @Query(SUMMARY_SELECT + "ORDER BY c.createdAt DESC, c.caseId DESC")
+    List<CaseSummaryDTO> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.statusCode = :status ORDER BY c.createdAt DESC, c.caseId DESC")
+    List<CaseSummaryDTO> findSummariesByStatus(@Param("status") CaseStatus status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.createdAt < :createdAt " +
+           "OR (c.createdAt = :createdAt AND c.caseId < :caseId) " +
+           "ORDER BY c.createdAt DESC, c.caseId DESC")
+    List<CaseSummaryDTO> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                                            @Param("caseId") String caseId,
+                                            Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.statusCode = :status AND (c.createdAt < :createdAt " +
+           "OR (c.createdAt = :createdAt AND c.caseId < :caseId)) " +
+           "ORDER BY c.createdAt DESC, c.caseId DESC")
+    List<CaseSummaryDTO> findSummariesAfterByStatus(@Param("status") CaseStatus status,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("caseId") String caseId,
+                                                    Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.assignedTo = :assignedTo ORDER BY c.createdAt DESC, c.caseId DESC")
+    List<CaseSummaryDTO> findSummariesByAssignedTo(@Param("assignedTo") String assignedTo, Pageable pageable);
 
     // JPQL queries for assignment requirements
-    @Query("SELECT c FROM OnboardingCase c WHERE c.businessName LIKE %:keyword% OR c.businessType LIKE %:keyword% OR c.merchantCategory LIKE %:keyword%")
-    List<OnboardingCase> searchCases(@Param("keyword") String keyword);
+    @Query("SELECT c FROM OnboardingCase c WHERE c.businessName LIKE %:keyword% OR c.businessType LIKE %:keyword% OR c.merchantCategory LIKE %:keyword% " +
+           "ORDER BY c.createdAt DESC")
+    List<OnboardingCase> searchCases(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT c FROM OnboardingCase c WHERE c.statusCode = :status AND " +
+           "(c.businessName LIKE %:keyword% OR c.businessType LIKE %:keyword% OR c.merchantCategory LIKE %:keyword%) " +
+           "ORDER BY c.createdAt DESC")
+    List<OnboardingCase> searchCasesByStatus(@Param("keyword") String keyword,
+                                             @Param("status") CaseStatus status,
+                                             Pageable pageable);
     
+    // Range scan on idx_cases_created_date_status_code
     @Query("SELECT c FROM OnboardingCase c WHERE c.createdDate BETWEEN :startDate AND :endDate")
-    List<OnboardingCase> findCasesByDateRange(@Param("startDate") String startDate,
-                                              @Param("endDate") String endDate);
+    List<OnboardingCase> findCasesByDateRange(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
 
     // Native SQL query for complex reporting
     @Query(value = "SELECT status, COUNT(*) as count FROM onboarding_cases " +
@@ -31,6 +128,32 @@ public interface CaseRepository extends JpaRepository<OnboardingCase, String> {
                    "GROUP BY status", nativeQuery = true)
     List<Object[]> getCaseStatusStatistics();
 
+    // IDs from the given set that already exist (primary key lookups, no entity hydration)
+    @Query("SELECT c.caseId FROM OnboardingCase c WHERE c.caseId IN :caseIds")
+    List<String> findExistingIds(@Param("caseIds") Collection<String> caseIds);
+
+    // Summaries for an id list (batch-get): one primary key IN query joined to the assignee
+    @Query(SUMMARY_SELECT + "WHERE c.caseId IN :caseIds")
+    List<CaseSummaryDTO> findSummariesByCaseIds(@Param("caseIds") Collection<String> caseIds);
+
+    // Current version of one case, for conditional requests (primary key lookup, no entity hydration)
+    @Query("SELECT c.version FROM OnboardingCase c WHERE c.caseId = :caseId")
+    Optional<Long> findVersionByCaseId(@Param("caseId") String caseId);
+
     // Count by status
-    long countByStatus(String status);
+    long countByStatusCode(CaseStatus statusCode);
+
+    // [statusCode, count] rows, aggregated in the database
+    @Query("SELECT c.statusCode, COUNT(c) FROM OnboardingCase c WHERE c.statusCode IS NOT NULL GROUP BY c.statusCode")
+    List<Object[]> countGroupedByStatusCode();
+
+    @Query("SELECT c.statusCode, COUNT(c) FROM OnboardingCase c WHERE c.statusCode IS NOT NULL " +
+           "AND c.createdDate BETWEEN :startDate AND :endDate GROUP BY c.statusCode")
+    List<Object[]> countGroupedByStatusCodeBetween(@Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+
+    // Highest numeric suffix among ids sharing a prefix (e.g. "MOP-2026-"); a primary key range scan
+    @Query(value = "SELECT COALESCE(MAX(CAST(SUBSTRING(case_id, :start) AS UNSIGNED)), 0) FROM onboarding_cases " +
+                   "WHERE case_id LIKE CONCAT(:prefix, '%')", nativeQuery = true)
+    Long findMaxSequenceForPrefix(@Param("prefix") String prefix, @Param("start") int start);
 }
@@ -0,0 +1,53 @@
+package com.merchantonboarding.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.merchantonboarding.model.DocumentContent;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, String> {
+
+    // One more reference to this content; creates the row on first use, and fills in a CRC missing from an
+    // older row. Waits for a deleter holding the row.
+    @Modifying
+    @Query(value = "INSERT INTO document_contents (content_hash, size_bytes, crc32, ref_count, created_at) " +
+                   "VALUES (:hash, :size, :crc32, 1, :now) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, crc32 = COALESCE(crc32, :crc32)",
+           nativeQuery = true)
+    int addReference(@Param("hash") String hash, @Param("size") long size, @Param("crc32") long crc32,
+                     @Param("now") LocalDateTime now);
+
+    // Which of these hashes are still referenced, counting uploads that have not reached a document yet
+    @Query("SELECT c.contentHash FROM DocumentContent c WHERE c.contentHash IN :hashes AND c.refCount > 0")
+    List<String> findReferencedHashes(@Param("hashes") Collection<String> hashes);
+
+    // [content hash, CRC-32] of the given content that has a CRC recorded
+    @Query("SELECT c.contentHash, c.crc32 FROM DocumentContent c WHERE c.contentHash IN :hashes AND c.crc32 IS NOT NULL")
+    List<Object[]> findCrc32s(@Param("hashes") Collection<String> hashes);
+
+    @Modifying
+    @Query("UPDATE DocumentContent c SET c.refCount = c.refCount - 1 WHERE c.contentHash = :hash AND c.refCount > 0")
+    int removeReference(@Param("hash") String hash);
+
+    // SELECT ... FOR UPDATE, held while the stored object is deleted so no upload can reuse it meanwhile
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM DocumentContent c WHERE c.contentHash = :hash")
+    Optional<DocumentContent> findByHashForUpdate(@Param("hash") String hash);
+
+    // 1 if the content was unreferenced and its row is now gone, so the file can be deleted
+    @Modifying
+    @Query("DELETE FROM DocumentContent c WHERE c.contentHash = :hash AND c.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
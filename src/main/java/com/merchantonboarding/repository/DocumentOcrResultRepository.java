@@ -0,0 +1,59 @@
+package com.merchantonboarding.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.merchantonboarding.model.DocumentOcrResult;
+
+@Repository
+public interface DocumentOcrResultRepository extends JpaRepository<DocumentOcrResult, String> {
+
+    // Record new content as waiting for OCR: 1 if this call created the row, 0 if the content was seen before
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO document_ocr_results (content_hash, status, created_at, started_at) " +
+                   "VALUES (:hash, 'PENDING', :now, :now)", nativeQuery = true)
+    int insertPendingIfAbsent(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // Give content whose last run failed another go; 1 if this call reclaimed it
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentOcrResult r SET r.status = com.merchantonboarding.model.OcrStatus.PENDING, r.error = null, " +
+           "r.startedAt = :now " +
+           "WHERE r.contentHash = :hash AND r.status = com.merchantonboarding.model.OcrStatus.FAILED")
+    int reclaimFailed(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // Take a waiting row, or one whose worker has held it since before staleBefore, for a run; 1 if this call won it
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentOcrResult r SET r.status = com.merchantonboarding.model.OcrStatus.PROCESSING, r.startedAt = :now " +
+           "WHERE r.contentHash = :hash AND (r.status = com.merchantonboarding.model.OcrStatus.PENDING " +
+           "OR (r.status = com.merchantonboarding.model.OcrStatus.PROCESSING " +
+           "AND (r.startedAt IS NULL OR r.startedAt < :staleBefore)))")
+    int claim(@Param("hash") String hash, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // Waiting or running rows untouched since staleBefore, as [content hash, content type] of a document using them
+    @Query("SELECT r.contentHash, MAX(d.contentType) FROM DocumentOcrResult r, Document d " +
+           "WHERE d.contentHash = r.contentHash " +
+           "AND r.status IN (com.merchantonboarding.model.OcrStatus.PENDING, com.merchantonboarding.model.OcrStatus.PROCESSING) " +
+           "AND (r.startedAt IS NULL OR r.startedAt < :staleBefore) " +
+           "GROUP BY r.contentHash ORDER BY r.contentHash")
+    List<Object[]> findAbandoned(@Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+
+    // Put an abandoned row back in line, restarting its lease; 1 if this call requeued it
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentOcrResult r SET r.status = com.merchantonboarding.model.OcrStatus.PENDING, r.startedAt = :now " +
+           "WHERE r.contentHash = :hash " +
+           "AND r.status IN (com.merchantonboarding.model.OcrStatus.PENDING, com.merchantonboarding.model.OcrStatus.PROCESSING) " +
+           "AND (r.startedAt IS NULL OR r.startedAt < :staleBefore)")
+    int requeue(@Param("hash") String hash, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,6 +14,23 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     // Find documents by case ID
     List<Document> findByOnboardingCaseCaseId(String caseId);
 
+    // Documents for a whole page of cases in one statement (avoids per-case lazy loading)
+    @Query("SELECT d FROM Document d WHERE d.onboardingCase.caseId IN :caseIds ORDER BY d.id")
+    List<Document> findByCaseIds(@Param("caseIds") Collection<String> caseIds);
+
+    // Which of these cases have at least one document (bulk status changes, one statement per batch)
+    @Query("SELECT DISTINCT d.onboardingCase.caseId FROM Document d WHERE d.onboardingCase.caseId IN :caseIds")
+    List<String> findCaseIdsWithDocuments(@Param("caseIds") Collection<String> caseIds);
+
+    // Which of these content hashes some document still points at (orphan collection, one batch at a time)
+    @Query("SELECT DISTINCT d.contentHash FROM Document d WHERE d.contentHash IN :hashes")
+    List<String> findReferencedContentHashes(@Param("hashes") Collection<String> hashes);
+
+    // File paths of these cases' documents from before content addressing, as recorded ({app.upload.dir}/{caseId}/{name})
+    @Query("SELECT d.filePath FROM Document d WHERE d.onboardingCase.caseId IN :caseIds " +
+           "AND d.contentHash IS NULL AND d.filePath IS NOT NULL")
+    List<String> findLegacyFilePaths(@Param("caseIds") Collection<String> caseIds);
+
     // Find documents by file type
     List<Document> findByType(String type);
 
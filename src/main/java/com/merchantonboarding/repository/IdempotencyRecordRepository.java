@@ -0,0 +1,42 @@
+package com.merchantonboarding.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.merchantonboarding.model.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Atomic claim across nodes: 1 if this call inserted the key, 0 if another request already holds it
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_keys (idempotency_key, fingerprint, owner, created_at, expires_at) " +
+                   "VALUES (:key, :fingerprint, :owner, :createdAt, :expiresAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key, @Param("fingerprint") String fingerprint, @Param("owner") String owner,
+                       @Param("createdAt") LocalDateTime createdAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Only the request still holding the claim may complete it; 0 if the lease lapsed and it was taken over
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseStatus = :status, r.responseHeaders = :headers, " +
+           "r.responseBody = :body, r.expiresAt = :expiresAt WHERE r.key = :key AND r.owner = :owner")
+    int complete(@Param("key") String key, @Param("owner") String owner, @Param("status") int status,
+                 @Param("headers") String headers, @Param("body") String body,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.owner = :owner AND r.responseStatus IS NULL")
+    int release(@Param("key") String key, @Param("owner") String owner);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,13 +3,20 @@ package com.merchantonboarding.repository;
 import com.merchantonboarding.model.MerchantCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface MerchantCategoryRepository extends JpaRepository<MerchantCategory, String> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<MerchantCategory> findAll();
+
     Optional<MerchantCategory> findByCode(String code);
     List<MerchantCategory> findByStatus(String status);
     List<MerchantCategory> findByRiskLevel(String riskLevel);
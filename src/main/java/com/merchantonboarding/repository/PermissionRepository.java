@@ -2,14 +2,22 @@ package com.merchantonboarding.repository;
 
 import com.merchantonboarding.model.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, String> {
     Optional<Permission> findByName(String name);
     List<Permission> findByCategory(String category);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Permission> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Permission> findByIsActiveTrue();
 }
 
@@ -0,0 +1,36 @@
+package com.merchantonboarding.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.merchantonboarding.model.UploadSession;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    Optional<UploadSession> findByIdAndCaseId(String id, String caseId);
+
+    // Moves the offset only from the value the writer started at; 0 means someone else moved it first
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.receivedBytes = :received, s.updatedAt = :now " +
+           "WHERE s.id = :id AND s.receivedBytes = :expected")
+    int advanceOffset(@Param("id") String id, @Param("expected") long expected,
+                      @Param("received") long received, @Param("now") LocalDateTime now);
+
+    // Retires a fully received session; 0 if it was already completed, aborted or purged
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id AND s.receivedBytes = s.totalSize")
+    int deleteIfComplete(@Param("id") String id);
+
+    @Query("SELECT s.id FROM UploadSession s WHERE s.updatedAt < :cutoff")
+    List<String> findIdsIdleSince(@Param("cutoff") LocalDateTime cutoff);
+}
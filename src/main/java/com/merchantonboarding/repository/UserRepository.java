@@ -3,20 +3,30 @@ package com.merchantonboarding.repository;
 import com.merchantonboarding.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 import java.util.List;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
 
     // Derived query methods
+    // Profile and permissions for every authenticated request; served from the query cache until the users table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    // Never cached: a login elsewhere must end the old session on its very next request
+    @Query("SELECT u.activeSessionToken FROM User u WHERE u.email = :email")
+    Optional<String> findActiveSessionTokenByEmail(@Param("email") String email);
     List<User> findByStatus(String status);
     List<User> findByRoleId(String roleId);
 
     // Custom JPQL query for assignment requirements
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT u FROM User u WHERE u.role.id = :roleId")
     List<User> findUsersByRole(@Param("roleId") String roleId);
 
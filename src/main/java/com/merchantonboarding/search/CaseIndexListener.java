@@ -0,0 +1,55 @@
+package com.merchantonboarding.search;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.merchantonboarding.model.OnboardingCase;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener that keeps the case search index in step with every write to onboarding_cases,
+ * whichever service makes it. Index changes are applied only after the transaction commits.
+ * Bulk paths that index their whole batch at once can switch it off with {@link #skipping}.
+ */
+@Component
+public class CaseIndexListener {
+
+    private static final ThreadLocal<Boolean> SKIPPED = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Run work (which must flush its writes) without indexing each saved case.
+     * The caller takes over indexing, usually with one {@link CaseSearchIndex#indexAllAfterCommit} call.
+     */
+    public static <T> T skipping(Supplier<T> work) {
+        boolean previous = SKIPPED.get();
+        SKIPPED.set(true);
+        try {
+            return work.get();
+        } finally {
+            SKIPPED.set(previous);
+        }
+    }
+
+    @Autowired
+    private ObjectProvider<CaseSearchIndex> caseSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(OnboardingCase onboardingCase) {
+        if (SKIPPED.get()) {
+            return;
+        }
+        caseSearchIndex.ifAvailable(index -> index.indexAfterCommit(onboardingCase));
+    }
+
+    @PostRemove
+    public void onRemove(OnboardingCase onboardingCase) {
+        caseSearchIndex.ifAvailable(index -> index.deleteAfterCommit(onboardingCase.getCaseId()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.merchantonboarding.search;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.merchantonboarding.model.OnboardingCase;
+import com.merchantonboarding.repository.CaseRepository;
+
+/**
+ * Fills the case search index from the database at startup, either always
+ * (app.search.rebuild-on-startup=true) or only when the index is empty or was not shut down cleanly.
+ * Cases are read in keyset pages on the primary key, so memory stays flat however large the table is
+ * and rows without a creation timestamp are not skipped.
+ */
+@Component
+public class CaseIndexRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(CaseIndexRebuilder.class);
+
+    @Autowired(required = false)
+    private CaseSearchIndex caseSearchIndex;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Value("${app.search.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${app.search.rebuild-batch-size:1000}")
+    private int batchSize = 1000;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (caseSearchIndex == null) {
+            return;
+        }
+        if (!rebuildOnStartup && !caseSearchIndex.needsRebuild()) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (IOException | RuntimeException e) {
+            // Search falls back to whatever is already indexed; the app itself must still start
+            log.error("Failed to rebuild case search index", e);
+        }
+    }
+
+    /**
+     * Re-index every case from the database
+     */
+    public void rebuild() throws IOException {
+        caseSearchIndex.rebuild(() -> new Iterator<List<OnboardingCase>>() {
+            private final Pageable pageable = PageRequest.of(0, batchSize);
+            private List<OnboardingCase> next = caseRepository.findByCaseIdGreaterThanOrderByCaseIdAsc("", pageable);
+
+            @Override
+            public boolean hasNext() {
+                return !next.isEmpty();
+            }
+
+            @Override
+            public List<OnboardingCase> next() {
+                if (next.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                List<OnboardingCase> current = next;
+                OnboardingCase last = current.get(current.size() - 1);
+                next = current.size() < batchSize
+                        ? List.of()
+                        : caseRepository.findByCaseIdGreaterThanOrderByCaseIdAsc(last.getCaseId(), pageable);
+                return current;
+            }
+        });
+    }
+}
@@ -0,0 +1,539 @@
+package com.merchantonboarding.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.merchantonboarding.dto.CaseSummaryDTO;
+import com.merchantonboarding.dto.DateFormats;
+import com.merchantonboarding.model.OnboardingCase;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process Lucene index over onboarding cases.
+ * Business name, type and category are analyzed for term, prefix and fuzzy matching; the registration
+ * number is indexed as a single normalized token for exact lookups. Status and merchant category are
+ * also kept as facets. Each document stores the summary columns so a search page is served without
+ * touching the database.
+ * <p>
+ * Writes become searchable through a near-real-time reader refresh; they are made durable by a
+ * periodic commit (app.search.commit-interval) and on shutdown, not per change. Every commit made
+ * while the node runs is tagged unclean, so after a crash {@link #needsRebuild()} tells the rebuilder
+ * that changes since the last commit may be missing.
+ * <p>
+ * A rebuild runs while requests are served. Live changes committed meanwhile are held and replayed
+ * once the rebuild has written every page, so a case read before its change committed is corrected.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.enabled", havingValue = "true", matchIfMissing = true)
+public class CaseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CaseSearchIndex.class);
+
+    static final String FIELD_ID = "caseId";
+    static final String FIELD_NAME = "businessName";
+    static final String FIELD_TYPE = "businessType";
+    static final String FIELD_CATEGORY = "merchantCategory";
+    static final String FIELD_REGISTRATION = "registrationNumber";
+    static final String FIELD_STATUS_KEY = "statusKey";
+    static final String FIELD_CATEGORY_KEY = "categoryKey";
+    static final String FIELD_CREATED_AT = "createdAt";
+
+    static final String FACET_STATUS = "status";
+    static final String FACET_CATEGORY = "category";
+
+    private static final int MAX_FACET_VALUES = 50;
+
+    // Commit user data key; "true" only on the commit written by a clean shutdown
+    static final String COMMIT_CLEAN = "clean";
+
+    @Value("${app.search.index-dir:search-index}")
+    private String indexDir = "search-index";
+
+    // Deepest hit a page may reach (page * size + size); deeper pages would collect and sort that many hits
+    @Value("${app.search.max-result-window:10000}")
+    private int maxResultWindow = 10_000;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    // Facet ordinals are per reader; rebuilt lazily whenever a refresh swaps the reader
+    private volatile SortedSetDocValuesReaderState facetState;
+
+    // The last commit on disk was not written by a clean shutdown
+    private boolean uncleanShutdown;
+
+    // One rebuild at a time
+    private final Object rebuildLock = new Object();
+
+    // Live changes waiting for the running rebuild to finish; null when none is running. Guarded by this.
+    private List<IndexAction> held;
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = FSDirectory.open(Paths.get(indexDir));
+        uncleanShutdown = DirectoryReader.indexExists(directory)
+                && !"true".equals(SegmentInfos.readLatestCommit(directory).getUserData().get(COMMIT_CLEAN));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        config.setCommitOnClose(false);
+        writer = new IndexWriter(directory, config);
+        writer.setLiveCommitData(Map.of(COMMIT_CLEAN, "false").entrySet());
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Case search index opened at {} with {} documents", indexDir, writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.setLiveCommitData(Map.of(COMMIT_CLEAN, "true").entrySet());
+        writer.commit();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Make indexed changes durable. Searches already see them; this only bounds what a crash can lose.
+     */
+    @Scheduled(fixedDelayString = "${app.search.commit-interval:PT1M}", initialDelayString = "${app.search.commit-interval:PT1M}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to commit case search index", e);
+        }
+    }
+
+    /**
+     * True when the index is empty or the previous run ended without committing its last changes
+     */
+    public boolean needsRebuild() {
+        return uncleanShutdown || size() == 0;
+    }
+
+    /**
+     * Number of cases currently in the index
+     */
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Index (or re-index) a case once the surrounding transaction commits.
+     * The document is built immediately so later changes to the entity do not leak into it.
+     */
+    public void indexAfterCommit(OnboardingCase onboardingCase) {
+        String caseId = onboardingCase.getCaseId();
+        Document doc = toDocument(onboardingCase);
+        afterCommit(() -> {
+            writer.updateDocument(new Term(FIELD_ID, caseId), doc);
+            publish();
+        });
+    }
+
+    /**
+     * Index a batch of cases once the surrounding transaction commits, refreshing searchers once for all of them
+     */
+    public void indexAllAfterCommit(Collection<OnboardingCase> cases) {
+        Map<String, Document> docs = new LinkedHashMap<>();
+        for (OnboardingCase c : cases) {
+            docs.put(c.getCaseId(), toDocument(c));
+        }
+        afterCommit(() -> {
+            for (Map.Entry<String, Document> entry : docs.entrySet()) {
+                writer.updateDocument(new Term(FIELD_ID, entry.getKey()), entry.getValue());
+            }
+            publish();
+        });
+    }
+
+    /**
+     * Remove a case from the index once the surrounding transaction commits
+     */
+    public void deleteAfterCommit(String caseId) {
+        afterCommit(() -> {
+            writer.deleteDocuments(new Term(FIELD_ID, caseId));
+            publish();
+        });
+    }
+
+    /**
+     * Replace the whole index with the given cases, supplied in batches by the caller.
+     * Changes committed while it runs are applied after the last batch.
+     */
+    public void rebuild(Iterable<List<OnboardingCase>> batches) throws IOException {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                held = new ArrayList<>();
+            }
+            long count = 0;
+            try {
+                writer.deleteAll();
+                for (List<OnboardingCase> batch : batches) {
+                    for (OnboardingCase c : batch) {
+                        // Keyed like the live updates, so no case can end up in the index twice
+                        writer.updateDocument(new Term(FIELD_ID, c.getCaseId()), toDocument(c));
+                    }
+                    count += batch.size();
+                }
+            } finally {
+                replayHeld();
+            }
+            writer.commit();
+            publish();
+            uncleanShutdown = false;
+            log.info("Rebuilt case search index with {} documents", count);
+        }
+    }
+
+    private synchronized void replayHeld() {
+        List<IndexAction> actions = held;
+        held = null;
+        actions.forEach(this::apply);
+        if (!actions.isEmpty()) {
+            log.info("Applied {} case index change(s) made during the rebuild", actions.size());
+        }
+    }
+
+    /**
+     * Case IDs matching the keyword, best match first, optionally restricted to a status
+     */
+    public List<String> searchIds(String keyword, String status, int limit) {
+        return search(keyword, status, null, 0, limit).hits().stream()
+                .map(CaseSummaryDTO::getCaseId)
+                .toList();
+    }
+
+    /**
+     * One page of matching case summaries with status and category facet counts.
+     * A blank keyword matches every case and orders by creation time instead of relevance.
+     * Pages ending beyond app.search.max-result-window are refused; narrow the query instead.
+     */
+    public SearchPage search(String keyword, String status, String category, int page, int size) {
+        int pageSize = Math.max(1, size);
+        long end = (Math.max(0, page) + 1L) * pageSize;
+        if (end > maxResultWindow) {
+            throw new IllegalArgumentException("Search results are limited to the first " + maxResultWindow
+                    + " matches; refine the keyword or filters");
+        }
+        int offset = (int) end - pageSize;
+        Query query = buildQuery(keyword, status, category);
+        boolean hasKeyword = keyword != null && !keyword.isBlank();
+        Sort sort = hasKeyword
+                ? new Sort(SortField.FIELD_SCORE, new SortField(FIELD_CREATED_AT, SortField.Type.LONG, true))
+                : new Sort(new SortField(FIELD_CREATED_AT, SortField.Type.LONG, true));
+
+        IndexSearcher searcher = acquire();
+        try {
+            FacetsCollectorManager.FacetsResult result = FacetsCollectorManager.search(
+                    searcher, query, offset + pageSize,
+                    sort, hasKeyword, new FacetsCollectorManager());
+            TopDocs topDocs = result.topDocs();
+
+            List<CaseSummaryDTO> hits = new ArrayList<>();
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = offset; i < scoreDocs.length; i++) {
+                hits.add(toSummary(searcher.storedFields().document(scoreDocs[i].doc)));
+            }
+
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            if (searcher.getIndexReader().numDocs() > 0) {
+                Facets counts = new SortedSetDocValuesFacetCounts(facetState(searcher.getIndexReader()),
+                        result.facetsCollector());
+                facets.put(FACET_STATUS, facetValues(counts, FACET_STATUS));
+                facets.put(FACET_CATEGORY, facetValues(counts, FACET_CATEGORY));
+            }
+            return new SearchPage(hits, topDocs.totalHits.value, facets);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Case search failed", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    Query buildQuery(String keyword, String status, String category) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+
+        if (keyword != null && !keyword.isBlank()) {
+            BooleanQuery.Builder text = new BooleanQuery.Builder();
+            List<String> tokens = analyze(keyword);
+            for (String token : tokens) {
+                // Every token must hit at least one field, in any of its exact/prefix/fuzzy forms
+                BooleanQuery.Builder perToken = new BooleanQuery.Builder();
+                addTokenClauses(perToken, FIELD_NAME, token, 3f);
+                addTokenClauses(perToken, FIELD_TYPE, token, 1f);
+                addTokenClauses(perToken, FIELD_CATEGORY, token, 1f);
+                text.add(perToken.build(), Occur.MUST);
+            }
+
+            BooleanQuery.Builder match = new BooleanQuery.Builder();
+            if (!tokens.isEmpty()) {
+                match.add(text.build(), Occur.SHOULD);
+            }
+            String registration = normalizeRegistration(keyword);
+            if (!registration.isEmpty()) {
+                match.add(new BoostQuery(new TermQuery(new Term(FIELD_REGISTRATION, registration)), 10f), Occur.SHOULD);
+            }
+            match.setMinimumNumberShouldMatch(1);
+            builder.add(match.build(), Occur.MUST);
+        } else {
+            builder.add(new MatchAllDocsQuery(), Occur.MUST);
+        }
+
+        if (status != null && !status.isEmpty()) {
+            builder.add(new TermQuery(new Term(FIELD_STATUS_KEY, normalizeKey(status))), Occur.FILTER);
+        }
+        if (category != null && !category.isEmpty()) {
+            builder.add(new TermQuery(new Term(FIELD_CATEGORY_KEY, normalizeKey(category))), Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private void addTokenClauses(BooleanQuery.Builder builder, String field, String token, float boost) {
+        Term term = new Term(field, token);
+        builder.add(new BoostQuery(new TermQuery(term), boost * 4f), Occur.SHOULD);
+        builder.add(new BoostQuery(new PrefixQuery(term), boost * 2f), Occur.SHOULD);
+        // Short tokens would fuzzy-match almost anything
+        if (token.length() >= 4) {
+            int edits = token.length() >= 8 ? 2 : 1;
+            builder.add(new BoostQuery(new FuzzyQuery(term, edits, 1), boost), Occur.SHOULD);
+        }
+    }
+
+    private Document toDocument(OnboardingCase c) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, c.getCaseId(), Field.Store.YES));
+        doc.add(new TextField(FIELD_NAME, nullToEmpty(c.getBusinessName()), Field.Store.YES));
+        doc.add(new TextField(FIELD_TYPE, nullToEmpty(c.getBusinessType()), Field.Store.YES));
+        doc.add(new TextField(FIELD_CATEGORY, nullToEmpty(c.getMerchantCategory()), Field.Store.YES));
+
+        String registration = normalizeRegistration(c.getRegistrationNumber());
+        if (!registration.isEmpty()) {
+            doc.add(new StringField(FIELD_REGISTRATION, registration, Field.Store.NO));
+        }
+        if (c.getStatus() != null) {
+            doc.add(new StringField(FIELD_STATUS_KEY, normalizeKey(c.getStatus()), Field.Store.NO));
+            doc.add(new SortedSetDocValuesFacetField(FACET_STATUS, c.getStatus()));
+            doc.add(new StoredField("status", c.getStatus()));
+        }
+        if (c.getMerchantCategory() != null && !c.getMerchantCategory().isEmpty()) {
+            doc.add(new StringField(FIELD_CATEGORY_KEY, normalizeKey(c.getMerchantCategory()), Field.Store.NO));
+            doc.add(new SortedSetDocValuesFacetField(FACET_CATEGORY, c.getMerchantCategory()));
+        }
+        if (c.getAssignedTo() != null) {
+            doc.add(new StoredField("assignedTo", c.getAssignedTo()));
+        }
+        if (c.getCreatedDate() != null) {
+            doc.add(new StoredField("createdDate", DateFormats.format(c.getCreatedDate())));
+        }
+        if (c.getLastUpdated() != null) {
+            doc.add(new StoredField("lastUpdated", DateFormats.format(c.getLastUpdated())));
+        }
+        long createdAt = c.getCreatedAt() != null ? c.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : 0L;
+        doc.add(new NumericDocValuesField(FIELD_CREATED_AT, createdAt));
+        doc.add(new StoredField(FIELD_CREATED_AT, createdAt));
+
+        try {
+            return facetsConfig.build(doc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CaseSummaryDTO toSummary(Document doc) {
+        CaseSummaryDTO summary = new CaseSummaryDTO();
+        summary.setCaseId(doc.get(FIELD_ID));
+        summary.setBusinessName(doc.get(FIELD_NAME));
+        summary.setBusinessType(doc.get(FIELD_TYPE));
+        summary.setMerchantCategory(doc.get(FIELD_CATEGORY));
+        summary.setStatus(doc.get("status"));
+        summary.setAssignedTo(doc.get("assignedTo"));
+        summary.setCreatedDate(doc.get("createdDate"));
+        summary.setLastUpdated(doc.get("lastUpdated"));
+        Number createdAt = doc.getField(FIELD_CREATED_AT).numericValue();
+        summary.setCreatedAt(LocalDateTime.ofEpochSecond(createdAt.longValue(), 0, ZoneOffset.UTC));
+        return summary;
+    }
+
+    private Map<String, Long> facetValues(Facets counts, String dimension) throws IOException {
+        Map<String, Long> values = new LinkedHashMap<>();
+        try {
+            FacetResult result = counts.getTopChildren(MAX_FACET_VALUES, dimension);
+            if (result != null) {
+                for (LabelAndValue lv : result.labelValues) {
+                    values.put(lv.label, lv.value.longValue());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Dimension not present in this reader (no case has a value for it yet)
+        }
+        return values;
+    }
+
+    private SortedSetDocValuesReaderState facetState(IndexReader reader) throws IOException {
+        SortedSetDocValuesReaderState state = facetState;
+        if (state == null || state.getReader() != reader) {
+            state = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+            facetState = state;
+        }
+        return state;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(FIELD_NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private void afterCommit(IndexAction action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    run(action);
+                }
+            });
+        } else {
+            run(action);
+        }
+    }
+
+    private void run(IndexAction action) {
+        synchronized (this) {
+            if (held != null) {
+                held.add(action);
+                return;
+            }
+        }
+        // Safe outside the lock: the change is committed, so a rebuild starting now reads it anyway
+        apply(action);
+    }
+
+    private void apply(IndexAction action) {
+        try {
+            action.run();
+        } catch (IOException | RuntimeException e) {
+            // The database is the source of truth; a failed index write is repaired by the next rebuild
+            log.error("Failed to update case search index", e);
+        }
+    }
+
+    private void publish() throws IOException {
+        // Near-real-time: the refreshed reader sees the writer's buffer without an fsync or commit
+        searcherManager.maybeRefresh();
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Failed to release index searcher", e);
+        }
+    }
+
+    static String normalizeRegistration(String value) {
+        return value == null ? "" : value.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeKey(String value) {
+        return value.trim().toLowerCase(Locale.ROOT).replace(" ", "_");
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    @FunctionalInterface
+    private interface IndexAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * One page of search hits plus facet counts over all matches
+     */
+    public record SearchPage(List<CaseSummaryDTO> hits, long total, Map<String, Map<String, Long>> facets) {
+    }
+}
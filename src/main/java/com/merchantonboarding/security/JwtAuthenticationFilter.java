@@ -10,7 +10,6 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.merchantonboarding.model.User;
 import com.merchantonboarding.repository.UserRepository;
 import com.merchantonboarding.service.JwtService;
 import com.merchantonboarding.service.UserService;
@@ -64,10 +63,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 if (jwtService.isTokenValid(jwt, userDetails.getUsername())) {
                     // Validate session ID matches the active session in the DB
                     String tokenSessionId = jwtService.extractSessionId(jwt);
-                    User user = userRepository.findByEmail(userEmail).orElse(null);
+                    String activeSessionToken = userRepository.findActiveSessionTokenByEmail(userEmail).orElse(null);
 
-                    if (user == null || user.getActiveSessionToken() == null
-                            || !user.getActiveSessionToken().equals(tokenSessionId)) {
+                    if (activeSessionToken == null || !activeSessionToken.equals(tokenSessionId)) {
                         // Session has been invalidated (user logged in elsewhere)
                         logger.warn("Session invalidated for user: " + userEmail);
                         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -1,16 +1,14 @@
 package com.merchantonboarding.service;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +16,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.merchantonboarding.dto.AnalyticsDTO;
+import com.merchantonboarding.dto.DateFormats;
+import com.merchantonboarding.model.CaseStatus;
 import com.merchantonboarding.model.ComplianceReviewResult;
 import com.merchantonboarding.model.OnboardingCase;
 import com.merchantonboarding.model.VerificationResult;
@@ -38,8 +38,6 @@ public class AnalyticsService {
     @Autowired(required = false)
     private ComplianceReviewResultRepository complianceReviewResultRepository;
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
     /**
      * Get comprehensive dashboard analytics
      */
@@ -47,13 +45,15 @@ public class AnalyticsService {
         AnalyticsDTO analytics = new AnalyticsDTO();
 
         List<OnboardingCase> allCases = caseRepository.findAll();
+        Map<CaseStatus, Long> statusCounts = toStatusCounts(caseRepository.countGroupedByStatusCode());
 
         // Overall Statistics
         analytics.setTotalCases(allCases.size());
-        analytics.setPendingCases(countByStatus(allCases, "Pending Review", "Compliance Review", "Background Verification"));
-        analytics.setApprovedCases(countByStatus(allCases, "Approved"));
-        analytics.setRejectedCases(countByStatus(allCases, "Rejected"));
-        analytics.setInProgressCases(countByStatus(allCases, "Compliance Review", "Background Verification"));
+        analytics.setPendingCases(countByStatus(statusCounts,
+                CaseStatus.PENDING_REVIEW, CaseStatus.COMPLIANCE_REVIEW, CaseStatus.BACKGROUND_VERIFICATION));
+        analytics.setApprovedCases(countByStatus(statusCounts, CaseStatus.APPROVED));
+        analytics.setRejectedCases(countByStatus(statusCounts, CaseStatus.REJECTED));
+        analytics.setInProgressCases(countByStatus(statusCounts, CaseStatus.COMPLIANCE_REVIEW, CaseStatus.BACKGROUND_VERIFICATION));
 
         // Processing Stats
         analytics.setAverageProcessingTime(calculateAverageProcessingTime(allCases));
@@ -61,7 +61,7 @@ public class AnalyticsService {
         analytics.setRejectionRate(calculateRate(analytics.getRejectedCases(), allCases.size()));
 
         // Status Distribution
-        analytics.setStatusDistribution(calculateStatusDistribution(allCases));
+        analytics.setStatusDistribution(calculateStatusDistribution(statusCounts));
 
         // Category Distributions
         analytics.setMerchantCategoryDistribution(calculateMerchantCategoryDistribution(allCases));
@@ -83,41 +83,37 @@ public class AnalyticsService {
     public AnalyticsDTO getAnalyticsByDateRange(String startDate, String endDate) {
         AnalyticsDTO analytics = getDashboardAnalytics();
 
-        // Filter cases by date range if needed
-        LocalDate start = LocalDate.parse(startDate, DATE_FORMATTER);
-        LocalDate end = LocalDate.parse(endDate, DATE_FORMATTER);
-
-        List<OnboardingCase> filteredCases = caseRepository.findAll().stream()
-                .filter(c -> {
-                    if (c.getCreatedDate() == null) return false;
-                    try {
-                        LocalDate caseDate = LocalDate.parse(c.getCreatedDate(), DATE_FORMATTER);
-                        return !caseDate.isBefore(start) && !caseDate.isAfter(end);
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                .collect(Collectors.toList());
+        LocalDate start = DateFormats.parseDate(startDate);
+        LocalDate end = DateFormats.parseDate(endDate);
 
-        // Recalculate with filtered data
-        analytics.setTotalCases(filteredCases.size());
-        analytics.setPendingCases(countByStatus(filteredCases, "Pending Review", "Compliance Review", "Background Verification"));
-        analytics.setApprovedCases(countByStatus(filteredCases, "Approved"));
-        analytics.setRejectedCases(countByStatus(filteredCases, "Rejected"));
+        // Recalculate with counts aggregated in the database; created_date is a DATE column, so this is an index range scan
+        Map<CaseStatus, Long> statusCounts = toStatusCounts(caseRepository.countGroupedByStatusCodeBetween(start, end));
+        analytics.setTotalCases(statusCounts.values().stream().mapToLong(Long::longValue).sum());
+        analytics.setPendingCases(countByStatus(statusCounts,
+                CaseStatus.PENDING_REVIEW, CaseStatus.COMPLIANCE_REVIEW, CaseStatus.BACKGROUND_VERIFICATION));
+        analytics.setApprovedCases(countByStatus(statusCounts, CaseStatus.APPROVED));
+        analytics.setRejectedCases(countByStatus(statusCounts, CaseStatus.REJECTED));
 
         return analytics;
     }
 
-    private long countByStatus(List<OnboardingCase> cases, String... statuses) {
-        Set<String> statusSet = new HashSet<>(Arrays.asList(statuses));
-        return cases.stream()
-                .filter(c -> c.getStatus() != null && statusSet.contains(c.getStatus()))
-                .count();
+    private Map<CaseStatus, Long> toStatusCounts(List<Object[]> rows) {
+        Map<CaseStatus, Long> counts = new EnumMap<>(CaseStatus.class);
+        for (Object[] row : rows) {
+            counts.put((CaseStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private long countByStatus(Map<CaseStatus, Long> statusCounts, CaseStatus... statuses) {
+        return Arrays.stream(statuses)
+                .mapToLong(status -> statusCounts.getOrDefault(status, 0L))
+                .sum();
     }
 
     private double calculateAverageProcessingTime(List<OnboardingCase> cases) {
         List<OnboardingCase> completedCases = cases.stream()
-                .filter(c -> "Approved".equals(c.getStatus()) || "Rejected".equals(c.getStatus()))
+                .filter(c -> c.getStatusCode() != null && c.getStatusCode().isFinal())
                 .filter(c -> c.getCreatedDate() != null && c.getLastUpdated() != null)
                 .collect(Collectors.toList());
 
@@ -126,15 +122,7 @@ public class AnalyticsService {
         }
 
         double totalDays = completedCases.stream()
-                .mapToLong(c -> {
-                    try {
-                        LocalDate created = LocalDate.parse(c.getCreatedDate(), DATE_FORMATTER);
-                        LocalDate updated = LocalDate.parse(c.getLastUpdated().substring(0, 10), DATE_FORMATTER);
-                        return ChronoUnit.DAYS.between(created, updated);
-                    } catch (Exception e) {
-                        return 0L;
-                    }
-                })
+                .mapToLong(c -> ChronoUnit.DAYS.between(c.getCreatedDate(), c.getLastUpdated().toLocalDate()))
                 .sum();
 
         return Math.round((totalDays / completedCases.size()) * 100.0) / 100.0;
@@ -145,14 +133,10 @@ public class AnalyticsService {
         return Math.round((count * 100.0 / total) * 100.0) / 100.0;
     }
 
-    private Map<String, Long> calculateStatusDistribution(List<OnboardingCase> cases) {
-        return cases.stream()
-                .filter(c -> c.getStatus() != null)
-                .collect(Collectors.groupingBy(
-                        OnboardingCase::getStatus,
-                        LinkedHashMap::new,
-                        Collectors.counting()
-                ));
+    private Map<String, Long> calculateStatusDistribution(Map<CaseStatus, Long> statusCounts) {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        statusCounts.forEach((status, count) -> distribution.put(status.getLabel(), count));
+        return distribution;
     }
 
     private Map<String, Long> calculateMerchantCategoryDistribution(List<OnboardingCase> cases) {
@@ -180,35 +164,34 @@ public class AnalyticsService {
         LocalDate today = LocalDate.now();
 
         // Group cases by creation date for total/pending counts ("cases submitted that day")
-        Map<String, List<OnboardingCase>> casesByCreatedDate = cases.stream()
+        Map<LocalDate, List<OnboardingCase>> casesByCreatedDate = cases.stream()
                 .filter(c -> c.getCreatedDate() != null)
                 .collect(Collectors.groupingBy(OnboardingCase::getCreatedDate));
 
         // Group approved/rejected cases by the date their status last changed (lastUpdated)
-        Map<String, List<OnboardingCase>> approvedByDate = cases.stream()
-                .filter(c -> "Approved".equals(c.getStatus()) && c.getLastUpdated() != null)
-                .collect(Collectors.groupingBy(c -> c.getLastUpdated().substring(0, 10)));
+        Map<LocalDate, List<OnboardingCase>> approvedByDate = cases.stream()
+                .filter(c -> c.getStatusCode() == CaseStatus.APPROVED && c.getLastUpdated() != null)
+                .collect(Collectors.groupingBy(c -> c.getLastUpdated().toLocalDate()));
 
-        Map<String, List<OnboardingCase>> rejectedByDate = cases.stream()
-                .filter(c -> "Rejected".equals(c.getStatus()) && c.getLastUpdated() != null)
-                .collect(Collectors.groupingBy(c -> c.getLastUpdated().substring(0, 10)));
+        Map<LocalDate, List<OnboardingCase>> rejectedByDate = cases.stream()
+                .filter(c -> c.getStatusCode() == CaseStatus.REJECTED && c.getLastUpdated() != null)
+                .collect(Collectors.groupingBy(c -> c.getLastUpdated().toLocalDate()));
 
         for (int i = days - 1; i >= 0; i--) {
             LocalDate date = today.minusDays(i);
-            String dateStr = date.format(DATE_FORMATTER);
 
             AnalyticsDTO.TrendData trend = new AnalyticsDTO.TrendData();
-            trend.setPeriod(dateStr);
+            trend.setPeriod(DateFormats.format(date));
 
-            List<OnboardingCase> submittedCases = casesByCreatedDate.getOrDefault(dateStr, Collections.emptyList());
-            long approvedCount = approvedByDate.getOrDefault(dateStr, Collections.emptyList()).size();
-            long rejectedCount = rejectedByDate.getOrDefault(dateStr, Collections.emptyList()).size();
+            List<OnboardingCase> submittedCases = casesByCreatedDate.getOrDefault(date, Collections.emptyList());
+            long approvedCount = approvedByDate.getOrDefault(date, Collections.emptyList()).size();
+            long rejectedCount = rejectedByDate.getOrDefault(date, Collections.emptyList()).size();
 
             trend.setTotalCases(submittedCases.size());
             trend.setApprovedCases(approvedCount);
             trend.setRejectedCases(rejectedCount);
             trend.setPendingCases(submittedCases.stream()
-                    .filter(c -> !"Approved".equals(c.getStatus()) && !"Rejected".equals(c.getStatus()))
+                    .filter(c -> c.getStatusCode() == null || !c.getStatusCode().isFinal())
                     .count());
 
             trends.add(trend);
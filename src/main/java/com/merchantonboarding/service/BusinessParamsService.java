@@ -25,6 +25,9 @@ public class BusinessParamsService {
     @Autowired
     private MerchantCategoryRepository merchantCategoryRepository;
 
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
     // ─── Business Types ───────────────────────────────────────
 
     public List<BusinessTypeDTO> getAllBusinessTypes() {
@@ -73,6 +76,7 @@ public class BusinessParamsService {
         bt.setStatus(dto.getStatus() != null ? dto.getStatus() : "active");
 
         BusinessType saved = businessTypeRepository.save(bt);
+        entityCacheEvictor.evictBusinessParams();
         return convertBusinessTypeToDTO(saved);
     }
 
@@ -86,6 +90,7 @@ public class BusinessParamsService {
         bt.setStatus(dto.getStatus());
 
         BusinessType saved = businessTypeRepository.save(bt);
+        entityCacheEvictor.evictBusinessParams();
         return convertBusinessTypeToDTO(saved);
     }
 
@@ -94,6 +99,7 @@ public class BusinessParamsService {
             throw new ResourceNotFoundException("Business type not found: " + id);
         }
         businessTypeRepository.deleteById(id);
+        entityCacheEvictor.evictBusinessParams();
     }
 
     // ─── Merchant Categories ───────────────────────────────────────
@@ -151,6 +157,7 @@ public class BusinessParamsService {
         mc.setStatus(dto.getStatus() != null ? dto.getStatus() : "active");
 
         MerchantCategory saved = merchantCategoryRepository.save(mc);
+        entityCacheEvictor.evictBusinessParams();
         return convertMerchantCategoryToDTO(saved);
     }
 
@@ -165,6 +172,7 @@ public class BusinessParamsService {
         mc.setStatus(dto.getStatus());
 
         MerchantCategory saved = merchantCategoryRepository.save(mc);
+        entityCacheEvictor.evictBusinessParams();
         return convertMerchantCategoryToDTO(saved);
     }
 
@@ -173,6 +181,7 @@ public class BusinessParamsService {
             throw new ResourceNotFoundException("Merchant category not found: " + id);
         }
         merchantCategoryRepository.deleteById(id);
+        entityCacheEvictor.evictBusinessParams();
     }
 
     // ─── Conversion Methods ───────────────────────────────────────
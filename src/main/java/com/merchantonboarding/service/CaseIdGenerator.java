@@ -0,0 +1,131 @@
+package com.merchantonboarding.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.merchantonboarding.model.CaseIdSequence;
+import com.merchantonboarding.repository.CaseIdSequenceRepository;
+import com.merchantonboarding.repository.CaseRepository;
+
+/**
+ * Hands out case IDs (MOP-YYYY-NNN) using a hi/lo scheme.
+ * A block of sequence numbers is reserved from the case_id_sequences table under a row lock,
+ * then served from memory, so only one in every blockSize IDs costs a database round trip.
+ * Blocks never overlap across nodes; unused numbers in a block are skipped after a restart.
+ */
+@Service
+public class CaseIdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(CaseIdGenerator.class);
+
+    @Autowired
+    private CaseIdSequenceRepository sequenceRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.case-id.block-size:50}")
+    private int blockSize = 50;
+
+    // Current block per year; previous years are dropped once the year rolls over
+    private final Map<Integer, Block> blocks = new HashMap<>();
+
+    /**
+     * Next unused case ID for the current year
+     */
+    public synchronized String nextCaseId() {
+        int year = LocalDate.now().getYear();
+        Block block = blocks.get(year);
+        if (block == null || block.isExhausted()) {
+            block = reserveBlock(year, blockSize);
+            blocks.keySet().removeIf(y -> y < year);
+            blocks.put(year, block);
+        }
+        return String.format("MOP-%d-%03d", year, block.next());
+    }
+
+    /**
+     * Next count unused case IDs for the current year, in order.
+     * Whatever is left of the current block is used first; the rest comes from a single block
+     * sized to fit, so a bulk import costs one extra round trip rather than one per blockSize IDs.
+     */
+    public synchronized List<String> nextCaseIds(int count) {
+        int year = LocalDate.now().getYear();
+        List<String> ids = new ArrayList<>(count);
+        Block block = blocks.get(year);
+        while (ids.size() < count) {
+            if (block == null || block.isExhausted()) {
+                block = reserveBlock(year, Math.max(blockSize, count - ids.size()));
+                blocks.keySet().removeIf(y -> y < year);
+                blocks.put(year, block);
+            }
+            ids.add(String.format("MOP-%d-%03d", year, block.next()));
+        }
+        return ids;
+    }
+
+    private Block reserveBlock(int year, int size) {
+        // Own transaction so the row lock is released immediately, not at the end of the caller's work
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return tx.execute(status -> allocate(year, size));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created this year's counter row first; lock that row instead
+            log.debug("Case ID sequence for {} was seeded concurrently, retrying", year);
+            return tx.execute(status -> allocate(year, size));
+        }
+    }
+
+    private Block allocate(int year, int size) {
+        CaseIdSequence sequence = sequenceRepository.findByYearForUpdate(year).orElse(null);
+        long start;
+        if (sequence == null) {
+            // First block of the year: continue after any IDs already in onboarding_cases
+            String prefix = String.format("MOP-%d-", year);
+            Long maxExisting = caseRepository.findMaxSequenceForPrefix(prefix, prefix.length() + 1);
+            start = (maxExisting != null ? maxExisting : 0L) + 1;
+            sequence = new CaseIdSequence(year, start + size, null);
+        } else {
+            start = sequence.getNextValue();
+            sequence.setNextValue(start + size);
+        }
+        sequenceRepository.saveAndFlush(sequence);
+        log.debug("Reserved case ID block {}-{} for {}", start, start + size - 1, year);
+        return new Block(start, start + size);
+    }
+
+    private static final class Block {
+        private long next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = start;
+            this.end = end;
+        }
+
+        private boolean isExhausted() {
+            return next >= end;
+        }
+
+        private long next() {
+            return next++;
+        }
+    }
+}
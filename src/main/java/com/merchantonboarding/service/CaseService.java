@@ -1,41 +1,84 @@
 package com.merchantonboarding.service;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.merchantonboarding.annotation.Auditable;
+import com.merchantonboarding.dto.BulkOperationResultDTO;
+import com.merchantonboarding.dto.CaseBatchGetResultDTO;
 import com.merchantonboarding.dto.CaseDTO;
+import com.merchantonboarding.dto.CasePatchResultDTO;
+import com.merchantonboarding.dto.CaseSearchResultDTO;
+import com.merchantonboarding.dto.CaseSummaryDTO;
+import com.merchantonboarding.dto.CursorPageDTO;
+import com.merchantonboarding.dto.DateFormats;
+import com.merchantonboarding.dto.DocumentOcrDTO;
+import com.merchantonboarding.exception.PreconditionFailedException;
 import com.merchantonboarding.exception.ResourceNotFoundException;
 import com.merchantonboarding.model.CaseHistory;
+import com.merchantonboarding.model.CaseStatus;
 import com.merchantonboarding.model.Document;
+import com.merchantonboarding.model.DocumentOcrResult;
 import com.merchantonboarding.model.OnboardingCase;
+import com.merchantonboarding.model.User;
+import com.merchantonboarding.repository.CaseBulkRepository;
+import com.merchantonboarding.repository.CaseHistoryRepository;
 import com.merchantonboarding.repository.CaseRepository;
+import com.merchantonboarding.repository.DocumentOcrResultRepository;
+import com.merchantonboarding.ocr.OcrPipeline;
+import com.merchantonboarding.search.CaseIndexListener;
+import com.merchantonboarding.search.CaseSearchIndex;
+import com.merchantonboarding.storage.DocumentDownload;
+import com.merchantonboarding.storage.DocumentStorage;
+import com.merchantonboarding.storage.DocumentStore;
 
 @Service
 @Transactional
@@ -50,14 +93,86 @@ public class CaseService {
     @Autowired(required = false)
     private NotificationService notificationService;
 
+    @Autowired
+    private CaseWorkflow caseWorkflow;
+
+    @Autowired
+    private DocumentStorage documentStorage;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private OcrPipeline ocrPipeline;
+
+    @Autowired
+    private DocumentOcrResultRepository documentOcrResultRepository;
+
     @Autowired
     private com.merchantonboarding.repository.UserRepository userRepository;
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    @Autowired
+    private CaseHistoryRepository caseHistoryRepository;
+
+    @Autowired
+    private CaseIdGenerator caseIdGenerator;
+
+    @Autowired(required = false)
+    private CaseSearchIndex caseSearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CaseBulkRepository caseBulkRepository;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.cases.max-list-size:1000}")
+    private int maxListSize = 1000;
+
+    @Value("${app.cases.batch-get.max-ids:200}")
+    private int maxBatchGetIds = 200;
+
+    @Value("${app.cases.bulk.max-items:10000}")
+    private int maxBulkItems = 10000;
+
+    @Value("${app.cases.detail-history-size:50}")
+    private int detailHistorySize = 50;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+    private static final List<String> ALLOWED_DOCUMENT_EXTENSIONS = List.of(".pdf", ".jpg", ".jpeg", ".png");
+
+    // Fields a merge patch may touch; status and assignment have their own endpoints.
+    // required marks NOT NULL columns, which a patch may not clear even on a draft.
+    private static final Map<String, PatchableField> PATCHABLE_FIELDS = Map.of(
+        "businessName", new PatchableField(OnboardingCase::getBusinessName, OnboardingCase::setBusinessName, true),
+        "businessType", new PatchableField(OnboardingCase::getBusinessType, OnboardingCase::setBusinessType),
+        "registrationNumber", new PatchableField(OnboardingCase::getRegistrationNumber, OnboardingCase::setRegistrationNumber),
+        "merchantCategory", new PatchableField(OnboardingCase::getMerchantCategory, OnboardingCase::setMerchantCategory),
+        "businessAddress", new PatchableField(OnboardingCase::getBusinessAddress, OnboardingCase::setBusinessAddress),
+        "directorName", new PatchableField(OnboardingCase::getDirectorName, OnboardingCase::setDirectorName),
+        "directorIC", new PatchableField(OnboardingCase::getDirectorIC, OnboardingCase::setDirectorIC),
+        "directorPhone", new PatchableField(OnboardingCase::getDirectorPhone, OnboardingCase::setDirectorPhone),
+        "directorEmail", new PatchableField(OnboardingCase::getDirectorEmail, OnboardingCase::setDirectorEmail)
+    );
+
+    private record PatchableField(Function<OnboardingCase, String> getter, BiConsumer<OnboardingCase, String> setter,
+                                  boolean required) {
+        PatchableField(Function<OnboardingCase, String> getter, BiConsumer<OnboardingCase, String> setter) {
+            this(getter, setter, false);
+        }
+    }
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     /**
      * Get all cases with pagination and filtering
@@ -66,23 +181,128 @@ public class CaseService {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<OnboardingCase> casePage;
         
-        if (status != null && !status.isEmpty()) {
-            casePage = caseRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
+        CaseStatus statusCode = parseStatusFilter(status);
+        if (statusCode != null) {
+            casePage = caseRepository.findByStatusCodeOrderByCreatedAtDesc(statusCode, pageable);
         } else {
             casePage = caseRepository.findAll(pageable);
         }
         
-        return casePage.map(this::convertToDTO);
+        return new PageImpl<>(convertToDTOs(casePage.getContent()), casePage.getPageable(), casePage.getTotalElements());
     }
     
     /**
-     * Get all cases as list (for frontend compatibility)
+     * Get all cases as list (for frontend compatibility), capped at app.cases.max-list-size
      */
     public List<CaseDTO> getAllCasesAsList() {
-        return caseRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"))
-            .stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return convertToDTOs(caseRepository.findAllByOrderByCreatedAtDescCaseIdDesc(listLimit()));
+    }
+
+    /**
+     * Write all cases (optionally filtered by status) to the output as a JSON array, one case at a time.
+     * Rows come from a forward-only streaming result set and each entity is detached once written, so heap
+     * use does not grow with the number of cases. No other query can run on the connection while the stream
+     * is open, so documents and history are left out (null) and assignee names come from a map loaded first.
+     */
+    @Transactional(readOnly = true)
+    public void streamCases(String status, OutputStream out) throws IOException {
+        CaseStatus statusCode = parseStatusFilter(status);
+        Map<String, String> userNames = new HashMap<>();
+        userRepository.findAll().forEach(u -> userNames.put(u.getId(), u.getName()));
+
+        try (Stream<OnboardingCase> cases = statusCode != null
+                 ? caseRepository.streamByStatusCode(statusCode)
+                 : caseRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            long written = 0;
+            Iterator<OnboardingCase> iterator = cases.iterator();
+            while (iterator.hasNext()) {
+                OnboardingCase c = iterator.next();
+                generator.writeObject(convertToDTO(c, userNames.get(c.getAssignedTo()), null, null));
+                entityManager.detach(c);
+                // Push the first row out immediately, then in chunks
+                if (++written == 1 || written % STREAM_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Get one page of cases using keyset pagination on (createdAt, caseId).
+     * The cursor is the opaque nextCursor of the previous page, or null for the first page.
+     */
+    public CursorPageDTO<CaseDTO> getCasesByCursor(String status, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CURSOR_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        CaseStatus statusCode = parseStatusFilter(status);
+        boolean hasStatus = statusCode != null;
+
+        List<OnboardingCase> cases;
+        if (cursor == null || cursor.isEmpty()) {
+            cases = hasStatus
+                ? caseRepository.findByStatusCodeOrderByCreatedAtDescCaseIdDesc(statusCode, pageable)
+                : caseRepository.findAllByOrderByCreatedAtDescCaseIdDesc(pageable);
+        } else {
+            CaseCursor position = decodeCursor(cursor);
+            cases = hasStatus
+                ? caseRepository.findPageAfterByStatus(statusCode, position.createdAt(), position.caseId(), pageable)
+                : caseRepository.findPageAfter(position.createdAt(), position.caseId(), pageable);
+        }
+
+        boolean hasMore = cases.size() > pageSize;
+        if (hasMore) {
+            cases = cases.subList(0, pageSize);
+        }
+        OnboardingCase last = cases.isEmpty() ? null : cases.get(cases.size() - 1);
+        String nextCursor = hasMore ? encodeCursor(last.getCreatedAt(), last.getCaseId()) : null;
+
+        return new CursorPageDTO<>(convertToDTOs(cases), nextCursor, hasMore, pageSize);
+    }
+
+    /**
+     * Get one page of lightweight case summaries for list screens, using the same cursor scheme
+     * as getCasesByCursor. Reads only onboarding_cases columns and the assignee name.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CaseSummaryDTO> getCaseSummaries(String status, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CURSOR_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        CaseStatus statusCode = parseStatusFilter(status);
+        boolean hasStatus = statusCode != null;
+
+        List<CaseSummaryDTO> summaries;
+        if (cursor == null || cursor.isEmpty()) {
+            summaries = hasStatus
+                ? caseRepository.findSummariesByStatus(statusCode, pageable)
+                : caseRepository.findSummaries(pageable);
+        } else {
+            CaseCursor position = decodeCursor(cursor);
+            summaries = hasStatus
+                ? caseRepository.findSummariesAfterByStatus(statusCode, position.createdAt(), position.caseId(), pageable)
+                : caseRepository.findSummariesAfter(position.createdAt(), position.caseId(), pageable);
+        }
+
+        boolean hasMore = summaries.size() > pageSize;
+        if (hasMore) {
+            summaries = summaries.subList(0, pageSize);
+        }
+        CaseSummaryDTO last = summaries.isEmpty() ? null : summaries.get(summaries.size() - 1);
+        String nextCursor = hasMore ? encodeCursor(last.getCreatedAt(), last.getCaseId()) : null;
+
+        return new CursorPageDTO<>(summaries, nextCursor, hasMore, pageSize);
+    }
+
+    /**
+     * Get case summaries assigned to an officer, capped at app.cases.max-list-size
+     */
+    @Transactional(readOnly = true)
+    public List<CaseSummaryDTO> getCaseSummariesByOfficer(String assignedTo) {
+        return caseRepository.findSummariesByAssignedTo(assignedTo, listLimit());
     }
 
     /**
@@ -99,7 +319,7 @@ public class CaseService {
 
         // Add initial history entry
         CaseHistory historyEntry = new CaseHistory();
-        historyEntry.setTime(LocalDateTime.now().format(DATETIME_FORMATTER));
+        historyEntry.setTime(LocalDateTime.now());
         historyEntry.setAction("Case created by " + getCurrentUserName());
         historyEntry.setOnboardingCase(newCase);
         newCase.getHistory().add(historyEntry);
@@ -115,12 +335,98 @@ public class CaseService {
         return convertToDTO(savedCase);
     }
 
+    /**
+     * Create many cases in one request (e.g. migrating an acquired portfolio).
+     * Each item is validated on its own and reported as a success or failure; valid items and their
+     * initial history rows are inserted in JDBC batches in one transaction, followed by one summary
+     * audit entry and one notification per recipient.
+     */
+    public BulkOperationResultDTO bulkCreateCases(List<CaseDTO> caseDTOs) {
+        long started = System.nanoTime();
+        if (caseDTOs == null || caseDTOs.isEmpty()) {
+            throw new IllegalArgumentException("At least one case is required");
+        }
+        if (caseDTOs.size() > maxBulkItems) {
+            throw new IllegalArgumentException("At most " + maxBulkItems + " cases can be created per request");
+        }
+
+        // Caller-supplied IDs must be new and unique within the request
+        Set<String> suppliedIds = caseDTOs.stream()
+            .map(CaseDTO::getCaseId)
+            .filter(id -> id != null && !id.isEmpty())
+            .collect(Collectors.toSet());
+        Set<String> existingIds = suppliedIds.isEmpty()
+            ? Set.of()
+            : new HashSet<>(caseRepository.findExistingIds(suppliedIds));
+
+        String[] errors = new String[caseDTOs.size()];
+        OnboardingCase[] created = new OnboardingCase[caseDTOs.size()];
+        List<OnboardingCase> cases = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        int missingIds = 0;
+        for (int i = 0; i < caseDTOs.size(); i++) {
+            CaseDTO dto = caseDTOs.get(i);
+            errors[i] = validateForBulkCreate(dto, existingIds, seenIds);
+            if (errors[i] == null) {
+                created[i] = convertToEntity(dto);
+                cases.add(created[i]);
+                if (created[i].getCaseId() == null || created[i].getCaseId().isEmpty()) {
+                    missingIds++;
+                }
+            }
+        }
+
+        if (!cases.isEmpty()) {
+            Iterator<String> newIds = caseIdGenerator.nextCaseIds(missingIds).iterator();
+            LocalDateTime now = LocalDateTime.now();
+            String historyAction = "Case created by " + getCurrentUserName() + " (bulk import)";
+            List<CaseHistory> history = new ArrayList<>(cases.size());
+            for (OnboardingCase c : cases) {
+                if (c.getCaseId() == null || c.getCaseId().isEmpty()) {
+                    c.setCaseId(newIds.next());
+                }
+                // Entity callbacks do not run for JDBC inserts
+                c.setCreatedAt(now);
+                c.setUpdatedAt(now);
+                c.setLastUpdated(now);
+                history.add(new CaseHistory(null, now, historyAction, c));
+            }
+
+            caseBulkRepository.insertCases(cases);
+            caseBulkRepository.insertHistory(history);
+            if (caseSearchIndex != null) {
+                caseSearchIndex.indexAllAfterCommit(cases);
+            }
+        }
+
+        BulkOperationResultDTO result = new BulkOperationResultDTO();
+        result.setRequested(caseDTOs.size());
+        for (int i = 0; i < caseDTOs.size(); i++) {
+            if (errors[i] == null) {
+                result.addSuccess(i, created[i].getCaseId());
+            } else {
+                result.addFailure(i, caseDTOs.get(i).getCaseId(), errors[i]);
+            }
+        }
+        result.setElapsedMs((System.nanoTime() - started) / 1_000_000);
+
+        auditBulkOperation("BULK_CREATE_CASES", result,
+            String.format("Created %d of %d cases in %d ms", result.getSucceeded(), result.getRequested(),
+                result.getElapsedMs()));
+
+        if (notificationService != null && !cases.isEmpty()) {
+            notificationService.notifyCasesCreated(cases.size(), countByAssignee(cases));
+        }
+
+        return result;
+    }
+
     /**
      * Save case as draft (no notifications, forces Draft status)
      */
     @Auditable(action = "SAVE_DRAFT", entityType = "Case")
     public CaseDTO saveDraft(CaseDTO caseDTO) {
-        caseDTO.setStatus("Draft");
+        caseDTO.setStatus(CaseStatus.DRAFT.getLabel());
         OnboardingCase newCase = convertToEntity(caseDTO);
 
         if (newCase.getCaseId() == null || newCase.getCaseId().isEmpty()) {
@@ -128,7 +434,7 @@ public class CaseService {
         }
 
         CaseHistory historyEntry = new CaseHistory();
-        historyEntry.setTime(LocalDateTime.now().format(DATETIME_FORMATTER));
+        historyEntry.setTime(LocalDateTime.now());
         historyEntry.setAction("Draft case created by " + getCurrentUserName());
         historyEntry.setOnboardingCase(newCase);
         newCase.getHistory().add(historyEntry);
@@ -155,15 +461,10 @@ public class CaseService {
         existingCase.setDirectorPhone(caseDTO.getDirectorPhone());
         existingCase.setDirectorEmail(caseDTO.getDirectorEmail());
         existingCase.setAssignedTo(caseDTO.getAssignedTo());
-        existingCase.setLastUpdated(LocalDateTime.now().format(DATETIME_FORMATTER));
-
-        CaseHistory historyEntry = new CaseHistory();
-        historyEntry.setTime(LocalDateTime.now().format(DATETIME_FORMATTER));
-        historyEntry.setAction("Draft case updated");
-        historyEntry.setOnboardingCase(existingCase);
-        existingCase.getHistory().add(historyEntry);
+        existingCase.setLastUpdated(LocalDateTime.now());
 
         OnboardingCase updatedCase = caseRepository.save(existingCase);
+        appendHistory(updatedCase, "Draft case updated");
         return convertToDTO(updatedCase);
     }
 
@@ -175,53 +476,101 @@ public class CaseService {
             .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
         return convertToDTO(onboardingCase);
     }
-    
+
     /**
-     * Update case
+     * Resolve many cases in one round trip: one IN query for the cases, then one batched lookup each for
+     * assignees, documents and history. Results keep request order; ids that do not exist are listed as missing.
      */
-    @Auditable(action = "UPDATE_CASE", entityType = "Case")
-    public CaseDTO updateCase(String caseId, CaseDTO caseDTO) {
-        OnboardingCase existingCase = caseRepository.findById(caseId)
-            .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
+    @Transactional(readOnly = true)
+    public CaseBatchGetResultDTO<CaseDTO> batchGetCases(List<String> caseIds) {
+        Set<String> ids = normalizeBatchIds(caseIds);
+        Map<String, CaseDTO> found = new HashMap<>();
+        if (!ids.isEmpty()) {
+            convertToDTOs(caseRepository.findAllById(ids)).forEach(dto -> found.put(dto.getCaseId(), dto));
+        }
+        return inRequestOrder(ids, found);
+    }
 
-        // Prevent editing of Rejected or Approved cases
-        String currentStatus = existingCase.getStatus();
-        if (currentStatus != null && (currentStatus.equalsIgnoreCase("Rejected") || currentStatus.equalsIgnoreCase("Approved"))) {
-            throw new IllegalStateException("Cases with status '" + currentStatus + "' cannot be edited");
+    /**
+     * Summary form of batchGetCases: a single query, no documents or history
+     */
+    @Transactional(readOnly = true)
+    public CaseBatchGetResultDTO<CaseSummaryDTO> batchGetCaseSummaries(List<String> caseIds) {
+        Set<String> ids = normalizeBatchIds(caseIds);
+        Map<String, CaseSummaryDTO> found = new HashMap<>();
+        if (!ids.isEmpty()) {
+            caseRepository.findSummariesByCaseIds(ids).forEach(summary -> found.put(summary.getCaseId(), summary));
         }
+        return inRequestOrder(ids, found);
+    }
 
-        // Prevent compliance reviewers from editing Draft cases
-        if (currentStatus != null && currentStatus.equalsIgnoreCase("Draft")) {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            boolean isAdmin = auth.getAuthorities().stream()
-                    .anyMatch(a -> "ALL_MODULES".equals(a.getAuthority()));
-            boolean isOfficer = auth.getAuthorities().stream()
-                    .anyMatch(a -> "CASE_CREATION".equals(a.getAuthority()));
-            if (!isAdmin && !isOfficer) {
-                throw new IllegalStateException("Only onboarding officers and admins can edit Draft cases");
+    private Set<String> normalizeBatchIds(List<String> caseIds) {
+        if (caseIds == null || caseIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one case id is required");
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        for (String caseId : caseIds) {
+            if (caseId != null && !caseId.isBlank()) {
+                ids.add(caseId.trim());
             }
         }
+        if (ids.size() > maxBatchGetIds) {
+            throw new IllegalArgumentException("At most " + maxBatchGetIds + " case ids can be fetched per request");
+        }
+        return ids;
+    }
 
-        // Prevent compliance reviewers from editing Pending Review cases
-        if (currentStatus != null && currentStatus.equalsIgnoreCase("Pending Review")) {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            boolean isAdmin = auth.getAuthorities().stream()
-                    .anyMatch(a -> "ALL_MODULES".equals(a.getAuthority()));
-            boolean isOfficer = auth.getAuthorities().stream()
-                    .anyMatch(a -> "CASE_CREATION".equals(a.getAuthority()));
-            if (!isAdmin && !isOfficer) {
-                throw new IllegalStateException("Only onboarding officers and admins can edit cases in Pending Review");
+    private <T> CaseBatchGetResultDTO<T> inRequestOrder(Set<String> ids, Map<String, T> found) {
+        List<T> cases = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                cases.add(item);
+            } else {
+                missing.add(id);
             }
         }
+        return new CaseBatchGetResultDTO<>(cases, missing);
+    }
+
+    /**
+     * Current version of a case without loading it, so conditional GETs can be answered
+     * before documents and history are read
+     */
+    @Transactional(readOnly = true)
+    public Long getCaseVersion(String caseId) {
+        return caseRepository.findVersionByCaseId(caseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
+    }
+    
+    /**
+     * Update case
+     */
+    @Auditable(action = "UPDATE_CASE", entityType = "Case")
+    public CaseDTO updateCase(String caseId, CaseDTO caseDTO) {
+        return updateCase(caseId, caseDTO, null);
+    }
+
+    /**
+     * Update case only if it is still at the version the client last read (If-Match);
+     * a null expected version skips the check
+     */
+    @Auditable(action = "UPDATE_CASE", entityType = "Case")
+    public CaseDTO updateCase(String caseId, CaseDTO caseDTO, Long expectedVersion) {
+        OnboardingCase existingCase = caseRepository.findById(caseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
+        checkVersion(existingCase, expectedVersion);
+
+        CaseWorkflow.Actor actor = currentActor();
+        caseWorkflow.checkEditable(existingCase, actor);
 
         // Track status change for history
+        CaseStatus currentStatus = existingCase.getStatusCode();
         String oldStatus = existingCase.getStatus();
-
-        // Prevent Draft → Pending Review if no documents are uploaded
-        if ("Draft".equalsIgnoreCase(oldStatus) && "Pending Review".equalsIgnoreCase(caseDTO.getStatus())) {
-            if (existingCase.getDocuments() == null || existingCase.getDocuments().isEmpty()) {
-                throw new IllegalStateException("Cannot submit case without uploading all required documents");
-            }
+        CaseStatus newStatus = caseDTO.getStatus() != null ? CaseStatus.fromValue(caseDTO.getStatus()) : null;
+        if (newStatus != null && newStatus != currentStatus) {
+            caseWorkflow.checkTransition(existingCase, newStatus, actor, CaseWorkflow.EDIT_GUARDS);
         }
 
         // Update fields
@@ -236,23 +585,77 @@ public class CaseService {
         existingCase.setDirectorEmail(caseDTO.getDirectorEmail());
         existingCase.setAssignedTo(caseDTO.getAssignedTo());
 
-        if (caseDTO.getStatus() != null) {
-            existingCase.setStatus(caseDTO.getStatus());
+        if (newStatus != null) {
+            existingCase.setStatusCode(newStatus);
         }
 
+        OnboardingCase updatedCase = caseRepository.save(existingCase);
+
         // Add history entry if status changed
-        if (caseDTO.getStatus() != null && !caseDTO.getStatus().equals(oldStatus)) {
-            CaseHistory historyEntry = new CaseHistory();
-            historyEntry.setTime(LocalDateTime.now().format(DATETIME_FORMATTER));
-            historyEntry.setAction("Status changed from '" + oldStatus + "' to '" + caseDTO.getStatus() + "'");
-            historyEntry.setOnboardingCase(existingCase);
-            existingCase.getHistory().add(historyEntry);
+        if (newStatus != null && newStatus != currentStatus) {
+            appendHistory(updatedCase, "Status changed from '" + oldStatus + "' to '" + newStatus.getLabel() + "'");
         }
 
-        OnboardingCase updatedCase = caseRepository.save(existingCase);
+        // Write now so the returned view (and its ETag) carries the new version
+        caseRepository.flush();
         return convertToDTO(updatedCase);
     }
-    
+
+    /**
+     * Apply a JSON Merge Patch (RFC 7396) to the case's business and director fields.
+     * Only the supplied fields are touched, and a null value clears a field. Values are validated per field
+     * unless the case is still a draft. If nothing actually changes, nothing is written. Otherwise history
+     * and audit get the changed field names and old/new values instead of the whole case.
+     */
+    public CasePatchResultDTO patchCase(String caseId, Map<String, Object> patch, Long expectedVersion) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch document must be a non-empty JSON object");
+        }
+        OnboardingCase existingCase = caseRepository.findById(caseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
+        checkVersion(existingCase, expectedVersion);
+        caseWorkflow.checkEditable(existingCase, currentActor());
+
+        boolean draft = existingCase.getStatusCode() == CaseStatus.DRAFT;
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            PatchableField field = PATCHABLE_FIELDS.get(entry.getKey());
+            if (field == null) {
+                throw new IllegalArgumentException("Field '" + entry.getKey() + "' cannot be patched");
+            }
+            if (entry.getValue() != null && !(entry.getValue() instanceof String)) {
+                throw new IllegalArgumentException("Field '" + entry.getKey() + "' must be a string or null");
+            }
+            String value = (String) entry.getValue();
+            if (value == null && field.required()) {
+                throw new IllegalArgumentException("Field '" + entry.getKey() + "' cannot be null");
+            }
+            if (!draft) {
+                Set<ConstraintViolation<CaseDTO>> violations = validator.validateValue(CaseDTO.class, entry.getKey(), value);
+                if (!violations.isEmpty()) {
+                    throw new IllegalArgumentException(violations.iterator().next().getMessage());
+                }
+            }
+            String oldValue = field.getter().apply(existingCase);
+            if (!Objects.equals(oldValue, value)) {
+                field.setter().accept(existingCase, value);
+                changes.put(entry.getKey(), new Object[] {oldValue, value});
+            }
+        }
+
+        CasePatchResultDTO result = new CasePatchResultDTO();
+        result.setCaseId(caseId);
+        if (!changes.isEmpty()) {
+            appendHistory(existingCase, "Updated " + String.join(", ", changes.keySet()) + " by " + getCurrentUserName());
+            caseRepository.flush();
+            String userEmail = getCurrentUserEmail();
+            auditService.logAction("PATCH_CASE", "Case", caseId, userEmail, userEmail, "SUCCESS", toJson(changes));
+            result.setChangedFields(new ArrayList<>(changes.keySet()));
+        }
+        result.setVersion(existingCase.getVersion());
+        return result;
+    }
+
     /**
      * Delete case
      */
@@ -260,10 +663,9 @@ public class CaseService {
     public void deleteCase(String caseId) {
         OnboardingCase existingCase = caseRepository.findById(caseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
-        String status = existingCase.getStatus();
-        if (!"Draft".equalsIgnoreCase(status) && !"Pending Review".equalsIgnoreCase(status)) {
-            throw new IllegalStateException("Cannot delete a case with status: " + status);
-        }
+        caseWorkflow.checkDeletable(existingCase);
+        // The cascade removes the document rows; their stored bytes are released here
+        existingCase.getDocuments().forEach(documentStorage::release);
         caseRepository.deleteById(caseId);
     }
     
@@ -272,39 +674,67 @@ public class CaseService {
      */
     public List<CaseDTO> getCasesByOfficer(String assignedTo) {
         List<OnboardingCase> cases = caseRepository.findByAssignedTo(assignedTo);
-        return cases.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return convertToDTOs(cases);
     }
     
     /**
-     * Search cases
+     * Search cases, best match first when the search index is enabled
      */
     public List<CaseDTO> searchCases(String keyword) {
-        List<OnboardingCase> cases = caseRepository.searchCases(keyword);
-        return cases.stream().map(this::convertToDTO).collect(Collectors.toList());
+        List<OnboardingCase> cases = caseSearchIndex != null
+            ? findIndexed(keyword, null)
+            : caseRepository.searchCases(keyword, listLimit());
+        return convertToDTOs(cases);
     }
 
     /**
      * Filter cases
      */
     public List<CaseDTO> filterCases(String status, String searchTerm) {
+        CaseStatus statusCode = parseStatusFilter(status);
+        boolean hasSearch = searchTerm != null && !searchTerm.isEmpty();
         List<OnboardingCase> cases;
 
-        if (searchTerm != null && !searchTerm.isEmpty()) {
-            cases = caseRepository.searchCases(searchTerm);
+        if (hasSearch && caseSearchIndex != null) {
+            cases = findIndexed(searchTerm, statusCode != null ? statusCode.name() : null);
+        } else if (hasSearch) {
+            cases = statusCode != null
+                ? caseRepository.searchCasesByStatus(searchTerm, statusCode, listLimit())
+                : caseRepository.searchCases(searchTerm, listLimit());
         } else {
-            cases = caseRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
+            cases = statusCode != null
+                ? caseRepository.findByStatusCodeOrderByCreatedAtDescCaseIdDesc(statusCode, listLimit())
+                : caseRepository.findAllByOrderByCreatedAtDescCaseIdDesc(listLimit());
         }
 
-        if (status != null && !status.isEmpty()) {
-            String normalizedFilter = status.toLowerCase().replace(" ", "_");
-            cases = cases.stream()
-                .filter(c -> c.getStatus().toLowerCase().replace(" ", "_").equals(normalizedFilter))
-                .collect(Collectors.toList());
+        return convertToDTOs(cases);
+    }
+
+    /**
+     * Full-text search with prefix, fuzzy and registration number matching, status/category facets and paging.
+     * Served entirely from the search index apart from one lookup for assignee names.
+     */
+    @Transactional(readOnly = true)
+    public CaseSearchResultDTO searchCasesPaged(String keyword, String status, String category, int page, int size) {
+        if (caseSearchIndex == null) {
+            throw new IllegalStateException("Case search index is disabled");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        CaseSearchIndex.SearchPage result = caseSearchIndex.search(keyword, status, category, page, pageSize);
+
+        Set<String> assigneeIds = result.hits().stream()
+            .map(CaseSummaryDTO::getAssignedTo)
+            .filter(id -> id != null)
+            .collect(Collectors.toSet());
+        if (!assigneeIds.isEmpty()) {
+            Map<String, String> names = new HashMap<>();
+            userRepository.findAllById(assigneeIds).forEach(u -> names.put(u.getId(), u.getName()));
+            result.hits().forEach(h -> h.setAssignedToName(names.get(h.getAssignedTo())));
         }
 
-        return cases.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return new CaseSearchResultDTO(result.hits(), result.total(), Math.max(0, page), pageSize, result.facets());
     }
-    
+
     /**
      * Get case statistics
      */
@@ -322,41 +752,57 @@ public class CaseService {
      */
     @Auditable(action = "UPDATE_CASE_STATUS", entityType = "Case")
     public CaseDTO updateCaseStatus(String caseId, String status) {
+        return updateCaseStatus(caseId, status, null);
+    }
+
+    /**
+     * Update case status only if the case is still at the expected version (If-Match)
+     */
+    @Auditable(action = "UPDATE_CASE_STATUS", entityType = "Case")
+    public CaseDTO updateCaseStatus(String caseId, String status, Long expectedVersion) {
         OnboardingCase onboardingCase = caseRepository.findById(caseId)
             .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
+        checkVersion(onboardingCase, expectedVersion);
 
         String oldStatus = onboardingCase.getStatus();
+        CaseStatus newStatus = CaseStatus.fromValue(status);
+        status = newStatus.getLabel();
+        caseWorkflow.checkTransition(onboardingCase, newStatus, currentActor(), CaseWorkflow.STATUS_GUARDS);
 
-        // Prevent changes to cases that already have a final decision
-        if ("Approved".equalsIgnoreCase(oldStatus) || "Rejected".equalsIgnoreCase(oldStatus)) {
-            throw new IllegalStateException("Case already has a final decision: " + oldStatus + ". No further status changes are allowed.");
-        }
-
-        onboardingCase.setStatus(status);
+        onboardingCase.setStatusCode(newStatus);
 
         // Track which stage the case was rejected at
-        if ("Rejected".equalsIgnoreCase(status)) {
+        if (newStatus == CaseStatus.REJECTED) {
             onboardingCase.setRejectedAtStage(oldStatus);
         }
 
-        // Add history entry for status change
-        CaseHistory historyEntry = new CaseHistory();
-        historyEntry.setTime(LocalDateTime.now().format(DATETIME_FORMATTER));
-        historyEntry.setAction("Status changed from '" + oldStatus + "' to '" + status + "'");
-        historyEntry.setOnboardingCase(onboardingCase);
-        onboardingCase.getHistory().add(historyEntry);
-
         OnboardingCase updatedCase = caseRepository.save(onboardingCase);
 
+        // Add history entry for status change
+        appendHistory(updatedCase, "Status changed from '" + oldStatus + "' to '" + status + "'");
+
         // Send notification for status change
         if (notificationService != null) {
             notificationService.notifyCaseStatusChanged(caseId, updatedCase.getBusinessName(),
                     oldStatus, status, null, updatedCase.getAssignedTo());
         }
 
+        caseRepository.flush();
         return convertToDTO(updatedCase);
     }
 
+    /**
+     * Statuses the current user could move the case to, in workflow order
+     */
+    @Transactional(readOnly = true)
+    public List<String> getAllowedTransitions(String caseId) {
+        OnboardingCase onboardingCase = caseRepository.findById(caseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
+        return caseWorkflow.allowedTransitions(onboardingCase, currentActor()).stream()
+            .map(CaseStatus::getLabel)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Add history entry to a case
      */
@@ -387,13 +833,7 @@ public class CaseService {
             finalAction = currentUserName + ": " + commentText;
         }
 
-        CaseHistory historyEntry = new CaseHistory();
-        historyEntry.setTime(LocalDateTime.now().format(DATETIME_FORMATTER));
-        historyEntry.setAction(finalAction);
-        historyEntry.setOnboardingCase(onboardingCase);
-        onboardingCase.getHistory().add(historyEntry);
-
-        caseRepository.save(onboardingCase);
+        appendHistory(onboardingCase, finalAction);
 
         // Notify the assigned reviewer when a comment is added
         if (action != null && action.startsWith("Comment added:") && notificationService != null) {
@@ -410,6 +850,20 @@ public class CaseService {
         }
     }
 
+    /**
+     * One page of a case's history, latest entries first
+     */
+    @Transactional(readOnly = true)
+    public Page<CaseDTO.CaseHistoryDTO> getCaseHistory(String caseId, int page, int size) {
+        if (!caseRepository.existsById(caseId)) {
+            throw new ResourceNotFoundException("Case not found with id: " + caseId);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize, Sort.by(Sort.Direction.DESC, "id"));
+        return caseHistoryRepository.findByOnboardingCaseCaseId(caseId, pageable)
+            .map(this::convertHistoryToDTO);
+    }
+
     /**
      * Assign case to a reviewer
      */
@@ -425,18 +879,14 @@ public class CaseService {
         String previousName = getAssignedUserName(previousAssignee);
         String newName = getAssignedUserName(assignedTo);
 
+        OnboardingCase updatedCase = caseRepository.save(onboardingCase);
+
         // Add history entry
-        CaseHistory historyEntry = new CaseHistory();
-        historyEntry.setTime(LocalDateTime.now().format(DATETIME_FORMATTER));
         if (previousAssignee != null && !previousAssignee.isEmpty()) {
-            historyEntry.setAction("Case reassigned from '" + (previousName != null ? previousName : previousAssignee) + "' to '" + (newName != null ? newName : assignedTo) + "'");
+            appendHistory(updatedCase, "Case reassigned from '" + (previousName != null ? previousName : previousAssignee) + "' to '" + (newName != null ? newName : assignedTo) + "'");
         } else {
-            historyEntry.setAction("Case assigned to '" + (newName != null ? newName : assignedTo) + "'");
+            appendHistory(updatedCase, "Case assigned to '" + (newName != null ? newName : assignedTo) + "'");
         }
-        historyEntry.setOnboardingCase(onboardingCase);
-        onboardingCase.getHistory().add(historyEntry);
-
-        OnboardingCase updatedCase = caseRepository.save(onboardingCase);
 
         // Send notification for assignment
         if (notificationService != null) {
@@ -450,44 +900,225 @@ public class CaseService {
     }
 
     /**
-     * Upload documents for a case
+     * Move many cases to one status. Each case goes through the same workflow checks as updateCaseStatus,
+     * so approve/reject is limited to cases assigned to the caller. History rows are written in one JDBC batch
+     * and each assignee gets one notification for all of their cases.
      */
-    public CaseDTO uploadDocuments(String caseId, MultipartFile[] files, String[] types) {
-        OnboardingCase onboardingCase = caseRepository.findById(caseId)
-            .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
+    public BulkOperationResultDTO bulkUpdateCaseStatus(List<String> caseIds, String status) {
+        long started = System.nanoTime();
+        CaseStatus newStatus = CaseStatus.fromValue(status);
+        Map<String, OnboardingCase> found = loadForBulkUpdate(caseIds);
+        CaseWorkflow.Actor actor = currentActor();
+        // One query answers the documents guard for the whole batch instead of a lazy load per case
+        Set<String> withDocuments = found.isEmpty() || !caseWorkflow.requiresDocuments(newStatus, CaseWorkflow.STATUS_GUARDS)
+            ? Set.of()
+            : new HashSet<>(documentRepository.findCaseIdsWithDocuments(found.keySet()));
+
+        LocalDateTime historyTime = LocalDateTime.now();
+        List<OnboardingCase> changed = new ArrayList<>();
+        List<CaseHistory> history = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        BulkOperationResultDTO result = new BulkOperationResultDTO();
+        result.setRequested(caseIds.size());
+        for (int i = 0; i < caseIds.size(); i++) {
+            String caseId = caseIds.get(i);
+            String error = checkBulkCaseId(caseId, found, seenIds);
+            OnboardingCase c = found.get(caseId);
+            if (error == null) {
+                CaseWorkflow.Denial denial = caseWorkflow.check(c, newStatus, actor, CaseWorkflow.STATUS_GUARDS,
+                    candidate -> withDocuments.contains(candidate.getCaseId()));
+                error = denial != null ? denial.reason() : null;
+            }
+            if (error != null) {
+                result.addFailure(i, caseId, error);
+                continue;
+            }
 
-        // Validate file types before processing
-        List<String> allowedExtensions = List.of(".pdf", ".jpg", ".jpeg", ".png");
-        for (MultipartFile file : files) {
-            if (file.isEmpty()) continue;
-            String originalName = file.getOriginalFilename();
-            if (originalName == null || allowedExtensions.stream().noneMatch(ext -> originalName.toLowerCase().endsWith(ext))) {
-                throw new IllegalArgumentException("Only PDF, JPEG, and PNG file types accepted.");
+            String oldStatus = c.getStatus();
+            c.setStatusCode(newStatus);
+            if (newStatus == CaseStatus.REJECTED) {
+                c.setRejectedAtStage(oldStatus);
             }
+            changed.add(c);
+            history.add(new CaseHistory(null, historyTime,
+                "Status changed from '" + oldStatus + "' to '" + newStatus.getLabel() + "'", c));
+            result.addSuccess(i, caseId);
         }
 
-        Path uploadPath = Paths.get(uploadDir, caseId);
-        try {
-            Files.createDirectories(uploadPath);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to create upload directory", e);
+        if (!changed.isEmpty()) {
+            saveAndIndex(changed);
+            caseBulkRepository.insertHistory(history);
+        }
+        result.setElapsedMs((System.nanoTime() - started) / 1_000_000);
+
+        auditBulkOperation("BULK_UPDATE_STATUS", result,
+            String.format("Changed %d of %d cases to '%s' in %d ms", result.getSucceeded(), result.getRequested(),
+                newStatus.getLabel(), result.getElapsedMs()));
+
+        if (notificationService != null && !changed.isEmpty()) {
+            notificationService.notifyCaseStatusesChanged(newStatus.getLabel(), countByAssignee(changed));
+        }
+
+        return result;
+    }
+
+    /**
+     * Save bulk-changed cases and index them in one search index update instead of one per case.
+     * The flush happens here so the per-entity listener fires while it is being skipped.
+     */
+    private void saveAndIndex(List<OnboardingCase> changed) {
+        CaseIndexListener.skipping(() -> caseRepository.saveAllAndFlush(changed));
+        if (caseSearchIndex != null) {
+            caseSearchIndex.indexAllAfterCommit(changed);
+        }
+    }
+
+    /**
+     * Assign many cases to one reviewer. Assignee names for the history rows are resolved in one query,
+     * history rows are written in one JDBC batch and the reviewer gets a single notification.
+     */
+    public BulkOperationResultDTO bulkAssignCases(List<String> caseIds, String assignedTo) {
+        long started = System.nanoTime();
+        if (assignedTo == null || assignedTo.isEmpty()) {
+            throw new IllegalArgumentException("Assignee is required");
+        }
+        Map<String, OnboardingCase> found = loadForBulkUpdate(caseIds);
+
+        Set<String> userIds = new HashSet<>();
+        userIds.add(assignedTo);
+        found.values().stream()
+            .map(OnboardingCase::getAssignedTo)
+            .filter(id -> id != null && !id.isEmpty())
+            .forEach(userIds::add);
+        Map<String, String> userNames = new HashMap<>();
+        for (User u : userRepository.findAllById(userIds)) {
+            userNames.put(u.getId(), u.getName());
+        }
+        String newName = userNames.getOrDefault(assignedTo, assignedTo);
+
+        LocalDateTime historyTime = LocalDateTime.now();
+        List<OnboardingCase> changed = new ArrayList<>();
+        List<CaseHistory> history = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        BulkOperationResultDTO result = new BulkOperationResultDTO();
+        result.setRequested(caseIds.size());
+        for (int i = 0; i < caseIds.size(); i++) {
+            String caseId = caseIds.get(i);
+            String error = checkBulkCaseId(caseId, found, seenIds);
+            if (error != null) {
+                result.addFailure(i, caseId, error);
+                continue;
+            }
+
+            OnboardingCase c = found.get(caseId);
+            String previousAssignee = c.getAssignedTo();
+            // Already with this reviewer: nothing to write
+            if (!assignedTo.equals(previousAssignee)) {
+                c.setAssignedTo(assignedTo);
+                changed.add(c);
+                String action = previousAssignee != null && !previousAssignee.isEmpty()
+                    ? "Case reassigned from '" + userNames.getOrDefault(previousAssignee, previousAssignee) + "' to '" + newName + "'"
+                    : "Case assigned to '" + newName + "'";
+                history.add(new CaseHistory(null, historyTime, action, c));
+            }
+            result.addSuccess(i, caseId);
+        }
+
+        if (!changed.isEmpty()) {
+            saveAndIndex(changed);
+            caseBulkRepository.insertHistory(history);
         }
+        result.setElapsedMs((System.nanoTime() - started) / 1_000_000);
 
+        auditBulkOperation("BULK_ASSIGN_CASES", result,
+            String.format("Assigned %d of %d cases to %s in %d ms", result.getSucceeded(), result.getRequested(),
+                assignedTo, result.getElapsedMs()));
+
+        if (notificationService != null && !changed.isEmpty()) {
+            notificationService.notifyCasesAssigned(assignedTo, changed.size());
+        }
+
+        return result;
+    }
+
+    /**
+     * Upload documents for a case.
+     * Runs outside a transaction: files are written to storage in parallel with no database connection
+     * held, then the document rows and one history entry are committed in a single short transaction.
+     * If anything fails, the files written by this request are removed again.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CaseDTO uploadDocuments(String caseId, MultipartFile[] files, String[] types) {
+        // Validate file types before processing
+        List<Integer> indexes = new ArrayList<>();
         for (int i = 0; i < files.length; i++) {
             MultipartFile file = files[i];
             if (file.isEmpty()) continue;
+            requireAllowedDocumentType(file.getOriginalFilename());
+            indexes.add(i);
+        }
+        if (!caseRepository.existsById(caseId)) {
+            throw new ResourceNotFoundException("Case not found with id: " + caseId);
+        }
 
-            String originalName = file.getOriginalFilename();
-            String safeName = UUID.randomUUID() + "_" + (originalName != null ? originalName.replaceAll("[^a-zA-Z0-9._-]", "_") : "file");
-            Path filePath = uploadPath.resolve(safeName);
-
-            try {
-                Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to store file: " + originalName, e);
-            }
+        List<DocumentStorage.StoredContent> stored;
+        try {
+            stored = documentStorage.storeAll(indexes.stream().map(i -> files[i]).collect(Collectors.toList()));
+        } catch (UncheckedIOException e) {
+            throw new RuntimeException("Failed to store uploaded files", e);
+        }
 
+        List<IncomingDocument> incoming = new ArrayList<>(indexes.size());
+        for (int n = 0; n < indexes.size(); n++) {
+            int i = indexes.get(n);
+            MultipartFile file = files[i];
             String docType = types != null && i < types.length ? types[i] : file.getContentType();
+            incoming.add(new IncomingDocument(file.getOriginalFilename(), docType, file.getContentType(), stored.get(n)));
+        }
+        try {
+            return new TransactionTemplate(transactionManager).execute(status ->
+                attachDocuments(caseId, incoming, files.length + " document(s) uploaded"));
+        } catch (RuntimeException e) {
+            documentStorage.discard(stored);
+            throw e;
+        }
+    }
+
+    /**
+     * Attach one document whose bytes are already in storage (a completed resumable upload).
+     * Joins the caller's transaction, so the caller can retire its upload session in the same commit.
+     */
+    public CaseDTO attachStoredDocument(String caseId, String name, String type, DocumentStorage.StoredContent content) {
+        return attachDocuments(caseId, List.of(new IncomingDocument(name, type, null, content)),
+            "Document '" + name + "' uploaded");
+    }
+
+    /**
+     * Reject file names outside the accepted document types
+     */
+    static void requireAllowedDocumentType(String name) {
+        if (name == null || ALLOWED_DOCUMENT_EXTENSIONS.stream().noneMatch(ext -> name.toLowerCase().endsWith(ext))) {
+            throw new IllegalArgumentException("Only PDF, JPEG, and PNG file types accepted.");
+        }
+    }
+
+    /**
+     * A stored upload on its way to becoming a document: the client's name, type and content type
+     */
+    private record IncomingDocument(String name, String type, String clientContentType,
+                                    DocumentStorage.StoredContent content) {
+    }
+
+    private CaseDTO attachDocuments(String caseId, List<IncomingDocument> incoming, String historyAction) {
+        OnboardingCase onboardingCase = caseRepository.findById(caseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + caseId));
+
+        List<Document> uploaded = new ArrayList<>(incoming.size());
+        for (IncomingDocument upload : incoming) {
+            DocumentStorage.StoredContent content = upload.content();
+            String originalName = upload.name();
+
+            String docType = upload.type();
 
             // Replace existing document of the same type instead of adding a duplicate
             Document existingDoc = onboardingCase.getDocuments().stream()
@@ -495,41 +1126,126 @@ public class CaseService {
                     .findFirst()
                     .orElse(null);
 
+            Document doc = existingDoc;
             if (existingDoc != null) {
-                // Delete old file from disk
-                try {
-                    Path oldFilePath = Paths.get(existingDoc.getFilePath());
-                    Files.deleteIfExists(oldFilePath);
-                } catch (IOException e) {
-                    // Log but continue — old file cleanup is best-effort
-                }
-                existingDoc.setName(originalName);
-                existingDoc.setFilePath(filePath.toString());
+                // Old bytes are deleted after commit unless another document still uses them
+                documentStorage.release(existingDoc);
             } else {
-                Document doc = new Document();
-                doc.setName(originalName);
+                doc = new Document();
                 doc.setType(docType);
-                doc.setFilePath(filePath.toString());
                 doc.setOnboardingCase(onboardingCase);
                 onboardingCase.getDocuments().add(doc);
             }
+            doc.setName(originalName);
+            doc.setFilePath(content.location());
+            doc.setContentHash(content.hash());
+            doc.setSizeBytes(content.size());
+            // The extension was checked above, so it is a better guide than the client's header
+            doc.setContentType(MediaTypeFactory.getMediaType(originalName)
+                .map(MediaType::toString)
+                .orElse(upload.clientContentType()));
+            uploaded.add(doc);
         }
 
-        // Add history entry
-        CaseHistory historyEntry = new CaseHistory();
-        historyEntry.setTime(LocalDateTime.now().format(DATETIME_FORMATTER));
-        historyEntry.setAction(files.length + " document(s) uploaded");
-        historyEntry.setOnboardingCase(onboardingCase);
-        onboardingCase.getHistory().add(historyEntry);
-
         OnboardingCase saved = caseRepository.save(onboardingCase);
+        if (ocrPipeline != null) {
+            ocrPipeline.submitAfterCommit(uploaded);
+        }
+
+        // Add history entry
+        appendHistory(saved, historyAction);
         return convertToDTO(saved);
     }
 
     /**
-     * Download a document by its ID, ensuring it belongs to the specified case.
+     * Resolve a document for download, ensuring it belongs to the specified case.
+     * Type and size come from the stored metadata; the stored object is only stat'ed to confirm it exists.
+     */
+    @Transactional(readOnly = true)
+    public DocumentDownload getDocumentDownload(String caseId, Long documentId) {
+        return toDownload(findCaseDocument(caseId, documentId));
+    }
+
+    /**
+     * Every document of a case in upload order, resolved for streaming into one archive, with the
+     * CRC-32 recorded for each content so entries need no extra read.
+     * All stored objects are stat'ed up front, so a missing file is a 404 before any byte is sent.
+     */
+    @Transactional(readOnly = true)
+    public List<DocumentDownload> getDocumentArchive(String caseId) {
+        if (!caseRepository.existsById(caseId)) {
+            throw new ResourceNotFoundException("Case not found with id: " + caseId);
+        }
+        List<Document> documents = documentRepository.findByOnboardingCaseCaseId(caseId);
+        Map<String, Long> crcs = documentStorage.crc32s(documents.stream()
+            .map(Document::getContentHash)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
+        return documents.stream()
+            .sorted(Comparator.comparing(Document::getId))
+            .map(document -> toDownload(document, crcs.get(document.getContentHash())))
+            .collect(Collectors.toList());
+    }
+
+    private DocumentDownload toDownload(Document document) {
+        return toDownload(document, null);
+    }
+
+    private DocumentDownload toDownload(Document document, Long crc32) {
+        DocumentStore.ObjectInfo info;
+        try {
+            info = documentStorage.stat(document);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading file: " + document.getName(), e);
+        }
+        if (info == null) {
+            throw new ResourceNotFoundException("File not found in storage: " + document.getName());
+        }
+
+        long size = document.getSizeBytes() != null ? document.getSizeBytes() : info.size();
+        long lastModified = info.lastModified();
+        String contentType = document.getContentType() != null
+            ? document.getContentType()
+            : MediaTypeFactory.getMediaType(document.getName()).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        // Content-addressed files never change, so the hash is a strong validator; older files use size and mtime
+        String etag = "\"" + (document.getContentHash() != null ? document.getContentHash() : size + "-" + lastModified) + "\"";
+        Path localPath = documentStorage.localPath(document);
+        return new DocumentDownload(localPath != null ? localPath.toAbsolutePath().normalize() : null,
+            document.getName(), contentType, size, etag, lastModified, crc32,
+            (start, end) -> documentStorage.open(document, start, end));
+    }
+
+    /**
+     * OCR status and extracted fields for a document
+     */
+    @Transactional(readOnly = true)
+    public DocumentOcrDTO getDocumentOcr(String caseId, Long documentId) {
+        Document document = findCaseDocument(caseId, documentId);
+        DocumentOcrDTO dto = new DocumentOcrDTO();
+        dto.setDocumentId(document.getId());
+        if (ocrPipeline == null || document.getContentHash() == null) {
+            dto.setStatus("UNAVAILABLE");
+            return dto;
+        }
+        DocumentOcrResult result = documentOcrResultRepository.findById(document.getContentHash()).orElse(null);
+        if (result == null) {
+            dto.setStatus("NOT_STARTED");
+            return dto;
+        }
+        dto.setStatus(result.getStatus().name());
+        dto.setRegistrationNumber(result.getRegistrationNumber());
+        dto.setDirectorIc(result.getDirectorIc());
+        dto.setPageCount(result.getPageCount());
+        dto.setExtractedText(result.getExtractedText());
+        dto.setError(result.getError());
+        dto.setCompletedAt(DateFormats.format(result.getCompletedAt()));
+        return dto;
+    }
+
+    /**
+     * Load a document, ensuring it belongs to the specified case
      */
-    public ResponseEntity<Resource> downloadDocument(String caseId, Long documentId) {
+    private Document findCaseDocument(String caseId, Long documentId) {
         Document document = documentRepository.findById(documentId)
             .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + documentId));
 
@@ -537,51 +1253,113 @@ public class CaseService {
         if (!document.getOnboardingCase().getCaseId().equals(caseId)) {
             throw new ResourceNotFoundException("Document does not belong to case: " + caseId);
         }
+        return document;
+    }
 
-        try {
-            Path filePath = Paths.get(document.getFilePath()).toAbsolutePath().normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+    private Pageable listLimit() {
+        return PageRequest.of(0, maxListSize);
+    }
 
-            if (!resource.exists()) {
-                throw new ResourceNotFoundException("File not found on disk: " + document.getName());
-            }
+    /**
+     * Load the cases matched by the search index, keeping the index's relevance order
+     */
+    private List<OnboardingCase> findIndexed(String keyword, String status) {
+        List<String> ids = caseSearchIndex.searchIds(keyword, status, maxListSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, OnboardingCase> byId = new HashMap<>();
+        caseRepository.findAllById(ids).forEach(c -> byId.put(c.getCaseId(), c));
+        return ids.stream()
+            .map(byId::get)
+            .filter(c -> c != null)
+            .collect(Collectors.toList());
+    }
 
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
+    /**
+     * Status query parameter to its code; null or empty means no filter
+     */
+    private CaseStatus parseStatusFilter(String status) {
+        return status == null || status.isEmpty() ? null : CaseStatus.fromValue(status);
+    }
 
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + document.getName() + "\"")
-                .body(resource);
-        } catch (IOException e) {
-            throw new RuntimeException("Error reading file: " + document.getName(), e);
+    private String encodeCursor(LocalDateTime createdAt, String caseId) {
+        String raw = createdAt + "|" + caseId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CaseCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new CaseCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
     }
 
+    private record CaseCursor(LocalDateTime createdAt, String caseId) {
+    }
+
     private String generateCaseId() {
-        int year = LocalDateTime.now().getYear();
-        String prefix = String.format("MOP-%d-", year);
-        // Find the max existing sequence number to avoid collisions after deletions
-        long maxSeq = caseRepository.findAll().stream()
-            .map(OnboardingCase::getCaseId)
-            .filter(id -> id != null && id.startsWith(prefix))
-            .map(id -> {
-                try {
-                    return Long.parseLong(id.substring(prefix.length()));
-                } catch (NumberFormatException e) {
-                    return 0L;
-                }
-            })
-            .max(Long::compareTo)
-            .orElse(0L);
-        return String.format("MOP-%d-%03d", year, maxSeq + 1);
+        return caseIdGenerator.nextCaseId();
     }
 
+    /**
+     * Single-case view: embeds only the latest history entries (oldest first) and the total count,
+     * read with a limited query instead of initializing the whole history collection
+     */
     private CaseDTO convertToDTO(OnboardingCase c) {
+        List<CaseHistory> recentHistory = new ArrayList<>(caseHistoryRepository.findByOnboardingCaseCaseIdOrderByIdDesc(
+            c.getCaseId(), PageRequest.of(0, detailHistorySize)));
+        long historyTotal = recentHistory.size() < detailHistorySize
+            ? recentHistory.size()
+            : caseHistoryRepository.countByOnboardingCaseCaseId(c.getCaseId());
+        Collections.reverse(recentHistory);
+
+        CaseDTO dto = convertToDTO(c, getAssignedUserName(c.getAssignedTo()), c.getDocuments(), recentHistory);
+        dto.setHistoryTotal(historyTotal);
+        return dto;
+    }
+
+    /**
+     * Convert a page of cases with a fixed number of queries: assignee names, documents and
+     * history are each fetched once for the whole page instead of once per case.
+     */
+    private List<CaseDTO> convertToDTOs(List<OnboardingCase> cases) {
+        if (cases.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<String> caseIds = cases.stream().map(OnboardingCase::getCaseId).collect(Collectors.toList());
+
+        Set<String> assigneeIds = cases.stream()
+            .map(OnboardingCase::getAssignedTo)
+            .filter(id -> id != null && !id.isEmpty())
+            .collect(Collectors.toSet());
+        Map<String, String> assigneeNames = new HashMap<>();
+        if (!assigneeIds.isEmpty()) {
+            userRepository.findAllById(assigneeIds).forEach(u -> assigneeNames.put(u.getId(), u.getName()));
+        }
+
+        Map<String, List<Document>> documentsByCase = documentRepository.findByCaseIds(caseIds).stream()
+            .collect(Collectors.groupingBy(d -> d.getOnboardingCase().getCaseId()));
+        Map<String, List<CaseHistory>> historyByCase = caseHistoryRepository.findByCaseIds(caseIds).stream()
+            .collect(Collectors.groupingBy(h -> h.getOnboardingCase().getCaseId()));
+
+        return cases.stream()
+            .map(c -> convertToDTO(c,
+                assigneeNames.get(c.getAssignedTo()),
+                documentsByCase.getOrDefault(c.getCaseId(), List.of()),
+                historyByCase.getOrDefault(c.getCaseId(), List.of())))
+            .collect(Collectors.toList());
+    }
+
+    private CaseDTO convertToDTO(OnboardingCase c, String assignedToName,
+                                 List<Document> documents, List<CaseHistory> history) {
         CaseDTO dto = new CaseDTO();
         dto.setCaseId(c.getCaseId());
+        dto.setVersion(c.getVersion());
         dto.setBusinessName(c.getBusinessName());
         dto.setBusinessType(c.getBusinessType());
         dto.setRegistrationNumber(c.getRegistrationNumber());
@@ -593,39 +1371,68 @@ public class CaseService {
         dto.setDirectorEmail(c.getDirectorEmail());
         dto.setStatus(c.getStatus());
         dto.setRejectedAtStage(c.getRejectedAtStage());
-        dto.setCreatedDate(c.getCreatedDate());
+        dto.setCreatedDate(DateFormats.format(c.getCreatedDate()));
         dto.setAssignedTo(c.getAssignedTo());
-        dto.setAssignedToName(getAssignedUserName(c.getAssignedTo()));
-        dto.setLastUpdated(c.getLastUpdated());
+        dto.setAssignedToName(assignedToName);
+        dto.setLastUpdated(DateFormats.format(c.getLastUpdated()));
 
         // Convert documents
-        if (c.getDocuments() != null) {
-            dto.setDocuments(c.getDocuments().stream()
+        if (documents != null) {
+            dto.setDocuments(documents.stream()
                 .map(d -> {
                     CaseDTO.DocumentDTO docDTO = new CaseDTO.DocumentDTO();
                     docDTO.setId(d.getId());
                     docDTO.setName(d.getName());
                     docDTO.setType(d.getType());
                     docDTO.setUploadedAt(d.getUploadedAt());
+                    docDTO.setSizeBytes(d.getSizeBytes());
+                    docDTO.setContentHash(d.getContentHash());
                     return docDTO;
                 })
                 .collect(Collectors.toList()));
         }
 
         // Convert history
-        if (c.getHistory() != null) {
-            dto.setHistory(c.getHistory().stream()
-                .map(h -> {
-                    CaseDTO.CaseHistoryDTO historyDTO = new CaseDTO.CaseHistoryDTO();
-                    historyDTO.setTime(h.getTime());
-                    historyDTO.setAction(h.getAction());
-                    return historyDTO;
-                })
+        if (history != null) {
+            dto.setHistory(history.stream()
+                .map(this::convertHistoryToDTO)
                 .collect(Collectors.toList()));
+            dto.setHistoryTotal((long) history.size());
         }
         
         return dto;
     }
+
+    private CaseDTO.CaseHistoryDTO convertHistoryToDTO(CaseHistory h) {
+        CaseDTO.CaseHistoryDTO historyDTO = new CaseDTO.CaseHistoryDTO();
+        historyDTO.setTime(DateFormats.format(h.getTime()));
+        historyDTO.setAction(h.getAction());
+        return historyDTO;
+    }
+
+    /**
+     * Insert one history row for an existing case; the case's history collection is never loaded
+     */
+    private void appendHistory(OnboardingCase c, String action) {
+        LocalDateTime now = LocalDateTime.now();
+        caseHistoryRepository.save(new CaseHistory(null, now, action, c));
+        // History is part of the case view: touching the case bumps its version, and with it the ETag
+        c.setLastUpdated(now);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize audit details", e);
+        }
+    }
+
+    private void checkVersion(OnboardingCase c, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(c.getVersion())) {
+            throw new PreconditionFailedException("Case " + c.getCaseId() + " has changed since it was last read");
+        }
+    }
     
     private OnboardingCase convertToEntity(CaseDTO dto) {
         OnboardingCase c = new OnboardingCase();
@@ -640,12 +1447,117 @@ public class CaseService {
         c.setDirectorPhone(dto.getDirectorPhone());
         c.setDirectorEmail(dto.getDirectorEmail());
         c.setAssignedTo(dto.getAssignedTo());
-        c.setStatus(dto.getStatus() != null ? dto.getStatus() : "Pending Review");
-        c.setCreatedDate(dto.getCreatedDate() != null ? dto.getCreatedDate() : LocalDateTime.now().format(DATE_FORMATTER));
+        c.setStatus(dto.getStatus() != null ? dto.getStatus() : CaseStatus.PENDING_REVIEW.getLabel());
+        c.setCreatedDate(dto.getCreatedDate() != null ? DateFormats.parseDate(dto.getCreatedDate()) : LocalDate.now());
 
         return c;
     }
 
+    /**
+     * Load all cases of a bulk update in one query, keyed by case ID
+     */
+    private Map<String, OnboardingCase> loadForBulkUpdate(List<String> caseIds) {
+        if (caseIds == null || caseIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one case id is required");
+        }
+        if (caseIds.size() > maxBulkItems) {
+            throw new IllegalArgumentException("At most " + maxBulkItems + " cases can be updated per request");
+        }
+        Set<String> ids = caseIds.stream()
+            .filter(id -> id != null && !id.isEmpty())
+            .collect(Collectors.toSet());
+        Map<String, OnboardingCase> found = new HashMap<>();
+        for (OnboardingCase c : caseRepository.findAllById(ids)) {
+            found.put(c.getCaseId(), c);
+        }
+        return found;
+    }
+
+    /**
+     * Presence and uniqueness check for one case ID of a bulk update; null when the case can be updated
+     */
+    private String checkBulkCaseId(String caseId, Map<String, OnboardingCase> found, Set<String> seenIds) {
+        if (caseId == null || caseId.isEmpty()) {
+            return "Case id is required";
+        }
+        if (!seenIds.add(caseId)) {
+            return "Duplicate case id in request: " + caseId;
+        }
+        if (!found.containsKey(caseId)) {
+            return "Case not found with id: " + caseId;
+        }
+        return null;
+    }
+
+    private Map<String, Long> countByAssignee(List<OnboardingCase> cases) {
+        return cases.stream()
+            .filter(c -> c.getAssignedTo() != null && !c.getAssignedTo().isEmpty())
+            .collect(Collectors.groupingBy(OnboardingCase::getAssignedTo, Collectors.counting()));
+    }
+
+    /**
+     * One audit entry per bulk request instead of one per case
+     */
+    private void auditBulkOperation(String action, BulkOperationResultDTO result, String details) {
+        String userEmail = getCurrentUserEmail();
+        auditService.logAction(action, "Case", null, userEmail, userEmail,
+            result.getFailed() == 0 ? "SUCCESS" : "PARTIAL", details);
+    }
+
+    /**
+     * Bean validation plus status and ID checks for one bulk item; null when the item is valid
+     */
+    private String validateForBulkCreate(CaseDTO dto, Set<String> existingIds, Set<String> seenIds) {
+        if (dto == null) {
+            return "Case is required";
+        }
+        Set<ConstraintViolation<CaseDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        }
+        try {
+            if (dto.getStatus() != null) {
+                CaseStatus.fromValue(dto.getStatus());
+            }
+            if (dto.getCreatedDate() != null) {
+                DateFormats.parseDate(dto.getCreatedDate());
+            }
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        String caseId = dto.getCaseId();
+        if (caseId != null && !caseId.isEmpty()) {
+            if (existingIds.contains(caseId)) {
+                return "Case already exists with id: " + caseId;
+            }
+            if (!seenIds.add(caseId)) {
+                return "Duplicate case id in request: " + caseId;
+            }
+        }
+        return null;
+    }
+
+    private CaseWorkflow.Actor currentActor() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return caseWorkflow.actor(auth != null ? auth.getAuthorities() : null, this::getCurrentUserId);
+    }
+
+    private String getCurrentUserId() {
+        String email = getCurrentUserEmail();
+        if (email == null) {
+            return null;
+        }
+        return userRepository.findByEmail(email).map(User::getId).orElse(null);
+    }
+
+    private String getCurrentUserEmail() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : null;
+    }
+
     /**
      * Get the current logged-in user's name from the security context
      */
@@ -0,0 +1,288 @@
+package com.merchantonboarding.service;
+
+import static com.merchantonboarding.model.CaseStatus.DRAFT;
+import static com.merchantonboarding.model.CaseStatus.PENDING_REVIEW;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.merchantonboarding.model.CaseStatus;
+import com.merchantonboarding.model.OnboardingCase;
+
+/**
+ * Onboarding case state machine.
+ * The rules live in one immutable table keyed by (from, to), each row naming the authorities allowed to
+ * make the move and the guards that must hold. The table is compiled once into arrays indexed by status
+ * ordinal, with authorities reduced to bit masks, so a check is a couple of array reads per case.
+ * Each entry point names the guards it enforces: a status set while editing a case needs the documents,
+ * the status endpoints leave decisions to the assignee.
+ */
+@Component
+public class CaseWorkflow {
+
+    private static final String ADMIN = "ALL_MODULES";
+    private static final String OFFICER = "CASE_CREATION";
+
+    /**
+     * Conditions on the case or the caller, checked after authorities
+     */
+    public enum Guard {
+        DOCUMENTS_UPLOADED,
+        ASSIGNED_TO_CALLER
+    }
+
+    /**
+     * One row of the transition table
+     */
+    public record Transition(CaseStatus from, CaseStatus to, Set<String> authorities, Set<Guard> guards) {
+    }
+
+    // Guards enforced by a status change made while editing the case (PUT)
+    public static final Set<Guard> EDIT_GUARDS = Set.of(Guard.DOCUMENTS_UPLOADED);
+
+    // Guards enforced by the status endpoints, single and bulk
+    public static final Set<Guard> STATUS_GUARDS = Set.of(Guard.ASSIGNED_TO_CALLER);
+
+    // Any open status may move to any status, back or unchanged included, with no authority beyond reaching
+    // the endpoint; final statuses have no outgoing moves
+    static final List<Transition> TRANSITIONS = openTransitions();
+
+    // Who may edit case details in each status; statuses not listed are open to anyone who can reach the endpoint
+    static final Map<CaseStatus, Set<String>> EDIT_AUTHORITIES = Map.of(
+        DRAFT, Set.of(OFFICER, ADMIN),
+        PENDING_REVIEW, Set.of(OFFICER, ADMIN)
+    );
+
+    static final Set<CaseStatus> DELETABLE = EnumSet.of(DRAFT, PENDING_REVIEW);
+
+    private static final CaseStatus[] STATUSES = CaseStatus.values();
+
+    private final Map<String, Long> authorityBits = new HashMap<>();
+    private final Rule[][] rules = new Rule[STATUSES.length][STATUSES.length];
+    // Moves out of a status that maps to no CaseStatus, open like any status that is not final
+    private final Rule[] unknownStatusRules = new Rule[STATUSES.length];
+    private final long[] editMasks = new long[STATUSES.length];
+    private final boolean[] deletable = new boolean[STATUSES.length];
+    private final boolean[] documentsGuarded = new boolean[STATUSES.length];
+
+    public CaseWorkflow() {
+        for (Transition t : TRANSITIONS) {
+            if (t.from().isFinal()) {
+                throw new IllegalStateException("Final status " + t.from() + " cannot have outgoing transitions");
+            }
+            rules[t.from().ordinal()][t.to().ordinal()] = new Rule(mask(t.authorities()),
+                t.guards().contains(Guard.DOCUMENTS_UPLOADED), t.guards().contains(Guard.ASSIGNED_TO_CALLER));
+            documentsGuarded[t.to().ordinal()] |= t.guards().contains(Guard.DOCUMENTS_UPLOADED);
+        }
+        for (CaseStatus to : STATUSES) {
+            unknownStatusRules[to.ordinal()] = new Rule(0, false, guards(null, to).contains(Guard.ASSIGNED_TO_CALLER));
+        }
+        EDIT_AUTHORITIES.forEach((status, authorities) -> editMasks[status.ordinal()] = mask(authorities));
+        DELETABLE.forEach(status -> deletable[status.ordinal()] = true);
+    }
+
+    /**
+     * Capture the caller once per request; the user id is only looked up if a guard needs it
+     */
+    public Actor actor(Collection<? extends GrantedAuthority> authorities, Supplier<String> userId) {
+        long bits = 0;
+        if (authorities != null) {
+            for (GrantedAuthority authority : authorities) {
+                bits |= authorityBits.getOrDefault(authority.getAuthority(), 0L);
+            }
+        }
+        return new Actor(bits, userId);
+    }
+
+    /**
+     * Whether some move into this status is guarded by uploaded documents under the given guards, i.e. whether
+     * a batch moving cases there should load their document presence up front
+     */
+    public boolean requiresDocuments(CaseStatus to, Set<Guard> enforced) {
+        return enforced.contains(Guard.DOCUMENTS_UPLOADED) && documentsGuarded[to.ordinal()];
+    }
+
+    /**
+     * Why the move is not allowed, or null if it is. The documents guard loads the case's documents.
+     */
+    public Denial check(OnboardingCase c, CaseStatus to, Actor actor, Set<Guard> enforced) {
+        return check(c, to, actor, enforced, CaseWorkflow::hasDocuments);
+    }
+
+    /**
+     * Why the move is not allowed, or null if it is, with the documents guard answered by the caller
+     * (bulk changes pass presence loaded for the whole batch instead of touching each case's collection)
+     */
+    public Denial check(OnboardingCase c, CaseStatus to, Actor actor, Set<Guard> enforced,
+                        Predicate<OnboardingCase> hasDocuments) {
+        CaseStatus from = c.getStatusCode();
+        if (from != null && from.isFinal()) {
+            return new Denial("Case already has a final decision: " + from.getLabel()
+                + ". No further status changes are allowed.", false);
+        }
+        Rule rule = from != null ? rules[from.ordinal()][to.ordinal()] : unknownStatusRules[to.ordinal()];
+        if (rule == null) {
+            return new Denial("Cannot change case status from '" + from.getLabel() + "' to '" + to.getLabel() + "'", false);
+        }
+        if (rule.authorityMask != 0 && (rule.authorityMask & actor.authorityBits) == 0) {
+            return new Denial("Not permitted to move a case from '" + from.getLabel() + "' to '" + to.getLabel() + "'", true);
+        }
+        if (rule.assignedToCaller && enforced.contains(Guard.ASSIGNED_TO_CALLER)) {
+            String userId = actor.userId();
+            if (userId == null || !userId.equals(c.getAssignedTo())) {
+                return new Denial("Only the assigned reviewer can approve or reject case " + c.getCaseId(), true);
+            }
+        }
+        if (rule.documentsUploaded && enforced.contains(Guard.DOCUMENTS_UPLOADED) && !hasDocuments.test(c)) {
+            return new Denial("Cannot submit case without uploading all required documents", false);
+        }
+        return null;
+    }
+
+    /**
+     * Throw if the move is not allowed: AccessDeniedException (403) for who is asking,
+     * IllegalStateException (400) for the state of the case
+     */
+    public void checkTransition(OnboardingCase c, CaseStatus to, Actor actor, Set<Guard> enforced) {
+        raise(check(c, to, actor, enforced));
+    }
+
+    /**
+     * Every status this caller could move the case to right now through the status endpoints
+     */
+    public List<CaseStatus> allowedTransitions(OnboardingCase c, Actor actor) {
+        List<CaseStatus> allowed = new ArrayList<>();
+        for (CaseStatus to : STATUSES) {
+            if (check(c, to, actor, STATUS_GUARDS) == null) {
+                allowed.add(to);
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Throw unless the caller may edit the case's details in its current status
+     */
+    public void checkEditable(OnboardingCase c, Actor actor) {
+        CaseStatus status = c.getStatusCode();
+        if (status == null) {
+            return;
+        }
+        if (status.isFinal()) {
+            throw new IllegalStateException("Cases with status '" + status.getLabel() + "' cannot be edited");
+        }
+        long required = editMasks[status.ordinal()];
+        if (required != 0 && (required & actor.authorityBits) == 0) {
+            throw new IllegalStateException(status == DRAFT
+                ? "Only onboarding officers and admins can edit Draft cases"
+                : "Only onboarding officers and admins can edit cases in " + status.getLabel());
+        }
+    }
+
+    /**
+     * Throw unless the case may still be deleted
+     */
+    public void checkDeletable(OnboardingCase c) {
+        CaseStatus status = c.getStatusCode();
+        if (status == null || !deletable[status.ordinal()]) {
+            throw new IllegalStateException("Cannot delete a case with status: " + c.getStatus());
+        }
+    }
+
+    private static List<Transition> openTransitions() {
+        List<Transition> transitions = new ArrayList<>();
+        for (CaseStatus from : CaseStatus.values()) {
+            if (from.isFinal()) {
+                continue;
+            }
+            for (CaseStatus to : CaseStatus.values()) {
+                transitions.add(new Transition(from, to, Set.of(), guards(from, to)));
+            }
+        }
+        return List.copyOf(transitions);
+    }
+
+    // Submitting a draft needs its documents; approve/reject is for the case's assignee
+    private static Set<Guard> guards(CaseStatus from, CaseStatus to) {
+        Set<Guard> guards = EnumSet.noneOf(Guard.class);
+        if (from == DRAFT && to == PENDING_REVIEW) {
+            guards.add(Guard.DOCUMENTS_UPLOADED);
+        }
+        if (to.isFinal()) {
+            guards.add(Guard.ASSIGNED_TO_CALLER);
+        }
+        return guards;
+    }
+
+    private static boolean hasDocuments(OnboardingCase c) {
+        return c.getDocuments() != null && !c.getDocuments().isEmpty();
+    }
+
+    private void raise(Denial denial) {
+        if (denial == null) {
+            return;
+        }
+        if (denial.forbidden()) {
+            throw new AccessDeniedException(denial.reason());
+        }
+        throw new IllegalStateException(denial.reason());
+    }
+
+    private long mask(Set<String> authorities) {
+        long bits = 0;
+        for (String authority : authorities) {
+            Long bit = authorityBits.get(authority);
+            if (bit == null) {
+                if (authorityBits.size() == Long.SIZE) {
+                    throw new IllegalStateException("Too many distinct workflow authorities");
+                }
+                bit = 1L << authorityBits.size();
+                authorityBits.put(authority, bit);
+            }
+            bits |= bit;
+        }
+        return bits;
+    }
+
+    /**
+     * A refused move; forbidden means the caller, rather than the case, is the problem
+     */
+    public record Denial(String reason, boolean forbidden) {
+    }
+
+    /**
+     * The caller as the workflow sees it: authority bits plus a lazily resolved user id
+     */
+    public static final class Actor {
+        private final long authorityBits;
+        private Supplier<String> userIdLookup;
+        private String userId;
+
+        private Actor(long authorityBits, Supplier<String> userIdLookup) {
+            this.authorityBits = authorityBits;
+            this.userIdLookup = userIdLookup;
+        }
+
+        String userId() {
+            if (userIdLookup != null) {
+                userId = userIdLookup.get();
+                userIdLookup = null;
+            }
+            return userId;
+        }
+    }
+
+    private record Rule(long authorityMask, boolean documentsUploaded, boolean assignedToCaller) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.merchantonboarding.service;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.merchantonboarding.model.BusinessType;
+import com.merchantonboarding.model.MerchantCategory;
+import com.merchantonboarding.model.Permission;
+import com.merchantonboarding.model.Role;
+import com.merchantonboarding.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Explicit second-level cache eviction for the read-mostly reference data.
+ * Hibernate keeps cached entities current for writes made through the session; this covers what it
+ * cannot see (join-table rows removed by the database, cached collections pointing at deleted rows)
+ * by dropping the affected regions once the surrounding transaction commits.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private static final String ROLE_PERMISSIONS = Role.class.getName() + ".permissions";
+    private static final String USER_PERMISSIONS = User.class.getName() + ".customPermissions";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Drop one user, their custom permissions and cached user lookups (findByEmail, findUsersByRole)
+     */
+    public void evictUser(String userId) {
+        afterCommit(cache -> {
+            cache.evictEntityData(User.class, userId);
+            cache.evictCollectionData(USER_PERMISSIONS, userId);
+            cache.evictDefaultQueryRegion();
+        });
+    }
+
+    /**
+     * Drop all roles and permissions along with every collection that references them
+     */
+    public void evictAccessControl() {
+        afterCommit(cache -> {
+            cache.evictEntityData(Role.class);
+            cache.evictEntityData(Permission.class);
+            cache.evictCollectionData(ROLE_PERMISSIONS);
+            cache.evictCollectionData(USER_PERMISSIONS);
+            cache.evictDefaultQueryRegion();
+        });
+    }
+
+    /**
+     * Drop all business types and merchant categories
+     */
+    public void evictBusinessParams() {
+        afterCommit(cache -> {
+            cache.evictEntityData(BusinessType.class);
+            cache.evictEntityData(MerchantCategory.class);
+            cache.evictDefaultQueryRegion();
+        });
+    }
+
+    private void afterCommit(CacheAction action) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run(cache);
+                }
+            });
+        } else {
+            action.run(cache);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CacheAction {
+        void run(Cache cache);
+    }
+}
@@ -25,6 +25,8 @@ import com.lowagie.text.Phrase;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
+import com.merchantonboarding.dto.DateFormats;
+import com.merchantonboarding.model.CaseStatus;
 import com.merchantonboarding.model.OnboardingCase;
 import com.merchantonboarding.model.VerificationResult;
 import com.merchantonboarding.repository.CaseRepository;
@@ -67,8 +69,8 @@ public class ExportService {
                         c.getDirectorEmail(),
                         c.getStatus(),
                         c.getAssignedTo(),
-                        c.getCreatedDate(),
-                        c.getLastUpdated()
+                        DateFormats.format(c.getCreatedDate()),
+                        DateFormats.format(c.getLastUpdated())
                 );
             }
         }
@@ -101,8 +103,8 @@ public class ExportService {
             printer.printRecord("Director Email", c.getDirectorEmail());
             printer.printRecord("Status", c.getStatus());
             printer.printRecord("Assigned To", c.getAssignedTo());
-            printer.printRecord("Created Date", c.getCreatedDate());
-            printer.printRecord("Last Updated", c.getLastUpdated());
+            printer.printRecord("Created Date", DateFormats.format(c.getCreatedDate()));
+            printer.printRecord("Last Updated", DateFormats.format(c.getLastUpdated()));
         }
 
         return writer.toString();
@@ -144,7 +146,7 @@ public class ExportService {
             table.addCell(new Phrase(nvl(c.getBusinessType()), dataFont));
             table.addCell(createStatusCell(c.getStatus()));
             table.addCell(new Phrase(nvl(c.getAssignedTo()), dataFont));
-            table.addCell(new Phrase(nvl(c.getCreatedDate()), dataFont));
+            table.addCell(new Phrase(nvl(DateFormats.format(c.getCreatedDate())), dataFont));
         }
 
         document.add(table);
@@ -197,8 +199,8 @@ public class ExportService {
         addSectionTitle(document, "Case Status");
         addDetailRow(document, "Status", c.getStatus());
         addDetailRow(document, "Assigned To", c.getAssignedTo());
-        addDetailRow(document, "Created Date", c.getCreatedDate());
-        addDetailRow(document, "Last Updated", c.getLastUpdated());
+        addDetailRow(document, "Created Date", DateFormats.format(c.getCreatedDate()));
+        addDetailRow(document, "Last Updated", DateFormats.format(c.getLastUpdated()));
 
         // Verification Results (if available)
         if (verificationResultRepository != null) {
@@ -258,9 +260,9 @@ public class ExportService {
         PdfPCell cell = new PdfPCell(new Phrase(nvl(status), font));
         cell.setPadding(5);
 
-        if ("Approved".equalsIgnoreCase(status)) {
+        if (CaseStatus.APPROVED.getLabel().equals(status)) {
             cell.setBackgroundColor(new Color(212, 237, 218));
-        } else if ("Rejected".equalsIgnoreCase(status)) {
+        } else if (CaseStatus.REJECTED.getLabel().equals(status)) {
             cell.setBackgroundColor(new Color(248, 215, 218));
         } else if (status != null && status.contains("Review")) {
             cell.setBackgroundColor(new Color(204, 229, 255));
@@ -273,8 +275,8 @@ public class ExportService {
         document.add(Chunk.NEWLINE);
         addSectionTitle(document, "Summary");
 
-        long approved = cases.stream().filter(c -> "Approved".equalsIgnoreCase(c.getStatus())).count();
-        long rejected = cases.stream().filter(c -> "Rejected".equalsIgnoreCase(c.getStatus())).count();
+        long approved = cases.stream().filter(c -> c.getStatusCode() == CaseStatus.APPROVED).count();
+        long rejected = cases.stream().filter(c -> c.getStatusCode() == CaseStatus.REJECTED).count();
         long pending = cases.size() - approved - rejected;
 
         addDetailRow(document, "Total Cases", String.valueOf(cases.size()));
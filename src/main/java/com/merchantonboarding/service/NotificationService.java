@@ -1,6 +1,7 @@
 package com.merchantonboarding.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -170,6 +171,25 @@ public class NotificationService {
         }
     }
 
+    // Bulk variant of notifyCaseCreated: one notification per recipient instead of one per case
+    public void notifyCasesCreated(int caseCount, Map<String, Long> caseCountByAssignee) {
+        String title = "New Cases Created";
+
+        caseCountByAssignee.forEach((assignedToId, count) -> notifyUser(assignedToId, title,
+                String.format("%d new case(s) have been created and assigned to you for review.", count),
+                "INFO", "CASE_STATUS", "Case", null, true));
+
+        List<User> admins = userRepository.findUsersByRole("admin");
+        List<String> adminIds = admins.stream()
+                .map(User::getId)
+                .filter(id -> !caseCountByAssignee.containsKey(id))
+                .collect(Collectors.toList());
+        if (!adminIds.isEmpty()) {
+            notifyUsers(adminIds, title, String.format("%d new case(s) have been created and require review.", caseCount),
+                    "INFO", "CASE_STATUS", "Case", null, false);
+        }
+    }
+
     public void notifyCaseStatusChanged(String caseId, String businessName, String oldStatus,
                                          String newStatus, String changedByUserId, String caseOwnerId) {
         String title = "Case Status Updated";
@@ -189,6 +209,21 @@ public class NotificationService {
         notifyUser(assignedToId, title, message, "INFO", "ASSIGNMENT", "Case", caseId, true);
     }
 
+    public void notifyCaseStatusesChanged(String newStatus, Map<String, Long> caseCountByOwner) {
+        String title = "Case Status Updated";
+
+        caseCountByOwner.forEach((ownerId, count) -> notifyUser(ownerId, title,
+                String.format("%d of your case(s) changed status to '%s'.", count, newStatus),
+                "INFO", "CASE_STATUS", "Case", null, true));
+    }
+
+    public void notifyCasesAssigned(String assignedToId, int caseCount) {
+        String title = "Cases Assigned to You";
+        String message = String.format("%d case(s) have been assigned to you for review.", caseCount);
+
+        notifyUser(assignedToId, title, message, "INFO", "ASSIGNMENT", "Case", null, true);
+    }
+
     public void notifyVerificationComplete(String caseId, String businessName, String verificationType,
                                             int confidenceScore, String reviewerId) {
         String title = "Verification Complete";
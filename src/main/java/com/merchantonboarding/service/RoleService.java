@@ -27,6 +27,9 @@ public class RoleService {
     @Autowired
     private PermissionRepository permissionRepository;
 
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
     // ─── Role Methods ───────────────────────────────────────
 
     public List<RoleDTO> getAllRoles() {
@@ -65,6 +68,7 @@ public class RoleService {
         }
 
         Role savedRole = roleRepository.save(role);
+        entityCacheEvictor.evictAccessControl();
         return convertRoleToDTO(savedRole);
     }
 
@@ -87,6 +91,7 @@ public class RoleService {
         }
 
         Role savedRole = roleRepository.save(role);
+        entityCacheEvictor.evictAccessControl();
         return convertRoleToDTO(savedRole);
     }
 
@@ -96,6 +101,7 @@ public class RoleService {
             throw new ResourceNotFoundException("Role not found: " + id);
         }
         roleRepository.deleteById(id);
+        entityCacheEvictor.evictAccessControl();
     }
 
     public boolean userHasPermission(String roleId, String permissionId) {
@@ -139,6 +145,7 @@ public class RoleService {
         permission.setActive(permissionDTO.isActive());
 
         Permission savedPermission = permissionRepository.save(permission);
+        entityCacheEvictor.evictAccessControl();
         return convertPermissionToDTO(savedPermission);
     }
 
@@ -153,6 +160,7 @@ public class RoleService {
         permission.setActive(permissionDTO.isActive());
 
         Permission savedPermission = permissionRepository.save(permission);
+        entityCacheEvictor.evictAccessControl();
         return convertPermissionToDTO(savedPermission);
     }
 
@@ -162,6 +170,7 @@ public class RoleService {
             throw new ResourceNotFoundException("Permission not found: " + id);
         }
         permissionRepository.deleteById(id);
+        entityCacheEvictor.evictAccessControl();
     }
 
     // ─── Conversion Methods ───────────────────────────────────────
@@ -0,0 +1,374 @@
+package com.merchantonboarding.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.merchantonboarding.dto.CaseDTO;
+import com.merchantonboarding.dto.DateFormats;
+import com.merchantonboarding.dto.UploadSessionDTO;
+import com.merchantonboarding.dto.UploadSessionRequest;
+import com.merchantonboarding.exception.ResourceNotFoundException;
+import com.merchantonboarding.exception.UploadSessionException;
+import com.merchantonboarding.model.UploadSession;
+import com.merchantonboarding.repository.CaseRepository;
+import com.merchantonboarding.repository.UploadSessionRepository;
+import com.merchantonboarding.storage.DocumentStorage;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Resumable uploads for documents too large, or connections too flaky, for one multipart POST.
+ * A client opens a session with the file's name and size, PUTs the bytes in chunks at the offset the
+ * server reports, and completes the session to commit the document. Each chunk carries a SHA-256
+ * (Upload-Checksum: sha256 base64) and is written straight from the request body into the session's
+ * part file; the offset only advances once the chunk matches and is flushed, so after a dropped
+ * connection the client asks for the offset and resends from there. Nothing here holds a database
+ * connection while bytes are moving. Sessions idle for longer than app.upload.session.ttl are purged.
+ * <p>
+ * Part files live in this node's spool, so behind a load balancer a session's chunks and its completion
+ * must reach the node that opened it (client affinity, e.g. a load-balancer cookie), unless every node
+ * mounts the same {app.upload.dir} and app.upload.session.shared-spool is set. A request that reaches
+ * another node is refused with 421 rather than written to a part file that node does not have.
+ */
+@Service
+public class UploadSessionService {
+
+    public static final String OFFSET_HEADER = "Upload-Offset";
+    public static final String CHECKSUM_HEADER = "Upload-Checksum";
+
+    private static final Logger log = LoggerFactory.getLogger(UploadSessionService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // 421 Misdirected Request; not in HttpStatus
+    static final HttpStatusCode MISDIRECTED_REQUEST = HttpStatusCode.valueOf(421);
+
+    @Autowired
+    private UploadSessionRepository sessionRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private CaseService caseService;
+
+    @Autowired
+    private DocumentStorage documentStorage;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.upload.session.max-size:524288000}")
+    private long maxSize = 524_288_000L;
+
+    @Value("${app.upload.session.max-chunk-size:16777216}")
+    private long maxChunkSize = 16_777_216L;
+
+    @Value("${app.upload.session.ttl:PT24H}")
+    private Duration ttl = Duration.ofHours(24);
+
+    @Value("${app.upload.session.shared-spool:false}")
+    private boolean sharedSpool;
+
+    // Blank means the host name
+    @Value("${app.upload.session.node:}")
+    private String node = "";
+
+    @PostConstruct
+    void resolveNode() {
+        if (node.isBlank()) {
+            try {
+                node = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                throw new IllegalStateException("Cannot resolve the host name; set app.upload.session.node", e);
+            }
+        }
+    }
+
+    /**
+     * Open a session for one document; no bytes are sent yet
+     */
+    public UploadSessionDTO create(String caseId, UploadSessionRequest request) {
+        CaseService.requireAllowedDocumentType(request.getFileName());
+        if (request.getSize() > maxSize) {
+            throw new UploadSessionException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Documents may be at most " + maxSize + " bytes");
+        }
+        if (!caseRepository.existsById(caseId)) {
+            throw new ResourceNotFoundException("Case not found with id: " + caseId);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), caseId, request.getFileName(),
+            request.getType(), request.getSize(), 0, currentUser(), sharedSpool ? null : node, now, now);
+        return toDTO(sessionRepository.save(session));
+    }
+
+    /**
+     * Where an upload stands, so a client that lost its connection knows where to resume
+     */
+    public UploadSessionDTO get(String caseId, String uploadId) {
+        return toDTO(findSession(caseId, uploadId));
+    }
+
+    /**
+     * Append one chunk at the given offset. The offset must be exactly what the server holds;
+     * bytes left over from a chunk that never completed are dropped first.
+     */
+    public UploadSessionDTO appendChunk(String caseId, String uploadId, long offset, String checksum, InputStream body) {
+        UploadSession session = findSession(caseId, uploadId);
+        requireLocal(session);
+        byte[] expected = parseChecksum(checksum);
+
+        Path part = partFile(uploadId);
+        try {
+            Files.createDirectories(part.getParent());
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = lock(channel)) {
+                // Read again under the lock: a chunk that finished while this one was arriving moved the offset
+                long received = sessionRepository.findById(uploadId)
+                    .map(UploadSession::getReceivedBytes)
+                    .orElseThrow(() -> new ResourceNotFoundException("Upload not found: " + uploadId));
+                if (offset != received) {
+                    throw new UploadSessionException(HttpStatus.CONFLICT, "Upload is at offset " + received);
+                }
+                channel.truncate(received);
+
+                long written = write(body, channel, received, Math.min(maxChunkSize, session.getTotalSize() - received),
+                    expected);
+                channel.force(false);
+                if (sessionRepository.advanceOffset(uploadId, received, received + written, LocalDateTime.now()) == 0) {
+                    channel.truncate(received);
+                    throw new UploadSessionException(HttpStatus.CONFLICT, "Upload was modified concurrently");
+                }
+                session.setReceivedBytes(received + written);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write upload chunk", e);
+        }
+        return toDTO(session);
+    }
+
+    /**
+     * Commit the fully received file as a document of the case. The bytes are stored first; the document
+     * row, the history entry and the end of the session then commit together. sha256 (hex, optional) is
+     * checked against the whole file. If that check or the commit fails, the session is gone and the upload
+     * starts over.
+     */
+    public CaseDTO complete(String caseId, String uploadId, String sha256) {
+        UploadSession session = findSession(caseId, uploadId);
+        requireLocal(session);
+        if (session.getReceivedBytes() != session.getTotalSize()) {
+            throw new UploadSessionException(HttpStatus.CONFLICT, "Upload incomplete: " + session.getReceivedBytes()
+                + " of " + session.getTotalSize() + " bytes received");
+        }
+
+        DocumentStorage.StoredContent content;
+        Path part = partFile(uploadId);
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE);
+             FileLock lock = lock(channel)) {
+            content = documentStorage.storeFile(part);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store upload", e);
+        }
+
+        try {
+            if (sha256 != null && !sha256.isBlank() && !sha256.equalsIgnoreCase(content.hash())) {
+                throw new IllegalArgumentException("Uploaded file does not match the given SHA-256");
+            }
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                if (sessionRepository.deleteIfComplete(uploadId) == 0) {
+                    throw new ResourceNotFoundException("Upload not found: " + uploadId);
+                }
+                return caseService.attachStoredDocument(caseId, session.getFileName(), session.getDocumentType(), content);
+            });
+        } catch (RuntimeException e) {
+            documentStorage.discard(List.of(content));
+            sessionRepository.deleteById(uploadId);
+            throw e;
+        }
+    }
+
+    /**
+     * Abandon an upload and free its space
+     */
+    public void abort(String caseId, String uploadId) {
+        findSession(caseId, uploadId);
+        sessionRepository.deleteById(uploadId);
+        deletePartFile(uploadId);
+    }
+
+    /**
+     * Remove sessions nobody has sent a chunk to within the TTL, with their part files
+     */
+    @Scheduled(fixedDelayString = "${app.upload.session.purge-interval:PT15M}")
+    public void purgeAbandoned() {
+        List<String> idle = sessionRepository.findIdsIdleSince(LocalDateTime.now().minus(ttl));
+        for (String id : idle) {
+            sessionRepository.deleteById(id);
+            deletePartFile(id);
+        }
+        if (!idle.isEmpty()) {
+            log.info("Purged {} abandoned upload session(s)", idle.size());
+        }
+    }
+
+    /**
+     * Copy the request body to the part file at position, hashing as it goes. Stops with 413 past limit
+     * and rejects a checksum mismatch; either way the bytes written are truncated away again.
+     */
+    private long write(InputStream body, FileChannel channel, long position, long limit, byte[] expected)
+            throws IOException {
+        MessageDigest digest = sha256();
+        ReadableByteChannel in = Channels.newChannel(body);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long written = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            written += read;
+            if (written > limit) {
+                channel.truncate(position);
+                throw new UploadSessionException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Chunk runs past the declared size or the " + maxChunkSize + " byte chunk limit");
+            }
+            buffer.flip();
+            digest.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + written - buffer.remaining());
+            }
+            buffer.clear();
+        }
+        if (!MessageDigest.isEqual(digest.digest(), expected)) {
+            channel.truncate(position);
+            throw new IllegalArgumentException("Chunk checksum mismatch; resend from offset " + position);
+        }
+        return written;
+    }
+
+    private static FileLock lock(FileChannel channel) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new UploadSessionException(HttpStatus.CONFLICT, "Another chunk of this upload is being written");
+        }
+        return lock;
+    }
+
+    /**
+     * Decode "sha256 <base64 digest>"
+     */
+    private static byte[] parseChecksum(String checksum) {
+        if (checksum == null || checksum.isBlank()) {
+            throw new IllegalArgumentException(CHECKSUM_HEADER + " header is required");
+        }
+        String[] parts = checksum.trim().split("\\s+", 2);
+        if (parts.length != 2 || !parts[0].equalsIgnoreCase("sha256")) {
+            throw new IllegalArgumentException(CHECKSUM_HEADER + " must be 'sha256 <base64 digest>'");
+        }
+        byte[] digest;
+        try {
+            digest = Base64.getDecoder().decode(parts[1]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(CHECKSUM_HEADER + " digest is not valid base64");
+        }
+        if (digest.length != 32) {
+            throw new IllegalArgumentException(CHECKSUM_HEADER + " digest must be 32 bytes");
+        }
+        return digest;
+    }
+
+    private UploadSession findSession(String caseId, String uploadId) {
+        UploadSession session = sessionRepository.findByIdAndCaseId(uploadId, caseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Upload not found: " + uploadId));
+        // Sessions are private to whoever opened them
+        if (session.getCreatedBy() != null && !session.getCreatedBy().equals(currentUser())) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        }
+        return session;
+    }
+
+    /**
+     * Refuse a session whose part file is on another node's spool
+     */
+    private void requireLocal(UploadSession session) {
+        if (!sharedSpool && session.getNode() != null && !session.getNode().equals(node)) {
+            throw new UploadSessionException(MISDIRECTED_REQUEST,
+                "Upload " + session.getId() + " is held by node " + session.getNode() + "; route its requests there");
+        }
+    }
+
+    private Path partFile(String uploadId) {
+        return documentStorage.spoolDir().resolve("sessions").resolve(uploadId + ".part");
+    }
+
+    private void deletePartFile(String uploadId) {
+        try {
+            Files.deleteIfExists(partFile(uploadId));
+        } catch (IOException e) {
+            // Best-effort; a leftover part file only costs disk space
+            log.warn("Could not delete part file of upload {}: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private UploadSessionDTO toDTO(UploadSession session) {
+        UploadSessionDTO dto = new UploadSessionDTO();
+        dto.setUploadId(session.getId());
+        dto.setCaseId(session.getCaseId());
+        dto.setFileName(session.getFileName());
+        dto.setType(session.getDocumentType());
+        dto.setSize(session.getTotalSize());
+        dto.setOffset(session.getReceivedBytes());
+        dto.setMaxChunkSize(maxChunkSize);
+        dto.setExpiresAt(DateFormats.format(session.getUpdatedAt().plus(ttl)));
+        return dto;
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
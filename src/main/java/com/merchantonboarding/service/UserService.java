@@ -45,6 +45,9 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     private static final Pattern EMAIL_DOMAIN_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@bank\\.com$");
 
@@ -138,6 +141,7 @@ public class UserService implements UserDetailsService {
         }
 
         User savedUser = userRepository.save(user);
+        entityCacheEvictor.evictUser(savedUser.getId());
         return convertToDTO(savedUser);
     }
 
@@ -192,6 +196,7 @@ public class UserService implements UserDetailsService {
         }
 
         User updatedUser = userRepository.save(existingUser);
+        entityCacheEvictor.evictUser(id);
         return convertToDTO(updatedUser);
     }
 
@@ -201,6 +206,7 @@ public class UserService implements UserDetailsService {
             throw new ResourceNotFoundException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        entityCacheEvictor.evictUser(id);
     }
 
     public List<UserDTO> getUsersByRole(String roleId) {
@@ -244,6 +250,7 @@ public class UserService implements UserDetailsService {
         }
 
         User updatedUser = userRepository.save(user);
+        entityCacheEvictor.evictUser(id);
         return convertToDTO(updatedUser);
     }
 
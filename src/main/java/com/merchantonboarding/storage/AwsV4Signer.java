@@ -0,0 +1,107 @@
+package com.merchantonboarding.storage;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * AWS Signature Version 4 for S3 requests without a query string, signing the host, the
+ * x-amz-* headers and any extra headers given (such as Range)
+ */
+final class AwsV4Signer {
+
+    static final String EMPTY_PAYLOAD_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+
+    AwsV4Signer(String accessKey, String secretKey, String region) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+    }
+
+    /**
+     * The headers to send with the request: x-amz-date, x-amz-content-sha256, Authorization,
+     * plus the extra headers that were signed
+     */
+    Map<String, String> sign(String method, URI uri, Map<String, String> extraHeaders, String payloadSha256, Instant now) {
+        String amzDate = AMZ_DATE.format(now);
+        String date = amzDate.substring(0, 8);
+
+        Map<String, String> signed = new TreeMap<>();
+        extraHeaders.forEach((name, value) -> signed.put(name.toLowerCase(), value.trim()));
+        signed.put("host", hostHeader(uri));
+        signed.put("x-amz-content-sha256", payloadSha256);
+        signed.put("x-amz-date", amzDate);
+
+        StringBuilder canonicalHeaders = new StringBuilder();
+        signed.forEach((name, value) -> canonicalHeaders.append(name).append(':').append(value).append('\n'));
+        String signedHeaders = String.join(";", signed.keySet());
+        String canonicalRequest = method + "\n"
+                + (uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath()) + "\n"
+                + "\n"
+                + canonicalHeaders + "\n"
+                + signedHeaders + "\n"
+                + payloadSha256;
+
+        String scope = date + "/" + region + "/s3/aws4_request";
+        String stringToSign = "AWS4-HMAC-SHA256\n" + amzDate + "\n" + scope + "\n" + HEX.formatHex(sha256(canonicalRequest));
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        key = hmac(key, region);
+        key = hmac(key, "s3");
+        key = hmac(key, "aws4_request");
+        String signature = HEX.formatHex(hmac(key, stringToSign));
+
+        Map<String, String> headers = new LinkedHashMap<>(extraHeaders);
+        headers.put("x-amz-content-sha256", payloadSha256);
+        headers.put("x-amz-date", amzDate);
+        headers.put("Authorization", "AWS4-HMAC-SHA256 Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature);
+        return headers;
+    }
+
+    /**
+     * Host header as the HTTP client will send it: the port only when it is not the scheme's default
+     */
+    private static String hostHeader(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1
+                || ("https".equals(uri.getScheme()) && port == 443)
+                || ("http".equals(uri.getScheme()) && port == 80);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
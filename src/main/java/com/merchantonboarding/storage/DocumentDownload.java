@@ -0,0 +1,23 @@
+package com.merchantonboarding.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Everything needed to serve a stored document without touching the database again:
+ * where the bytes are, what they are, and the validators for conditional and range requests.
+ * path is set when the bytes are a file on this node; otherwise they are read through content.
+ * crc32 is the stored CRC-32 of the bytes, or null when it is not known.
+ */
+public record DocumentDownload(Path path, String name, String contentType, long size, String etag, long lastModified,
+                               Long crc32, Content content) {
+
+    /**
+     * Opens bytes start..end inclusive of the document
+     */
+    @FunctionalInterface
+    public interface Content {
+        InputStream open(long start, long end) throws IOException;
+    }
+}
@@ -0,0 +1,386 @@
+package com.merchantonboarding.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.merchantonboarding.model.Document;
+import com.merchantonboarding.repository.DocumentContentRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Content-addressed document storage.
+ * Uploads are streamed once through a SHA-256 digest and a CRC-32 into a spool file under {app.upload.dir}/tmp and
+ * then handed to the DocumentStore under their hash; identical files share one copy. document_contents
+ * counts the references to each copy. A store takes its reference before looking for the object, and the
+ * object is only deleted under a lock on its row once no references are left, so an upload reusing the
+ * bytes either waits for the delete and writes them again or keeps the object alive.
+ * Multi-file uploads are written in parallel on a small fixed pool (app.upload.parallelism).
+ */
+@Component
+public class DocumentStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentStorage.class);
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Autowired
+    private DocumentContentRepository contentRepository;
+
+    @Autowired
+    private DocumentStore store;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir = "uploads";
+
+    @Value("${app.upload.parallelism:4}")
+    private int parallelism = 4;
+
+    private ExecutorService writers;
+
+    /**
+     * Hash and size of stored bytes, and where they live. Holds one reference to the content,
+     * which a document takes over or discard gives back.
+     */
+    public record StoredContent(String hash, long size, String location) {
+    }
+
+    @PostConstruct
+    void startWriters() {
+        AtomicInteger count = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "document-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopWriters() {
+        writers.shutdown();
+    }
+
+    /**
+     * Write the stream to storage in a single pass, hashing as it goes. The reference it takes is
+     * committed at once; save a document pointing at the content or discard it.
+     */
+    public StoredContent store(InputStream in) {
+        Path spool = spoolDir();
+        Path temp = null;
+        try {
+            Files.createDirectories(spool);
+            temp = Files.createTempFile(spool, "upload-", ".tmp");
+            MessageDigest digest = sha256();
+            CRC32 crc = new CRC32();
+            long size;
+            try (InputStream source = in;
+                 OutputStream out = new CheckedOutputStream(new DigestOutputStream(Files.newOutputStream(temp), digest), crc)) {
+                size = source.transferTo(out);
+            }
+            return put(HEX.formatHex(digest.digest()), size, crc.getValue(), temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store document", e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Store a file already assembled on local disk (a completed resumable upload), hashing it in one
+     * read. The file is consumed: the local store renames it into place, and whatever is left is deleted.
+     */
+    public StoredContent storeFile(Path file) {
+        try {
+            MessageDigest digest = sha256();
+            CRC32 crc = new CRC32();
+            long size;
+            try (InputStream in = new CheckedInputStream(new DigestInputStream(Files.newInputStream(file), digest), crc)) {
+                size = in.transferTo(OutputStream.nullOutputStream());
+            }
+            return put(HEX.formatHex(digest.digest()), size, crc.getValue(), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store document", e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Store several uploads at once on the writer pool. Results are in source order. If any write
+     * fails or the caller is interrupted, the references the others took are given back once they
+     * have finished, and the first failure is rethrown.
+     */
+    public List<StoredContent> storeAll(List<? extends InputStreamSource> sources) {
+        // Set on interrupt so writes that have not started yet are skipped
+        AtomicBoolean abandoned = new AtomicBoolean();
+        List<Future<StoredContent>> pending = new ArrayList<>(sources.size());
+        for (InputStreamSource source : sources) {
+            pending.add(writers.submit(() -> abandoned.get() ? null : store(source.getInputStream())));
+        }
+        List<StoredContent> stored = new ArrayList<>(sources.size());
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        for (Future<StoredContent> future : pending) {
+            // Every write that ran holds a reference, so wait for all of them even when interrupted
+            while (true) {
+                try {
+                    StoredContent content = future.get();
+                    if (content != null) {
+                        stored.add(content);
+                    }
+                    break;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException runtime
+                            ? runtime
+                            : new UncheckedIOException("Failed to store document", asIOException(e.getCause()));
+                    }
+                    break;
+                } catch (InterruptedException e) {
+                    // Writes not yet started are skipped; running ones finish and are discarded below
+                    interrupted = true;
+                    abandoned.set(true);
+                    if (failure == null) {
+                        failure = new IllegalStateException("Interrupted while storing documents");
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            discard(stored);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return stored;
+    }
+
+    /**
+     * Undo uploads that will not be committed: give back their references, deleting bytes nothing
+     * else refers to
+     */
+    public void discard(List<StoredContent> stored) {
+        for (StoredContent content : stored) {
+            dropReference(content.hash());
+        }
+    }
+
+    /**
+     * The document no longer points at its content; the file goes once nothing else does.
+     * Files from before content addressing belong to a single document and are deleted directly.
+     */
+    public void release(Document document) {
+        if (document.getContentHash() == null) {
+            if (document.getFilePath() != null) {
+                Path path = Paths.get(document.getFilePath());
+                afterCommit(() -> deleteQuietly(path));
+            }
+            return;
+        }
+        String hash = document.getContentHash();
+        contentRepository.removeReference(hash);
+        afterCommit(() -> deleteIfUnreferenced(hash));
+    }
+
+    /**
+     * Recorded CRC-32 by content hash; content stored before CRCs were kept is absent
+     */
+    public Map<String, Long> crc32s(Collection<String> hashes) {
+        Map<String, Long> crcs = new HashMap<>();
+        if (!hashes.isEmpty()) {
+            for (Object[] row : contentRepository.findCrc32s(hashes)) {
+                crcs.put((String) row[0], (Long) row[1]);
+            }
+        }
+        return crcs;
+    }
+
+    /**
+     * Size and modification time of a document's bytes, or null if they are missing
+     */
+    public DocumentStore.ObjectInfo stat(Document document) throws IOException {
+        if (document.getContentHash() != null) {
+            return store.stat(document.getContentHash());
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(Paths.get(document.getFilePath()), BasicFileAttributes.class);
+            return new DocumentStore.ObjectInfo(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A document's bytes as a file on this node, or null when the store is remote
+     */
+    public Path localPath(Document document) {
+        return document.getContentHash() != null
+            ? store.localPath(document.getContentHash())
+            : Paths.get(document.getFilePath());
+    }
+
+    /**
+     * Stream a document's bytes, or bytes start..end inclusive of them
+     */
+    public InputStream open(Document document, long start, long end) throws IOException {
+        if (document.getContentHash() != null) {
+            return store.open(document.getContentHash(), start, end);
+        }
+        FileChannel channel = FileChannel.open(Paths.get(document.getFilePath()), StandardOpenOption.READ);
+        channel.position(start);
+        return new BoundedInputStream(Channels.newInputStream(channel), end - start + 1);
+    }
+
+    /**
+     * Stream stored content by hash
+     */
+    public InputStream open(String hash) throws IOException {
+        return store.open(hash);
+    }
+
+    /**
+     * Stored content by hash as a local file, or null when the store is remote
+     */
+    public Path localPath(String hash) {
+        return store.localPath(hash);
+    }
+
+    /**
+     * Scratch space for uploads before they are stored; resumable upload sessions keep their part files here too
+     */
+    public Path spoolDir() {
+        return Paths.get(uploadDir, "tmp");
+    }
+
+    private StoredContent put(String hash, long size, long crc32, Path source) throws IOException {
+        // Referenced before the existence check, so the object cannot be deleted between the two
+        newTransaction().executeWithoutResult(status ->
+            contentRepository.addReference(hash, size, crc32, LocalDateTime.now()));
+        try {
+            store.put(hash, source, hash);
+        } catch (IOException | RuntimeException e) {
+            dropReference(hash);
+            throw e;
+        }
+        return new StoredContent(hash, size, store.location(hash));
+    }
+
+    private void dropReference(String hash) {
+        newTransaction().executeWithoutResult(status -> contentRepository.removeReference(hash));
+        deleteIfUnreferenced(hash);
+    }
+
+    /**
+     * Delete the bytes and their row if nothing refers to them. The row stays locked while the object
+     * goes, so a concurrent store waits and then writes the bytes again rather than reusing a dying object.
+     */
+    private void deleteIfUnreferenced(String hash) {
+        newTransaction().executeWithoutResult(status -> contentRepository.findByHashForUpdate(hash)
+            .filter(content -> content.getRefCount() <= 0)
+            .ifPresent(content -> {
+                deleteObject(hash);
+                contentRepository.deleteIfUnreferenced(hash);
+            }));
+    }
+
+    private TransactionTemplate newTransaction() {
+        // Also used from afterCommit, where the finished transaction is still bound to the thread
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return tx;
+    }
+
+    private void deleteObject(String hash) {
+        try {
+            store.delete(hash);
+        } catch (IOException e) {
+            // Best-effort; a leftover object only costs space
+            log.warn("Could not delete stored content {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Best-effort; a leftover file only costs disk space
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        return cause instanceof IOException io ? io : new IOException(cause);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.merchantonboarding.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Where document bytes live. Keys are content hashes, so an object never changes once written.
+ * Selected by app.storage.type: local (default) or s3. All reads and writes are streamed.
+ */
+public interface DocumentStore {
+
+    /**
+     * Store a fully written local file under the key. Returns false, writing nothing, if the key
+     * already exists. sha256 is the hex digest of the file, for backends that verify uploads.
+     * The source file may be moved; the caller deletes whatever is left of it.
+     */
+    boolean put(String key, Path source, String sha256) throws IOException;
+
+    /**
+     * Stream the whole object; NoSuchFileException if it does not exist
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Stream bytes start..end inclusive of the object
+     */
+    InputStream open(String key, long start, long end) throws IOException;
+
+    /**
+     * Size and modification time, or null if the object does not exist
+     */
+    ObjectInfo stat(String key) throws IOException;
+
+    /**
+     * Remove the object; no error if it is already gone
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * The object as a file on this node, for zero-copy sends, or null if the store is remote
+     */
+    Path localPath(String key);
+
+    /**
+     * Human-readable location recorded on the document (file path or s3:// URI)
+     */
+    String location(String key);
+
+    record ObjectInfo(long size, long lastModified) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.merchantonboarding.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Documents on this node's disk under {app.upload.dir}/objects/ab/cd/{key}.
+ * Two levels of fan-out on the hash keep every directory to a few hundred entries at most,
+ * and objects arrive by an atomic rename from the upload spool on the same volume.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalDocumentStore implements DocumentStore {
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir = "uploads";
+
+    @Override
+    public boolean put(String key, Path source, String sha256) throws IOException {
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            // Reused bytes count as fresh, so the orphan collector's grace period starts over
+            touch(target);
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // Another upload of the same bytes got there first
+            return false;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public InputStream open(String key, long start, long end) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ);
+        channel.position(start);
+        return new BoundedInputStream(Channels.newInputStream(channel), end - start + 1);
+    }
+
+    @Override
+    public ObjectInfo stat(String key) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolve(key), BasicFileAttributes.class);
+            return new ObjectInfo(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Path localPath(String key) {
+        return resolve(key);
+    }
+
+    @Override
+    public String location(String key) {
+        return resolve(key).toString();
+    }
+
+    private static void touch(Path target) {
+        try {
+            Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Only the grace period is affected; the upload itself is fine
+        }
+    }
+
+    Path resolve(String key) {
+        return Paths.get(uploadDir, "objects", key.substring(0, 2), key.substring(2, 4), key);
+    }
+}
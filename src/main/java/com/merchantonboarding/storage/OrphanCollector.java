@@ -0,0 +1,567 @@
+package com.merchantonboarding.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.merchantonboarding.model.UploadSession;
+import com.merchantonboarding.repository.DocumentContentRepository;
+import com.merchantonboarding.repository.DocumentRepository;
+import com.merchantonboarding.repository.UploadSessionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Background reconciler for files under {app.upload.dir} that no document points at any more:
+ * content objects whose last reference went while a delete failed, files of pre-content-addressing
+ * uploads in per-case directories, and spool files left by crashed uploads or sessions.
+ * <p>
+ * The tree is split into slices (each objects/xx shard, each legacy case directory, and tmp), walked
+ * in name order a few at a time with a checkpoint in {app.upload.dir}/.gc-checkpoint, so a run touches
+ * at most app.gc.files-per-run files and a restart carries on where the last run stopped. Files younger
+ * than the grace period are left alone. Unreferenced files are checked in batches against the documents
+ * table, and content objects also against document_contents, whose ref_count an upload raises before it
+ * looks for the object it reuses. Orphans are moved to {app.upload.dir}/quarantine and checked again
+ * after the move; a file referenced or reused meanwhile goes straight back. Legacy files are matched on
+ * their {caseId}/{name} suffix, so a change in how app.upload.dir is spelled does not orphan them.
+ * Quarantined files are only deleted once they have sat there for app.gc.quarantine-retention and are
+ * still unreferenced; the quarantine is walked by slice in the same way, with its own checkpoint and a budget
+ * of app.gc.quarantine-files-per-run, so a large quarantine cannot hold up the scan behind it. Spool files are never referenced and are deleted directly. Every file visited goes
+ * through a rate limit (app.gc.max-files-per-second) so a scan never competes with uploads for the disk.
+ * A lock file keeps nodes sharing one upload directory from collecting at the same time.
+ * Metrics: storage.gc.scanned, storage.gc.files (tagged by action) and storage.gc.reclaimed.bytes.
+ */
+@Component
+@ConditionalOnProperty(name = "app.gc.enabled", havingValue = "true", matchIfMissing = true)
+public class OrphanCollector {
+
+    static final String OBJECTS_DIR = "objects";
+    static final String SPOOL_DIR = "tmp";
+    static final String QUARANTINE_DIR = "quarantine";
+    static final String CHECKPOINT_FILE = ".gc-checkpoint";
+    static final String QUARANTINE_CHECKPOINT_FILE = ".gc-quarantine-checkpoint";
+    static final String LOCK_FILE = ".gc-lock";
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanCollector.class);
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern PART_FILE = Pattern.compile("(.+)\\.part");
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentContentRepository contentRepository;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir = "uploads";
+
+    @Value("${app.gc.grace-period:PT24H}")
+    private Duration gracePeriod = Duration.ofHours(24);
+
+    @Value("${app.gc.quarantine-retention:P7D}")
+    private Duration quarantineRetention = Duration.ofDays(7);
+
+    @Value("${app.gc.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.gc.files-per-run:20000}")
+    private long filesPerRun = 20_000;
+
+    @Value("${app.gc.quarantine-files-per-run:20000}")
+    private long quarantineFilesPerRun = 20_000;
+
+    // 0 turns the rate limit off
+    @Value("${app.gc.max-files-per-second:200}")
+    private int maxFilesPerSecond = 200;
+
+    /**
+     * What a file under the upload directory is, which decides how a reference to it is looked up
+     */
+    enum Kind {
+        OBJECT, LEGACY, SPOOL
+    }
+
+    /**
+     * A file old enough to be considered; key is what the database knows it by (the content hash, or
+     * {caseId}/{name} for legacy files)
+     */
+    record Candidate(Path path, String relative, Kind kind, String key, long size) {
+    }
+
+    /**
+     * Run one increment: empty the quarantine of what has expired, then scan the next slices
+     */
+    @Scheduled(fixedDelayString = "${app.gc.interval:PT10M}", initialDelayString = "${app.gc.initial-delay:PT5M}")
+    public void collect() {
+        Path root = Paths.get(uploadDir);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(root.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = tryLock(channel)) {
+            if (lock == null) {
+                log.debug("Orphan collection already running elsewhere for {}", root);
+                return;
+            }
+            Throttle throttle = new Throttle(maxFilesPerSecond);
+            purgeQuarantine(root, throttle);
+            scanNextSlices(root, throttle);
+        } catch (IOException e) {
+            log.warn("Orphan collection in {} failed: {}", root, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scanNextSlices(Path root, Throttle throttle) throws IOException, InterruptedException {
+        long budget = filesPerRun;
+        for (String slice : pendingSlices(listSlices(root), readCheckpoint(root, CHECKPOINT_FILE))) {
+            budget -= scanSlice(root, slice, throttle);
+            writeCheckpoint(root, CHECKPOINT_FILE, slice);
+            if (budget <= 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Slices after the checkpointed one, or all of them once the last pass has finished
+     */
+    private static List<String> pendingSlices(List<String> slices, String checkpoint) {
+        List<String> pending = checkpoint == null ? slices
+            : slices.stream().filter(slice -> slice.compareTo(checkpoint) > 0).toList();
+        return pending.isEmpty() ? slices : pending;
+    }
+
+    /**
+     * Slices in walk order: every objects shard, every legacy case directory, and the spool
+     */
+    List<String> listSlices(Path root) throws IOException {
+        List<String> slices = new ArrayList<>();
+        for (Path dir : subdirectories(root)) {
+            String name = dir.getFileName().toString();
+            if (name.equals(QUARANTINE_DIR)) {
+                continue;
+            }
+            if (name.equals(OBJECTS_DIR)) {
+                for (Path shard : subdirectories(dir)) {
+                    slices.add(OBJECTS_DIR + "/" + shard.getFileName());
+                }
+            } else {
+                slices.add(name);
+            }
+        }
+        Collections.sort(slices);
+        return slices;
+    }
+
+    /**
+     * Walk one slice, acting on old files a batch at a time. Returns how many files were visited.
+     */
+    private long scanSlice(Path root, String slice, Throttle throttle) throws IOException, InterruptedException {
+        Path sliceRoot = root.resolve(slice);
+        long cutoff = System.currentTimeMillis() - gracePeriod.toMillis();
+        boolean legacy = !slice.startsWith(OBJECTS_DIR + "/") && !slice.equals(SPOOL_DIR);
+        List<Candidate> batch = new ArrayList<>();
+        long[] visited = {0};
+        Counter scanned = meterRegistry.counter("storage.gc.scanned");
+
+        Files.walkFileTree(sliceRoot, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                if (!throttle.acquire()) {
+                    return FileVisitResult.TERMINATE;
+                }
+                visited[0]++;
+                scanned.increment();
+                if (attributes.isRegularFile() && attributes.lastModifiedTime().toMillis() < cutoff) {
+                    Candidate candidate = candidate(root, root.relativize(file), file, attributes.size());
+                    if (candidate != null) {
+                        batch.add(candidate);
+                    }
+                }
+                if (batch.size() >= batchSize) {
+                    reconcile(root, batch);
+                    batch.clear();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                // Deleted while we walked; nothing to collect
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                // Legacy case directories go once they are empty; object shards are kept for the writers.
+                // Settle the pending batch first so the directory's own orphans have already moved out.
+                if (legacy) {
+                    if (!batch.isEmpty()) {
+                        reconcile(root, batch);
+                        batch.clear();
+                    }
+                    deleteIfEmpty(dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        if (!batch.isEmpty()) {
+            reconcile(root, batch);
+        }
+        if (throttle.interrupted) {
+            throw new InterruptedException();
+        }
+        return visited[0];
+    }
+
+    /**
+     * Classify a file by where it lives; null for files the collector does not own
+     */
+    Candidate candidate(Path root, Path relative, Path file, long size) {
+        String first = relative.getName(0).toString();
+        String name = relative.getFileName().toString();
+        String rel = relative.toString().replace('\\', '/');
+        if (first.equals(OBJECTS_DIR)) {
+            return CONTENT_HASH.matcher(name).matches() ? new Candidate(file, rel, Kind.OBJECT, name, size) : null;
+        }
+        if (first.equals(SPOOL_DIR)) {
+            var part = PART_FILE.matcher(name);
+            if (relative.getNameCount() == 3 && part.matches()) {
+                return new Candidate(file, rel, Kind.SPOOL, part.group(1), size);
+            }
+            return relative.getNameCount() == 2 && name.startsWith("upload-") && name.endsWith(".tmp")
+                ? new Candidate(file, rel, Kind.SPOOL, null, size)
+                : null;
+        }
+        // Documents stored before content addressing recorded {app.upload.dir}/{caseId}/{name} as their path
+        return new Candidate(file, rel, Kind.LEGACY, rel, size);
+    }
+
+    /**
+     * Quarantine the orphans in a batch of old files, or delete them if they are spool leftovers
+     */
+    private void reconcile(Path root, List<Candidate> batch) throws IOException {
+        List<Candidate> spool = batch.stream().filter(c -> c.kind() == Kind.SPOOL).toList();
+        Set<String> liveSessions = liveSessions(spool);
+        for (Candidate candidate : spool) {
+            if (candidate.key() == null || !liveSessions.contains(candidate.key())) {
+                delete(candidate.path(), candidate.size());
+            }
+        }
+
+        List<Candidate> stored = batch.stream().filter(c -> c.kind() != Kind.SPOOL).toList();
+        Set<String> referenced = referencedKeys(stored);
+        long cutoff = System.currentTimeMillis() - gracePeriod.toMillis();
+        List<Candidate> moved = new ArrayList<>();
+        for (Candidate candidate : stored) {
+            if (!referenced.contains(candidate.key()) && quarantine(root, candidate, cutoff)) {
+                moved.add(candidate);
+            }
+        }
+        // An upload may have referenced one of these between the lookup and the move
+        Set<String> revived = referencedKeys(moved);
+        for (Candidate candidate : moved) {
+            if (revived.contains(candidate.key())) {
+                restore(root, candidate.relative());
+            }
+        }
+    }
+
+    /**
+     * Delete quarantined files whose retention has passed and that are still unreferenced, going on from the
+     * quarantine slice the last run stopped after
+     */
+    private void purgeQuarantine(Path root, Throttle throttle) throws IOException, InterruptedException {
+        Path quarantine = root.resolve(QUARANTINE_DIR);
+        if (!Files.isDirectory(quarantine)) {
+            return;
+        }
+        long budget = quarantineFilesPerRun;
+        for (String slice : pendingSlices(listSlices(quarantine), readCheckpoint(root, QUARANTINE_CHECKPOINT_FILE))) {
+            budget -= purgeSlice(root, quarantine, slice, throttle);
+            writeCheckpoint(root, QUARANTINE_CHECKPOINT_FILE, slice);
+            if (budget <= 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Walk one quarantine slice, expiring old files a batch at a time. Returns how many files were visited.
+     */
+    private long purgeSlice(Path root, Path quarantine, String slice, Throttle throttle) throws IOException, InterruptedException {
+        long cutoff = System.currentTimeMillis() - quarantineRetention.toMillis();
+        List<Candidate> batch = new ArrayList<>();
+        long[] visited = {0};
+        Files.walkFileTree(quarantine.resolve(slice), new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                if (!throttle.acquire()) {
+                    return FileVisitResult.TERMINATE;
+                }
+                visited[0]++;
+                if (attributes.isRegularFile() && attributes.lastModifiedTime().toMillis() < cutoff) {
+                    Candidate candidate = candidate(root, quarantine.relativize(file), file, attributes.size());
+                    if (candidate != null) {
+                        batch.add(candidate);
+                    }
+                }
+                if (batch.size() >= batchSize) {
+                    expire(root, batch);
+                    batch.clear();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (!dir.equals(quarantine)) {
+                    deleteIfEmpty(dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        if (!batch.isEmpty()) {
+            expire(root, batch);
+        }
+        if (throttle.interrupted) {
+            throw new InterruptedException();
+        }
+        return visited[0];
+    }
+
+    private void expire(Path root, List<Candidate> batch) throws IOException {
+        Set<String> referenced = referencedKeys(batch);
+        for (Candidate candidate : batch) {
+            if (referenced.contains(candidate.key())) {
+                restore(root, candidate.relative());
+            } else {
+                delete(candidate.path(), candidate.size());
+            }
+        }
+    }
+
+    private Set<String> referencedKeys(Collection<Candidate> candidates) {
+        List<String> hashes = candidates.stream().filter(c -> c.kind() == Kind.OBJECT).map(Candidate::key).toList();
+        Set<String> legacy = candidates.stream().filter(c -> c.kind() == Kind.LEGACY).map(Candidate::key)
+            .collect(Collectors.toSet());
+        Set<String> referenced = new HashSet<>();
+        if (!hashes.isEmpty()) {
+            referenced.addAll(documentRepository.findReferencedContentHashes(hashes));
+            referenced.addAll(contentRepository.findReferencedHashes(hashes));
+        }
+        if (!legacy.isEmpty()) {
+            Set<String> caseIds = legacy.stream().map(key -> key.substring(0, key.indexOf('/'))).collect(Collectors.toSet());
+            for (String filePath : documentRepository.findLegacyFilePaths(caseIds)) {
+                String key = legacyKey(filePath, legacy);
+                if (key != null) {
+                    referenced.add(key);
+                }
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * The candidate key a recorded legacy path ends with, whatever app.upload.dir looked like when it was written
+     */
+    static String legacyKey(String filePath, Set<String> keys) {
+        String path = filePath.replace('\\', '/');
+        if (keys.contains(path)) {
+            return path;
+        }
+        for (int slash = path.indexOf('/'); slash >= 0; slash = path.indexOf('/', slash + 1)) {
+            String suffix = path.substring(slash + 1);
+            if (keys.contains(suffix)) {
+                return suffix;
+            }
+        }
+        return null;
+    }
+
+    private Set<String> liveSessions(List<Candidate> spool) {
+        List<String> ids = spool.stream().map(Candidate::key).filter(id -> id != null).toList();
+        Set<String> live = new HashSet<>();
+        if (!ids.isEmpty()) {
+            uploadSessionRepository.findAllById(ids).stream().map(UploadSession::getId).forEach(live::add);
+        }
+        return live;
+    }
+
+    private boolean quarantine(Path root, Candidate candidate, long cutoff) throws IOException {
+        Path target = root.resolve(QUARANTINE_DIR).resolve(candidate.relative());
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(candidate.path(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        // An upload reusing the bytes touches them; if that happened since the walk, the file is in use
+        if (Files.getLastModifiedTime(target).toMillis() >= cutoff) {
+            restore(root, candidate.relative());
+            return false;
+        }
+        // Retention counts from the move, not from when the file was written
+        Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+        action("quarantined").increment();
+        return true;
+    }
+
+    private void restore(Path root, String relative) throws IOException {
+        Path quarantined = root.resolve(QUARANTINE_DIR).resolve(relative);
+        Path original = root.resolve(relative);
+        if (Files.exists(original)) {
+            // Identical bytes were stored again under the same key meanwhile
+            Files.deleteIfExists(quarantined);
+        } else {
+            Files.createDirectories(original.getParent());
+            Files.move(quarantined, original, StandardCopyOption.ATOMIC_MOVE);
+        }
+        action("restored").increment();
+        log.info("Restored {} from quarantine; it is referenced again", relative);
+    }
+
+    private void delete(Path file, long size) throws IOException {
+        if (Files.deleteIfExists(file)) {
+            action("deleted").increment();
+            Counter.builder("storage.gc.reclaimed.bytes")
+                    .description("Disk space freed by the orphan collector")
+                    .baseUnit("bytes")
+                    .register(meterRegistry)
+                    .increment(size);
+        }
+    }
+
+    private static void deleteIfEmpty(Path dir) throws IOException {
+        try {
+            Files.deleteIfExists(dir);
+        } catch (DirectoryNotEmptyException e) {
+            // Still has files
+        }
+    }
+
+    private static List<Path> subdirectories(Path dir) throws IOException {
+        List<Path> dirs = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                    dirs.add(entry);
+                }
+            }
+        }
+        return dirs;
+    }
+
+    private static String readCheckpoint(Path root, String name) throws IOException {
+        Path file = root.resolve(name);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        String slice = Files.readString(file, StandardCharsets.UTF_8).trim();
+        return slice.isEmpty() ? null : slice;
+    }
+
+    private static void writeCheckpoint(Path root, String name, String slice) throws IOException {
+        Path temp = root.resolve(name + ".tmp");
+        Files.writeString(temp, slice, StandardCharsets.UTF_8);
+        Files.move(temp, root.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private Counter action(String action) {
+        return Counter.builder("storage.gc.files")
+                .description("Files handled by the orphan collector")
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Paces file visits to a fixed rate by sleeping whenever the walk gets ahead of it. Time spent
+     * elsewhere (database lookups) is not banked, so the walk never bursts to catch up.
+     */
+    static final class Throttle {
+        private final long interval;
+        private long next = System.nanoTime();
+        boolean interrupted;
+
+        Throttle(int perSecond) {
+            this.interval = perSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / perSecond : 0;
+        }
+
+        /**
+         * false if the thread was interrupted while waiting, which ends the walk
+         */
+        boolean acquire() {
+            if (interval == 0) {
+                return true;
+            }
+            long now = System.nanoTime();
+            long wait = next - now;
+            next = Math.max(next, now) + interval;
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
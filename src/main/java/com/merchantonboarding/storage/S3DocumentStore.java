@@ -0,0 +1,205 @@
+package com.merchantonboarding.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Documents in an S3-compatible bucket (AWS S3, MinIO, Ceph), spoken to directly over HTTP with
+ * Signature V4 rather than through an SDK. Uploads stream from the spooled file and are signed with
+ * the content hash the key already is, so the service verifies every byte; downloads and ranges stream
+ * straight from the response body.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3DocumentStore implements DocumentStore {
+
+    @Value("${app.storage.s3.endpoint}")
+    private String endpoint;
+
+    @Value("${app.storage.s3.region:us-east-1}")
+    private String region = "us-east-1";
+
+    @Value("${app.storage.s3.bucket}")
+    private String bucket;
+
+    @Value("${app.storage.s3.prefix:documents/}")
+    private String prefix = "documents/";
+
+    @Value("${app.storage.s3.access-key}")
+    private String accessKey;
+
+    @Value("${app.storage.s3.secret-key}")
+    private String secretKey;
+
+    // Path-style URLs (endpoint/bucket/key) suit MinIO and local stand-ins; false uses bucket.endpoint/key
+    @Value("${app.storage.s3.path-style:true}")
+    private boolean pathStyle = true;
+
+    @Value("${app.storage.s3.timeout:PT30S}")
+    private Duration timeout = Duration.ofSeconds(30);
+
+    private HttpClient client;
+    private AwsV4Signer signer;
+
+    @PostConstruct
+    void init() {
+        client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        signer = new AwsV4Signer(accessKey, secretKey, region);
+    }
+
+    @Override
+    public boolean put(String key, Path source, String sha256) throws IOException {
+        // Same key means same bytes, so an existing object saves the whole upload
+        if (stat(key) != null) {
+            return false;
+        }
+        URI uri = objectUri(key);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/octet-stream")
+                .PUT(HttpRequest.BodyPublishers.ofFile(source));
+        signer.sign("PUT", uri, Map.of(), sha256, Instant.now()).forEach(request::header);
+        HttpResponse<String> response = send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("S3 PUT " + key + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return true;
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return get(key, Map.of());
+    }
+
+    @Override
+    public InputStream open(String key, long start, long end) throws IOException {
+        return get(key, Map.of("Range", "bytes=" + start + "-" + end));
+    }
+
+    @Override
+    public ObjectInfo stat(String key) throws IOException {
+        HttpResponse<Void> response = send(signed("HEAD", key, Map.of()), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("S3 HEAD " + key + " failed with " + response.statusCode());
+        }
+        long size = response.headers().firstValueAsLong("Content-Length").orElse(0L);
+        long lastModified = response.headers().firstValue("Last-Modified")
+                .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli())
+                .orElse(0L);
+        return new ObjectInfo(size, lastModified);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<String> response = send(signed("DELETE", key, Map.of()), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2 && response.statusCode() != 404) {
+            throw new IOException("S3 DELETE " + key + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    @Override
+    public Path localPath(String key) {
+        return null;
+    }
+
+    @Override
+    public String location(String key) {
+        return "s3://" + bucket + "/" + prefix + key;
+    }
+
+    private InputStream get(String key, Map<String, String> headers) throws IOException {
+        HttpResponse<InputStream> response = send(signed("GET", key, headers), HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() / 100 == 2) {
+            return response.body();
+        }
+        String body;
+        try (InputStream in = response.body()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (response.statusCode() == 404) {
+            throw new NoSuchFileException(location(key));
+        }
+        throw new IOException("S3 GET " + key + " failed with " + response.statusCode() + ": " + body);
+    }
+
+    private HttpRequest signed(String method, String key, Map<String, String> headers) {
+        URI uri = objectUri(key);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        signer.sign(method, uri, headers, AwsV4Signer.EMPTY_PAYLOAD_SHA256, Instant.now()).forEach(request::header);
+        return request.build();
+    }
+
+    /**
+     * Send once more if the first attempt fails on the connection itself (typically a pooled connection the
+     * service closed while idle). The client only does that for GET and HEAD; every request here is safe to
+     * repeat, since a PUT rewrites the same bytes under their own hash.
+     */
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            try {
+                return client.send(request, handler);
+            } catch (HttpTimeoutException | InterruptedIOException e) {
+                throw e;
+            } catch (IOException e) {
+                return client.send(request, handler);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted talking to S3");
+        }
+    }
+
+    URI objectUri(String key) {
+        URI base = URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+        String path = encodePath(prefix + key);
+        if (pathStyle) {
+            return URI.create(base + "/" + bucket + "/" + path);
+        }
+        String port = base.getPort() != -1 ? ":" + base.getPort() : "";
+        return URI.create(base.getScheme() + "://" + bucket + "." + base.getHost() + port + "/" + path);
+    }
+
+    /**
+     * Percent-encode an object key as S3 expects in the canonical URI, keeping the slashes
+     */
+    private static String encodePath(String key) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || c == '/') {
+                sb.append(c);
+            } else {
+                sb.append('%').append(String.format("%02X", b & 0xff));
+            }
+        }
+        return sb.toString();
+    }
+}
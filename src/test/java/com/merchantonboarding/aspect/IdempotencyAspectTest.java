@@ -0,0 +1,126 @@
+package com.merchantonboarding.aspect;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.merchantonboarding.exception.IdempotencyKeyException;
+import com.merchantonboarding.idempotency.InMemoryIdempotencyStore;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+
+    @Spy
+    private InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @InjectMocks
+    private IdempotencyAspect aspect;
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("POST", "/api/cases");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // Test: a retry with the same key replays the stored response without running the endpoint again
+    @Test
+    void retryWithSameKey_ReplaysWithoutProceeding() throws Throwable {
+        request.addHeader(IdempotencyAspect.KEY_HEADER, "abc-123");
+        when(joinPoint.getArgs()).thenReturn(new Object[] { "body" });
+        when(joinPoint.proceed()).thenReturn(ResponseEntity.status(HttpStatus.CREATED).body("MOB-1"));
+
+        aspect.handle(joinPoint);
+        ResponseEntity<?> replay = (ResponseEntity<?>) aspect.handle(joinPoint);
+
+        verify(joinPoint, times(1)).proceed();
+        assertEquals(201, replay.getStatusCode().value());
+        assertEquals("\"MOB-1\"", replay.getBody());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyAspect.REPLAYED_HEADER));
+    }
+
+    // Test: headers the endpoint set (ETag, Location, custom ones) come back on a replay, body headers do not
+    @Test
+    void replay_RestoresEndpointHeaders() throws Throwable {
+        request.addHeader(IdempotencyAspect.KEY_HEADER, "abc-123");
+        when(joinPoint.getArgs()).thenReturn(new Object[] { "body" });
+        when(joinPoint.proceed()).thenReturn(ResponseEntity.status(HttpStatus.CREATED)
+                .eTag("\"4\"")
+                .location(URI.create("/api/cases/MOB-1"))
+                .header("Upload-Offset", "0")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("MOB-1"));
+
+        aspect.handle(joinPoint);
+        ResponseEntity<?> replay = (ResponseEntity<?>) aspect.handle(joinPoint);
+
+        assertEquals("\"4\"", replay.getHeaders().getETag());
+        assertEquals(URI.create("/api/cases/MOB-1"), replay.getHeaders().getLocation());
+        assertEquals("0", replay.getHeaders().getFirst("Upload-Offset"));
+        assertEquals(MediaType.APPLICATION_JSON, replay.getHeaders().getContentType());
+    }
+
+    // Test: reusing a key for a different body is rejected, and a failed request frees its key
+    @Test
+    void keyReuseAndFailure() throws Throwable {
+        request.addHeader(IdempotencyAspect.KEY_HEADER, "abc-123");
+        when(joinPoint.getArgs()).thenReturn(new Object[] { "first" }, new Object[] { "second" },
+                new Object[] { "third" }, new Object[] { "third" });
+        when(joinPoint.proceed()).thenReturn(ResponseEntity.ok("ok"))
+                .thenThrow(new IllegalStateException("boom"))
+                .thenReturn(ResponseEntity.ok("ok"));
+
+        aspect.handle(joinPoint);
+        IdempotencyKeyException mismatch = assertThrows(IdempotencyKeyException.class, () -> aspect.handle(joinPoint));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, mismatch.getStatus());
+
+        request = new MockHttpServletRequest("POST", "/api/cases/draft");
+        request.addHeader(IdempotencyAspect.KEY_HEADER, "abc-123");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        assertThrows(IllegalStateException.class, () -> aspect.handle(joinPoint));
+        assertEquals(ResponseEntity.ok("ok"), aspect.handle(joinPoint));
+        verify(joinPoint, times(3)).proceed();
+    }
+
+    // Test: requests without the header go straight through
+    @Test
+    void noKey_Proceeds() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(ResponseEntity.ok("ok"));
+
+        aspect.handle(joinPoint);
+        aspect.handle(joinPoint);
+
+        verify(joinPoint, times(2)).proceed();
+        verifyNoInteractions(store);
+    }
+}
@@ -0,0 +1,83 @@
+package com.merchantonboarding.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.annotations.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.merchantonboarding.model.BusinessType;
+import com.merchantonboarding.model.MerchantCategory;
+import com.merchantonboarding.model.Permission;
+import com.merchantonboarding.model.Role;
+import com.merchantonboarding.model.User;
+
+/**
+ * Checks application.conf against the regions Hibernate will ask for: with missing_cache_strategy=fail
+ * an unlisted region stops the application from starting.
+ */
+class CacheRegionsTest {
+
+    private static final String PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        CachingProvider provider = Caching.getCachingProvider(PROVIDER);
+        cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    // Test: every region named by an entity or collection @Cache annotation is configured
+    @Test
+    void entityRegions_AreConfigured() throws Exception {
+        List<String> regions = List.of(
+                region(User.class), region(Role.class), region(Permission.class),
+                region(BusinessType.class), region(MerchantCategory.class),
+                User.class.getDeclaredField("customPermissions").getAnnotation(Cache.class).region(),
+                Role.class.getDeclaredField("permissions").getAnnotation(Cache.class).region());
+
+        for (String region : regions) {
+            assertNotNull(cacheManager.getCache(region), "No cache configured for region " + region);
+        }
+    }
+
+    // Test: users expire quickly (session tokens), while the update-timestamps region never expires,
+    // otherwise cached query results could outlive the writes that invalidate them
+    @Test
+    void expiry_MatchesRegionRole() {
+        assertEquals(OptionalLong.of(TimeUnit.SECONDS.toNanos(60)), expireAfterWrite("users"));
+        assertEquals(OptionalLong.of(TimeUnit.SECONDS.toNanos(60)), expireAfterWrite("default-query-results-region"));
+        assertEquals(OptionalLong.of(TimeUnit.MINUTES.toNanos(30)), expireAfterWrite("roles"));
+        assertEquals(OptionalLong.empty(), expireAfterWrite("default-update-timestamps-region"));
+        assertEquals(OptionalLong.empty(), config("default-update-timestamps-region").getMaximumSize());
+    }
+
+    private String region(Class<?> entity) {
+        return entity.getAnnotation(Cache.class).region();
+    }
+
+    private OptionalLong expireAfterWrite(String cacheName) {
+        return config(cacheName).getExpireAfterWrite();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<Object, Object> config(String cacheName) {
+        return cacheManager.getCache(cacheName).getConfiguration(CaffeineConfiguration.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.merchantonboarding.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SchemaMigrationsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SchemaMigrations migrations;
+
+    // Test: unparseable values of the NOT NULL history time are repaired before the ALTER instead of
+    // being left to fail it, and the pattern accepts every format the application has written
+    @Test
+    void run_RepairsHistoryTimesBeforeConversion() {
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(0);
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenReturn(List.of("datetime"));
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("case_history"), eq("time")))
+                .thenReturn(List.of("varchar"));
+        ArgumentCaptor<String> pattern = ArgumentCaptor.forClass(String.class);
+        lenient().when(jdbcTemplate.update(startsWith("UPDATE case_history SET `time` = COALESCE("), pattern.capture())).thenReturn(2);
+
+        migrations.migrate();
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(startsWith("UPDATE case_history"), anyString());
+        order.verify(jdbcTemplate).execute("ALTER TABLE case_history MODIFY COLUMN `time` DATETIME(6) NOT NULL");
+        verify(jdbcTemplate, never()).execute(contains("onboarding_cases MODIFY"));
+
+        Pattern valid = Pattern.compile(pattern.getValue());
+        assertTrue(valid.matcher("2024-03-01 09:15").matches());
+        assertTrue(valid.matcher("2024-03-01 09:15:30.123456").matches());
+        assertFalse(valid.matcher("yesterday").matches());
+        assertFalse(valid.matcher("01/03/2024 09:15").matches());
+    }
+}
@@ -0,0 +1,75 @@
+package com.merchantonboarding.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.merchantonboarding.storage.DocumentDownload;
+
+class DocumentArchivesTest {
+
+    private static final long LAST_MODIFIED = 1767225600000L; // 2026-01-01T00:00:00Z
+
+    @TempDir
+    Path tempDir;
+
+    // Test: documents with a recorded CRC become STORED entries carrying it; one without is DEFLATED
+    // rather than read twice, and clashing names get a suffix
+    @Test
+    void write_StoredEntriesWithUniqueNames() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("scan"), "%PDF-1.7 local");
+        String remote = "%PDF-1.7 remote";
+        AtomicInteger remoteReads = new AtomicInteger();
+        List<DocumentDownload> documents = List.of(
+                new DocumentDownload(file, "ssm.pdf", "application/pdf", 14, "\"a\"", LAST_MODIFIED,
+                        crc("%PDF-1.7 local"), null),
+                new DocumentDownload(null, "SSM.pdf", "application/pdf", 15, "\"b\"", LAST_MODIFIED, null,
+                        (start, end) -> {
+                            remoteReads.incrementAndGet();
+                            return new ByteArrayInputStream(remote.getBytes(StandardCharsets.UTF_8));
+                        }),
+                new DocumentDownload(null, "../notes.txt", "text/plain", 0, "\"c\"", LAST_MODIFIED, null, null));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DocumentArchives.write(documents, out);
+
+        assertEquals(1, remoteReads.get());
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry first = zip.getNextEntry();
+            assertEquals("ssm.pdf", first.getName());
+            assertEquals(ZipEntry.STORED, first.getMethod());
+            assertEquals(crc("%PDF-1.7 local"), first.getCrc());
+            assertEquals("%PDF-1.7 local", new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+
+            ZipEntry second = zip.getNextEntry();
+            assertEquals("SSM (2).pdf", second.getName());
+            assertEquals(ZipEntry.DEFLATED, second.getMethod());
+            assertEquals(remote, new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals(crc(remote), second.getCrc());
+
+            ZipEntry third = zip.getNextEntry();
+            assertEquals("notes.txt", third.getName());
+            assertEquals(ZipEntry.DEFLATED, third.getMethod());
+            assertEquals(0, zip.readAllBytes().length);
+            assertNull(zip.getNextEntry());
+        }
+    }
+
+    private static long crc(String content) {
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
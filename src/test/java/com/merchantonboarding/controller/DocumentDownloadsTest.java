@@ -0,0 +1,121 @@
+package com.merchantonboarding.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.merchantonboarding.storage.DocumentDownload;
+
+class DocumentDownloadsTest {
+
+    private static final long LAST_MODIFIED = 1767225600000L; // 2026-01-01T00:00:00Z
+
+    @TempDir
+    Path tempDir;
+
+    private DocumentDownload download;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("scan.pdf"), "0123456789");
+        download = new DocumentDownload(file, "scan.pdf", "application/pdf", 10, "\"abc\"", LAST_MODIFIED, null, null);
+        request = new MockHttpServletRequest("GET", "/api/cases/MOP-2026-001/documents/1/download");
+        response = new MockHttpServletResponse();
+    }
+
+    // Test: a full download carries length, type, validators and Accept-Ranges from the stored metadata
+    @Test
+    void send_FullFile() throws Exception {
+        DocumentDownloads.send(download, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals("application/pdf", response.getContentType());
+        assertEquals("\"abc\"", response.getHeader("ETag"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals(LAST_MODIFIED, response.getDateHeader("Last-Modified"));
+    }
+
+    // Test: a single byte range is served as 206 with only the requested bytes
+    @Test
+    void send_ByteRange() throws Exception {
+        request.addHeader("Range", "bytes=2-5");
+
+        DocumentDownloads.send(download, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+        assertEquals(4, response.getContentLengthLong());
+    }
+
+    // Test: a range past the end is 416, and a stale If-Range falls back to the whole file
+    @Test
+    void send_UnsatisfiableAndStaleRanges() throws Exception {
+        request.addHeader("Range", "bytes=20-");
+        DocumentDownloads.send(download, request, response);
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/download");
+        stale.addHeader("Range", "bytes=2-5");
+        stale.addHeader("If-Range", "\"old\"");
+        MockHttpServletResponse full = new MockHttpServletResponse();
+        DocumentDownloads.send(download, stale, full);
+        assertEquals(200, full.getStatus());
+        assertEquals("0123456789", full.getContentAsString());
+    }
+
+    // Test: a matching If-None-Match gets a 304 with no body
+    @Test
+    void send_NotModified() throws Exception {
+        request.addHeader("If-None-Match", "\"abc\"");
+
+        DocumentDownloads.send(download, request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    // Test: when Tomcat offers sendfile the range is handed to the connector instead of being copied
+    @Test
+    void send_UsesSendfileWhenSupported() throws Exception {
+        request.setAttribute(DocumentDownloads.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader("Range", "bytes=-3");
+
+        DocumentDownloads.send(download, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(7L, request.getAttribute(DocumentDownloads.SENDFILE_START));
+        assertEquals(10L, request.getAttribute(DocumentDownloads.SENDFILE_END));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    // Test: documents in a remote store are streamed from the store, ranges included, even if sendfile is offered
+    @Test
+    void send_StreamsRemoteContent() throws Exception {
+        DocumentDownload remote = new DocumentDownload(null, "scan.pdf", "application/pdf", 10, "\"abc\"", LAST_MODIFIED, null,
+                (start, end) -> new ByteArrayInputStream("0123456789".substring((int) start, (int) end + 1)
+                        .getBytes(StandardCharsets.UTF_8)));
+        request.setAttribute(DocumentDownloads.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader("Range", "bytes=4-");
+
+        DocumentDownloads.send(remote, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("456789", response.getContentAsString());
+        assertNull(request.getAttribute(DocumentDownloads.SENDFILE_FILENAME));
+    }
+}
@@ -0,0 +1,76 @@
+package com.merchantonboarding.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    // Test: the first claim owns the key; later claims see it in flight, then the stored response
+    @Test
+    void claim_ReturnsExistingEntryUntilExpiry() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        store.clock = Clock.fixed(start, ZoneOffset.UTC);
+
+        assertNull(store.claim("k1", "o1", "fp", TTL));
+        assertNull(store.claim("k1", "o2", "fp", TTL).response());
+
+        store.complete("k1", "o1", new IdempotencyStore.StoredResponse(201, Map.of(), "{\"caseId\":\"MOB-1\"}"), TTL);
+        IdempotencyStore.Entry replay = store.claim("k1", "o2", "fp", TTL);
+        assertEquals("fp", replay.fingerprint());
+        assertEquals(201, replay.response().status());
+
+        store.clock = Clock.fixed(start.plus(TTL), ZoneOffset.UTC);
+        assertNull(store.claim("k1", "o3", "other", TTL));
+        store.purgeExpired();
+        assertEquals(1, store.size());
+    }
+
+    // Test: the store never holds more than max-entries keys, dropping the oldest first
+    @Test
+    void claim_EvictsOldestWhenFull() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+        ReflectionTestUtils.setField(store, "maxEntries", 2);
+
+        store.claim("k1", "o1", "fp", TTL);
+        store.claim("k2", "o2", "fp", TTL);
+        store.claim("k3", "o3", "fp", TTL);
+
+        assertEquals(2, store.size());
+        assertNull(store.claim("k1", "o4", "fp", TTL));
+        assertNotNull(store.claim("k3", "o5", "fp", TTL));
+    }
+
+    // Test: a claim that is never completed lapses after its lease and a retry takes the key over;
+    // the original request can then neither complete nor release the new owner's claim
+    @Test
+    void claim_TakesOverAfterLease() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        store.clock = Clock.fixed(start, ZoneOffset.UTC);
+        Duration lease = Duration.ofMinutes(5);
+
+        assertNull(store.claim("k1", "crashed", "fp", lease));
+        assertNotNull(store.claim("k1", "retry", "fp", lease));
+
+        store.clock = Clock.fixed(start.plus(lease), ZoneOffset.UTC);
+        assertNull(store.claim("k1", "retry", "fp", lease));
+        store.release("k1", "crashed");
+        store.complete("k1", "crashed", new IdempotencyStore.StoredResponse(500, Map.of(), "{}"), TTL);
+        assertNull(store.claim("k1", "third", "fp", lease).response());
+
+        store.complete("k1", "retry", new IdempotencyStore.StoredResponse(201, Map.of(), "{}"), TTL);
+        store.clock = Clock.fixed(start.plus(Duration.ofMinutes(30)), ZoneOffset.UTC);
+        assertEquals(201, store.claim("k1", "fourth", "fp", lease).response().status());
+    }
+}
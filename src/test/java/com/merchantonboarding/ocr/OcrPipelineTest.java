@@ -0,0 +1,188 @@
+package com.merchantonboarding.ocr;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.merchantonboarding.model.Document;
+import com.merchantonboarding.model.DocumentOcrResult;
+import com.merchantonboarding.model.OcrStatus;
+import com.merchantonboarding.repository.DocumentOcrResultRepository;
+import com.merchantonboarding.storage.DocumentStorage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OcrPipelineTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Mock
+    private OcrEngine engine;
+
+    @Mock
+    private DocumentOcrResultRepository resultRepository;
+
+    @Mock
+    private DocumentStorage documentStorage;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private OcrPipeline pipeline;
+
+    @TempDir
+    Path tempDir;
+
+    private OcrPipeline.Job job;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pipeline.start();
+        Path scan = tempDir.resolve("scan.png");
+        ImageIO.write(new BufferedImage(20, 10, BufferedImage.TYPE_BYTE_GRAY), "png", scan.toFile());
+        lenient().when(documentStorage.localPath(HASH)).thenReturn(scan);
+        job = new OcrPipeline.Job(HASH, "image/png");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    // Test: new content is recognised once, its fields extracted, and the page latency recorded
+    @Test
+    void process_NewContent() {
+        when(resultRepository.claim(eq(HASH), any(), any())).thenReturn(1);
+        when(resultRepository.findById(HASH)).thenReturn(Optional.empty());
+        when(engine.recognize(any())).thenReturn("Company No: 201901012345\nDirector NRIC No. 900101-14-1234");
+
+        pipeline.process(job);
+
+        ArgumentCaptor<DocumentOcrResult> saved = ArgumentCaptor.forClass(DocumentOcrResult.class);
+        verify(resultRepository).save(saved.capture());
+        assertEquals(OcrStatus.COMPLETED, saved.getValue().getStatus());
+        assertEquals("201901012345", saved.getValue().getRegistrationNumber());
+        assertEquals("900101141234", saved.getValue().getDirectorIc());
+        assertEquals(1, saved.getValue().getPageCount());
+        assertEquals(1, meterRegistry.get("ocr.page.latency").timer().count());
+    }
+
+    // Test: a row another worker is running (or has finished) is left to it
+    @Test
+    void process_ClaimedContentIsSkipped() {
+        when(resultRepository.claim(eq(HASH), any(), any())).thenReturn(0);
+
+        pipeline.process(job);
+
+        verifyNoInteractions(engine);
+        verify(resultRepository, never()).save(any());
+        assertEquals(1, meterRegistry.get("ocr.documents").tag("outcome", "skipped").counter().count());
+    }
+
+    // Test: the claim only takes over a running row whose lease started before now minus app.ocr.lease
+    @Test
+    void process_ClaimUsesLease() {
+        ReflectionTestUtils.setField(pipeline, "lease", Duration.ofMinutes(10));
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(resultRepository.claim(eq(HASH), now.capture(), staleBefore.capture())).thenReturn(0);
+
+        pipeline.process(job);
+
+        assertEquals(Duration.ofMinutes(10), Duration.between(staleBefore.getValue(), now.getValue()));
+    }
+
+    // Test: new content gets its PENDING row before anything is queued; content seen before is not queued
+    // again, and failed content is revived
+    @Test
+    void submitAfterCommit_RecordsPendingRowsFirst() {
+        Document fresh = document(HASH);
+        Document seen = document("cd".repeat(32));
+        Document failed = document("ef".repeat(32));
+        when(resultRepository.insertPendingIfAbsent(eq(HASH), any())).thenReturn(1);
+        when(resultRepository.insertPendingIfAbsent(eq(seen.getContentHash()), any())).thenReturn(0);
+        when(resultRepository.insertPendingIfAbsent(eq(failed.getContentHash()), any())).thenReturn(0);
+        when(resultRepository.reclaimFailed(eq(seen.getContentHash()), any())).thenReturn(0);
+        when(resultRepository.reclaimFailed(eq(failed.getContentHash()), any())).thenReturn(1);
+
+        pipeline.submitAfterCommit(List.of(fresh, seen, failed));
+
+        verify(resultRepository, timeout(2000)).claim(eq(HASH), any(), any());
+        verify(resultRepository, timeout(2000)).claim(eq(failed.getContentHash()), any(), any());
+        verify(resultRepository, never()).claim(eq(seen.getContentHash()), any(), any());
+        assertEquals(1, meterRegistry.get("ocr.documents").tag("outcome", "cached").counter().count());
+    }
+
+    // Test: rows left pending or running past their lease are requeued, unless another node requeued them first
+    @Test
+    void requeueAbandoned_QueuesStaleRows() {
+        String taken = "cd".repeat(32);
+        when(resultRepository.findAbandoned(any(), any()))
+                .thenReturn(List.of(new Object[]{HASH, "image/png"}, new Object[]{taken, "application/pdf"}));
+        when(resultRepository.requeue(eq(HASH), any(), any())).thenReturn(1);
+        when(resultRepository.requeue(eq(taken), any(), any())).thenReturn(0);
+
+        pipeline.requeueAbandoned();
+
+        verify(resultRepository, timeout(2000)).claim(eq(HASH), any(), any());
+        verify(resultRepository, never()).claim(eq(taken), any(), any());
+        assertEquals(1, meterRegistry.get("ocr.documents").tag("outcome", "requeued").counter().count());
+    }
+
+    // Test: an engine failure (e.g. missing native library) is recorded instead of escaping the worker
+    @Test
+    void process_FailureIsRecorded() {
+        when(resultRepository.claim(eq(HASH), any(), any())).thenReturn(1);
+        when(resultRepository.findById(HASH)).thenReturn(Optional.empty());
+        when(engine.recognize(any())).thenThrow(new UnsatisfiedLinkError("libtesseract not found"));
+
+        pipeline.process(job);
+
+        ArgumentCaptor<DocumentOcrResult> saved = ArgumentCaptor.forClass(DocumentOcrResult.class);
+        verify(resultRepository).save(saved.capture());
+        assertEquals(OcrStatus.FAILED, saved.getValue().getStatus());
+        assertEquals("libtesseract not found", saved.getValue().getError());
+    }
+
+    private static Document document(String hash) {
+        Document document = new Document();
+        document.setContentHash(hash);
+        document.setContentType("image/png");
+        return document;
+    }
+
+    // Test: labelled values win over the first number that merely looks right; old SSM numbers are accepted
+    @Test
+    void fieldExtractor() {
+        String text = "Ref 850505-10-5555\nNo. Pendaftaran: 123456-a\nMyKad No: 900101141234";
+
+        assertEquals("123456-A", OcrFieldExtractor.registrationNumber(text));
+        assertEquals("900101141234", OcrFieldExtractor.directorIc(text));
+        assertEquals("850505105555", OcrFieldExtractor.directorIc("Ref 850505-10-5555"));
+        assertNull(OcrFieldExtractor.registrationNumber("nothing here"));
+    }
+}
@@ -0,0 +1,196 @@
+package com.merchantonboarding.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.lucene.index.IndexWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.merchantonboarding.dto.CaseSummaryDTO;
+import com.merchantonboarding.model.OnboardingCase;
+
+class CaseSearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CaseSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new CaseSearchIndex();
+        ReflectionTestUtils.setField(index, "indexDir", tempDir.toString());
+        index.init();
+        index.rebuild(List.of(List.of(
+                buildCase("MOP-2026-001", "Acme Trading Sdn Bhd", "Retail", "Electronics", "Pending Review", "2023-01-234567", 1),
+                buildCase("MOP-2026-002", "Acme Logistics", "Services", "Transport", "Approved", "2019-05-000111", 2),
+                buildCase("MOP-2026-003", "Bright Bakery", "Retail", "Food & Beverage", "Pending Review", "2020-07-999888", 3))));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    // Test: a partial word matches by prefix and the stored summary is returned without a database lookup
+    @Test
+    void search_PrefixMatch() {
+        CaseSearchIndex.SearchPage page = index.search("bak", null, null, 0, 10);
+
+        assertEquals(1, page.total());
+        CaseSummaryDTO hit = page.hits().get(0);
+        assertEquals("MOP-2026-003", hit.getCaseId());
+        assertEquals("Bright Bakery", hit.getBusinessName());
+        assertEquals("Pending Review", hit.getStatus());
+    }
+
+    // Test: a misspelled business name still finds the case through fuzzy matching
+    @Test
+    void search_FuzzyMatch() {
+        assertEquals(List.of("MOP-2026-003"), index.searchIds("brigth", null, 10));
+    }
+
+    // Test: a registration number matches regardless of punctuation
+    @Test
+    void search_RegistrationNumber() {
+        assertEquals(List.of("MOP-2026-002"), index.searchIds("2019 05 000111", null, 10));
+    }
+
+    // Test: the exact business name ranks above cases that only share a word with the query
+    @Test
+    void search_RelevanceOrdering() {
+        List<String> ids = index.searchIds("acme trading", null, 10);
+
+        assertEquals("MOP-2026-001", ids.get(0));
+    }
+
+    // Test: facets count all matches per status and category, and a status filter narrows the hits
+    @Test
+    void search_FacetsAndStatusFilter() {
+        CaseSearchIndex.SearchPage all = index.search(null, null, null, 0, 10);
+
+        assertEquals(3, all.total());
+        assertEquals(2L, all.facets().get(CaseSearchIndex.FACET_STATUS).get("Pending Review"));
+        assertEquals(1L, all.facets().get(CaseSearchIndex.FACET_CATEGORY).get("Transport"));
+        // No keyword: newest first
+        assertEquals("MOP-2026-003", all.hits().get(0).getCaseId());
+
+        assertEquals(List.of("MOP-2026-001"), index.searchIds("acme", "pending_review", 10));
+    }
+
+    // Test: pages are sliced from the ordered hits while the total still counts every match
+    @Test
+    void search_Paging() {
+        CaseSearchIndex.SearchPage second = index.search(null, null, null, 1, 2);
+
+        assertEquals(3, second.total());
+        assertEquals(1, second.hits().size());
+        assertEquals("MOP-2026-001", second.hits().get(0).getCaseId());
+    }
+
+    // Test: outside a transaction updates and deletes are visible to the next search straight away
+    @Test
+    void indexAndDelete_OutsideTransaction() {
+        OnboardingCase renamed = buildCase("MOP-2026-002", "Zenith Freight", "Services", "Transport", "Approved", null, 2);
+        index.indexAfterCommit(renamed);
+
+        assertEquals(List.of("MOP-2026-002"), index.searchIds("zenith", null, 10));
+        assertTrue(index.searchIds("logistics", null, 10).isEmpty());
+
+        index.deleteAfterCommit("MOP-2026-002");
+
+        assertTrue(index.searchIds("zenith", null, 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    // Test: a batch indexed together is searchable as soon as the call returns outside a transaction
+    @Test
+    void indexAllAfterCommit_OutsideTransaction() {
+        index.indexAllAfterCommit(List.of(
+                buildCase("MOP-2026-004", "Delta Dairy", "Retail", "Food & Beverage", "Draft", null, 4),
+                buildCase("MOP-2026-001", "Acme Toys", "Retail", "Toys", "Approved", null, 1)));
+
+        assertEquals(List.of("MOP-2026-004"), index.searchIds("dairy", null, 10));
+        assertEquals(List.of("MOP-2026-001"), index.searchIds("toys", null, 10));
+        assertEquals(4, index.size());
+    }
+
+    // Test: pages beyond the result window are refused instead of collecting every hit before them
+    @Test
+    void search_PageBeyondResultWindow() {
+        ReflectionTestUtils.setField(index, "maxResultWindow", 4);
+
+        assertEquals(1, index.search(null, null, null, 1, 2).hits().size());
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, null, null, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, null, null, Integer.MAX_VALUE, 100));
+    }
+
+    // Test: a change committed while a rebuild is running is held and applied after it, so the stale copy
+    // the rebuild read is replaced and no case is indexed twice
+    @Test
+    void rebuild_AppliesChangesMadeMeanwhile() throws Exception {
+        OnboardingCase stale = buildCase("MOP-2026-001", "Acme Trading Sdn Bhd", "Retail", "Electronics", "Pending Review", null, 1);
+        OnboardingCase renamed = buildCase("MOP-2026-001", "Zenith Trading", "Retail", "Electronics", "Approved", null, 1);
+        index.rebuild(() -> List.of(List.of(stale), List.of(
+                buildCase("MOP-2026-002", "Acme Logistics", "Services", "Transport", "Approved", null, 2))).stream()
+                .peek(batch -> {
+                    if (batch.get(0).getCaseId().equals("MOP-2026-002")) {
+                        // Committed after the first page was read
+                        index.indexAfterCommit(renamed);
+                        index.deleteAfterCommit("MOP-2026-002");
+                    }
+                })
+                .iterator());
+
+        assertEquals(1, index.size());
+        assertEquals(List.of("MOP-2026-001"), index.searchIds("zenith", null, 10));
+        assertEquals(List.of(), index.searchIds("acme", null, 10));
+    }
+
+    // Test: a cleanly closed index is reused, one left behind by a crash asks for a rebuild
+    @Test
+    void needsRebuild_AfterUncleanShutdown() throws Exception {
+        index.close();
+        index = reopen();
+        assertFalse(index.needsRebuild());
+        assertEquals(3, index.size());
+
+        index.indexAfterCommit(buildCase("MOP-2026-004", "Crash Test", "Retail", "Toys", "Draft", null, 4));
+        index.commit();
+        // Simulate a crash: drop the writer without the shutdown commit
+        ((IndexWriter) ReflectionTestUtils.getField(index, "writer")).rollback();
+        index = reopen();
+
+        assertTrue(index.needsRebuild());
+        assertEquals(4, index.size());
+    }
+
+    private CaseSearchIndex reopen() throws Exception {
+        CaseSearchIndex reopened = new CaseSearchIndex();
+        ReflectionTestUtils.setField(reopened, "indexDir", tempDir.toString());
+        reopened.init();
+        return reopened;
+    }
+
+    private OnboardingCase buildCase(String id, String name, String type, String category, String status,
+                                     String registration, int day) {
+        OnboardingCase c = new OnboardingCase();
+        c.setCaseId(id);
+        c.setBusinessName(name);
+        c.setBusinessType(type);
+        c.setMerchantCategory(category);
+        c.setStatus(status);
+        c.setRegistrationNumber(registration);
+        c.setCreatedAt(LocalDateTime.of(2026, 1, day, 9, 0));
+        c.setCreatedDate(LocalDate.of(2026, 1, day));
+        return c;
+    }
+}
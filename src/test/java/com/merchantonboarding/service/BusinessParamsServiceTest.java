@@ -27,6 +27,7 @@ class BusinessParamsServiceTest {
 
     @Mock private BusinessTypeRepository businessTypeRepository;
     @Mock private MerchantCategoryRepository merchantCategoryRepository;
+    @Mock private EntityCacheEvictor entityCacheEvictor;
 
     @InjectMocks
     private BusinessParamsService businessParamsService;
@@ -173,6 +174,7 @@ class BusinessParamsServiceTest {
 
         assertDoesNotThrow(() -> businessParamsService.deleteBusinessType("bt_1"));
         verify(businessTypeRepository).deleteById("bt_1");
+        verify(entityCacheEvictor).evictBusinessParams();
     }
 
     // Test: deleting a non-existent business type throws ResourceNotFoundException (404)
@@ -0,0 +1,138 @@
+package com.merchantonboarding.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.merchantonboarding.model.CaseIdSequence;
+import com.merchantonboarding.repository.CaseIdSequenceRepository;
+import com.merchantonboarding.repository.CaseRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CaseIdGeneratorTest {
+
+    @Mock private CaseIdSequenceRepository sequenceRepository;
+    @Mock private CaseRepository caseRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CaseIdGenerator caseIdGenerator;
+
+    private final int year = LocalDate.now().getYear();
+    private final String prefix = "MOP-" + LocalDate.now().getYear() + "-";
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(caseIdGenerator, "blockSize", 3);
+    }
+
+    // Test: the first block of a year continues after the highest existing case ID instead of restarting at 001
+    @Test
+    void nextCaseId_SeedsFromExistingMax() {
+        when(sequenceRepository.findByYearForUpdate(year)).thenReturn(Optional.empty());
+        when(caseRepository.findMaxSequenceForPrefix(prefix, prefix.length() + 1)).thenReturn(7L);
+
+        assertEquals(prefix + "008", caseIdGenerator.nextCaseId());
+        verify(sequenceRepository).saveAndFlush(argThat(s -> s.getNextValue() == 11L));
+    }
+
+    // Test: IDs inside a reserved block are served from memory — one database round trip per block, not per case
+    @Test
+    void nextCaseId_ServesBlockFromMemory() {
+        CaseIdSequence sequence = new CaseIdSequence(year, 1L, null);
+        when(sequenceRepository.findByYearForUpdate(year)).thenReturn(Optional.of(sequence));
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(caseIdGenerator.nextCaseId());
+        }
+
+        assertEquals(List.of(prefix + "001", prefix + "002", prefix + "003", prefix + "004"), ids);
+        verify(sequenceRepository, times(2)).findByYearForUpdate(year);
+        assertEquals(7L, sequence.getNextValue());
+        verify(caseRepository, never()).findAll();
+    }
+
+    // Test: if another node inserts the year's counter row at the same time, the allocation retries against that row
+    @Test
+    void nextCaseId_RetriesWhenSeededConcurrently() {
+        CaseIdSequence seededElsewhere = new CaseIdSequence(year, 4L, null);
+        when(sequenceRepository.findByYearForUpdate(year))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(seededElsewhere));
+        when(caseRepository.findMaxSequenceForPrefix(anyString(), anyInt())).thenReturn(0L);
+        when(sequenceRepository.saveAndFlush(any(CaseIdSequence.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        assertEquals(prefix + "004", caseIdGenerator.nextCaseId());
+    }
+
+    // Test: a bulk request uses up the current block, then reserves one block big enough for the rest
+    @Test
+    void nextCaseIds_ReservesOneBlockForRemainder() {
+        CaseIdSequence sequence = new CaseIdSequence(year, 1L, null);
+        when(sequenceRepository.findByYearForUpdate(year)).thenReturn(Optional.of(sequence));
+
+        caseIdGenerator.nextCaseId();
+        List<String> ids = caseIdGenerator.nextCaseIds(10);
+
+        assertEquals(10, ids.size());
+        assertEquals(prefix + "002", ids.get(0));
+        assertEquals(prefix + "011", ids.get(9));
+        verify(sequenceRepository, times(2)).findByYearForUpdate(year);
+        // 3 from the first block, then one block of the 8 still needed
+        assertEquals(12L, sequence.getNextValue());
+    }
+
+    // Test: concurrent callers never receive the same ID, even while blocks are being refilled
+    @Test
+    void nextCaseId_ConcurrentCallsAreUnique() throws Exception {
+        AtomicLong counter = new AtomicLong(1);
+        when(sequenceRepository.findByYearForUpdate(year))
+                .thenAnswer(inv -> Optional.of(new CaseIdSequence(year, counter.get(), null)));
+        when(sequenceRepository.saveAndFlush(any(CaseIdSequence.class))).thenAnswer(inv -> {
+            CaseIdSequence s = inv.getArgument(0);
+            counter.set(s.getNextValue());
+            return s;
+        });
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    ids.add(caseIdGenerator.nextCaseId());
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        assertEquals(800, ids.size());
+    }
+}
@@ -0,0 +1,156 @@
+package com.merchantonboarding.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.merchantonboarding.dto.CaseDTO;
+import com.merchantonboarding.model.CaseHistory;
+import com.merchantonboarding.model.Document;
+import com.merchantonboarding.model.OnboardingCase;
+import com.merchantonboarding.model.User;
+import com.merchantonboarding.repository.CaseHistoryRepository;
+import com.merchantonboarding.repository.CaseRepository;
+import com.merchantonboarding.repository.DocumentRepository;
+import com.merchantonboarding.repository.UserRepository;
+
+/**
+ * Guards the list endpoints against N+1 queries: every repository call stands for one SQL statement,
+ * and the number of calls must stay fixed whatever the page size.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CaseServiceQueryCountTest {
+
+    // One statement for the cases, one each for assignees, documents and history
+    private static final int MAX_STATEMENTS_PER_LIST = 4;
+
+    @Mock private CaseRepository caseRepository;
+    @Mock private DocumentRepository documentRepository;
+    @Mock private CaseHistoryRepository caseHistoryRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private NotificationService notificationService;
+    @Mock private CaseIdGenerator caseIdGenerator;
+
+    @InjectMocks
+    private CaseService caseService;
+
+    // Test: each list path issues the same fixed number of statements for 1 case and for 200 cases,
+    // and never touches the lazy documents/history collections of the listed entities
+    @ParameterizedTest
+    @ValueSource(ints = {1, 200})
+    void listEndpoints_UseFixedNumberOfStatements(int pageSize) {
+        List<OnboardingCase> cases = buildCases(pageSize);
+
+        when(caseRepository.findAllByOrderByCreatedAtDescCaseIdDesc(any(Pageable.class))).thenReturn(cases);
+        when(caseRepository.searchCases(anyString(), any(Pageable.class))).thenReturn(cases);
+        when(caseRepository.findByAssignedTo(anyString())).thenReturn(cases);
+        when(caseRepository.findAllById(anyCollection())).thenReturn(cases);
+        when(caseRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(cases, PageRequest.of(0, pageSize), pageSize));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user("USR002", "Jane Smith"), user("USR003", "Sarah Lee")));
+        when(documentRepository.findByCaseIds(anyCollection())).thenReturn(documents(cases));
+        when(caseHistoryRepository.findByCaseIds(anyCollection())).thenReturn(history(cases));
+
+        assertStatementCount(pageSize, () -> caseService.getAllCasesAsList());
+        assertStatementCount(pageSize, () -> caseService.filterCases(null, null));
+        assertStatementCount(pageSize, () -> caseService.filterCases(null, "Trading"));
+        assertStatementCount(pageSize, () -> caseService.searchCases("Trading"));
+        assertStatementCount(pageSize, () -> caseService.getCasesByOfficer("USR002"));
+        assertStatementCount(pageSize, () -> caseService.getAllCases(0, pageSize, null).getContent());
+        assertStatementCount(pageSize, () -> caseService.getCasesByCursor(null, null, pageSize).getItems());
+        assertStatementCount(pageSize, () -> caseService.batchGetCases(
+                cases.stream().map(OnboardingCase::getCaseId).toList()).getCases());
+
+        // Assignee names must come from the batched lookup, never a per-case findById
+        verify(userRepository, never()).findById(anyString());
+        for (OnboardingCase c : cases) {
+            verifyNoInteractions(c.getDocuments(), c.getHistory());
+        }
+    }
+
+    private void assertStatementCount(int pageSize, Supplier<List<CaseDTO>> listCall) {
+        clearInvocations(caseRepository, documentRepository, caseHistoryRepository, userRepository);
+
+        List<CaseDTO> result = listCall.get();
+
+        int statements = invocationCount(caseRepository) + invocationCount(documentRepository)
+                + invocationCount(caseHistoryRepository) + invocationCount(userRepository);
+        assertTrue(statements <= MAX_STATEMENTS_PER_LIST,
+                "Expected at most " + MAX_STATEMENTS_PER_LIST + " statements but was " + statements);
+        assertFalse(result.isEmpty());
+        assertEquals(1, result.get(0).getDocuments().size());
+        assertEquals(1, result.get(0).getHistory().size());
+        assertNotNull(result.get(0).getAssignedToName());
+        assertTrue(result.size() <= pageSize);
+    }
+
+    private int invocationCount(Object mock) {
+        return Mockito.mockingDetails(mock).getInvocations().size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OnboardingCase> buildCases(int count) {
+        List<OnboardingCase> cases = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OnboardingCase c = new OnboardingCase();
+            c.setCaseId(String.format("MOP-2026-%03d", i + 1));
+            c.setBusinessName("Trading " + i);
+            c.setStatus("Pending Review");
+            c.setAssignedTo(i % 2 == 0 ? "USR002" : "USR003");
+            // Stand-ins for lazy collections: any access would show up as an interaction
+            c.setDocuments(mock(List.class));
+            c.setHistory(mock(List.class));
+            cases.add(c);
+        }
+        return cases;
+    }
+
+    private List<Document> documents(List<OnboardingCase> cases) {
+        List<Document> documents = new ArrayList<>();
+        for (OnboardingCase c : cases) {
+            Document d = new Document();
+            d.setId((long) documents.size() + 1);
+            d.setName("cert.pdf");
+            d.setType("Business Registration Certificate");
+            d.setOnboardingCase(c);
+            documents.add(d);
+        }
+        return documents;
+    }
+
+    private List<CaseHistory> history(List<OnboardingCase> cases) {
+        List<CaseHistory> history = new ArrayList<>();
+        for (OnboardingCase c : cases) {
+            CaseHistory h = new CaseHistory();
+            h.setId((long) history.size() + 1);
+            h.setAction("Case created by System");
+            h.setOnboardingCase(c);
+            history.add(h);
+        }
+        return history;
+    }
+
+    private User user(String id, String name) {
+        User u = new User();
+        u.setId(id);
+        u.setName(name);
+        return u;
+    }
+}
@@ -4,37 +4,77 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.merchantonboarding.dto.BulkOperationResultDTO;
+import com.merchantonboarding.dto.CaseBatchGetResultDTO;
 import com.merchantonboarding.dto.CaseDTO;
+import com.merchantonboarding.dto.CasePatchResultDTO;
+import com.merchantonboarding.dto.CaseSummaryDTO;
+import com.merchantonboarding.dto.CursorPageDTO;
+import com.merchantonboarding.dto.DocumentOcrDTO;
+import com.merchantonboarding.exception.PreconditionFailedException;
 import com.merchantonboarding.exception.ResourceNotFoundException;
+import com.merchantonboarding.model.CaseHistory;
+import com.merchantonboarding.model.CaseStatus;
+import com.merchantonboarding.model.Document;
+import com.merchantonboarding.model.DocumentOcrResult;
+import com.merchantonboarding.model.OcrStatus;
 import com.merchantonboarding.model.OnboardingCase;
 import com.merchantonboarding.model.User;
+import com.merchantonboarding.repository.CaseBulkRepository;
+import com.merchantonboarding.repository.CaseHistoryRepository;
 import com.merchantonboarding.repository.CaseRepository;
+import com.merchantonboarding.repository.DocumentOcrResultRepository;
 import com.merchantonboarding.repository.DocumentRepository;
+import com.merchantonboarding.ocr.OcrPipeline;
+import com.merchantonboarding.storage.DocumentDownload;
+import com.merchantonboarding.storage.DocumentStorage;
+import com.merchantonboarding.storage.DocumentStore;
 import com.merchantonboarding.repository.UserRepository;
+import com.merchantonboarding.search.CaseIndexListener;
+import com.merchantonboarding.search.CaseSearchIndex;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
 
 @ExtendWith(MockitoExtension.class)
 class CaseServiceTest {
@@ -43,6 +83,15 @@ class CaseServiceTest {
     @Mock private DocumentRepository documentRepository;
     @Mock private NotificationService notificationService;
     @Mock private UserRepository userRepository;
+    @Mock private CaseHistoryRepository caseHistoryRepository;
+    @Mock private CaseIdGenerator caseIdGenerator;
+    @Mock private EntityManager entityManager;
+    @Mock private CaseBulkRepository caseBulkRepository;
+    @Mock private AuditService auditService;
+    @Mock private DocumentStorage documentStorage;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private DocumentOcrResultRepository documentOcrResultRepository;
+    @Spy private CaseWorkflow caseWorkflow = new CaseWorkflow();
 
     @InjectMocks
     private CaseService caseService;
@@ -53,10 +102,13 @@ class CaseServiceTest {
     private OnboardingCase testCase;
     private CaseDTO testCaseDTO;
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(caseService, "uploadDir", tempDir.toString());
-
         testCase = new OnboardingCase();
         testCase.setCaseId("MOP-2026-001");
         testCase.setBusinessName("ABC Trading Sdn Bhd");
@@ -70,7 +122,7 @@ class CaseServiceTest {
         testCase.setDirectorEmail("john@gmail.com");
         testCase.setStatus("Pending Review");
         testCase.setAssignedTo("USR003");
-        testCase.setCreatedDate("2026-04-01");
+        testCase.setCreatedDate(LocalDate.of(2026, 4, 1));
         testCase.setDocuments(new ArrayList<>());
         testCase.setHistory(new ArrayList<>());
 
@@ -93,7 +145,7 @@ class CaseServiceTest {
     @Test
     void getAllCases_WithStatus() {
         Page<OnboardingCase> page = new PageImpl<>(List.of(testCase));
-        when(caseRepository.findByStatusOrderByCreatedAtDesc(eq("Pending Review"), any(Pageable.class)))
+        when(caseRepository.findByStatusCodeOrderByCreatedAtDesc(eq(CaseStatus.PENDING_REVIEW), any(Pageable.class)))
                 .thenReturn(page);
 
         Page<CaseDTO> result = caseService.getAllCases(0, 10, "Pending Review");
@@ -116,7 +168,7 @@ class CaseServiceTest {
     // Test: getAllCasesAsList returns all cases as a sorted flat list (used for dropdowns or exports, not paginated)
     @Test
     void getAllCasesAsList_ReturnsSortedList() {
-        when(caseRepository.findAll(any(Sort.class))).thenReturn(List.of(testCase));
+        when(caseRepository.findAllByOrderByCreatedAtDescCaseIdDesc(any(Pageable.class))).thenReturn(List.of(testCase));
 
         List<CaseDTO> result = caseService.getAllCasesAsList();
 
@@ -124,6 +176,153 @@ class CaseServiceTest {
         assertEquals("MOP-2026-001", result.get(0).getCaseId());
     }
 
+    // Test: the flat list is capped so a single request cannot pull the whole table into memory
+    @Test
+    void getAllCasesAsList_IsCapped() {
+        ReflectionTestUtils.setField(caseService, "maxListSize", 25);
+        when(caseRepository.findAllByOrderByCreatedAtDescCaseIdDesc(any(Pageable.class))).thenReturn(List.of(testCase));
+
+        caseService.getAllCasesAsList();
+
+        verify(caseRepository).findAllByOrderByCreatedAtDescCaseIdDesc(argThat(p -> p.getPageSize() == 25));
+    }
+
+    // ─── getCasesByCursor() ─────────────────────────────────
+
+    // Test: when more rows exist than the limit, the page is trimmed and a cursor for the next page is returned
+    @Test
+    void getCasesByCursor_FirstPageHasNextCursor() {
+        testCase.setCreatedAt(LocalDateTime.of(2026, 4, 1, 10, 0));
+        OnboardingCase older = new OnboardingCase();
+        older.setCaseId("MOP-2026-000");
+        older.setCreatedAt(LocalDateTime.of(2026, 3, 1, 10, 0));
+        when(caseRepository.findAllByOrderByCreatedAtDescCaseIdDesc(argThat(p -> p.getPageSize() == 2)))
+                .thenReturn(List.of(testCase, older));
+
+        CursorPageDTO<CaseDTO> page = caseService.getCasesByCursor(null, null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+
+        // Following the cursor seeks past the last returned row instead of using an offset
+        when(caseRepository.findPageAfter(eq(testCase.getCreatedAt()), eq("MOP-2026-001"), any(Pageable.class)))
+                .thenReturn(List.of(older));
+
+        CursorPageDTO<CaseDTO> next = caseService.getCasesByCursor(null, page.getNextCursor(), 1);
+
+        assertEquals("MOP-2026-000", next.getItems().get(0).getCaseId());
+        assertFalse(next.isHasMore());
+        assertNull(next.getNextCursor());
+    }
+
+    // Test: a status filter uses the status-scoped keyset query
+    @Test
+    void getCasesByCursor_WithStatus() {
+        when(caseRepository.findByStatusCodeOrderByCreatedAtDescCaseIdDesc(eq(CaseStatus.PENDING_REVIEW), any(Pageable.class)))
+                .thenReturn(List.of(testCase));
+
+        CursorPageDTO<CaseDTO> page = caseService.getCasesByCursor("Pending Review", null, 20);
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+    }
+
+    // Test: a tampered or garbage cursor is rejected as a bad request rather than causing a server error
+    @Test
+    void getCasesByCursor_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> caseService.getCasesByCursor(null, "not-a-cursor", 20));
+    }
+
+    // ─── streamCases() ──────────────────────────────────────
+
+    // Test: streaming writes a JSON array row by row, detaches every entity once written,
+    // resolves assignee names from one up-front user lookup and never touches the lazy collections
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamCases_WritesJsonArrayAndDetaches() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ReflectionTestUtils.setField(caseService, "objectMapper", objectMapper);
+        testCase.setAssignedTo("USR002");
+        testCase.setDocuments(mock(List.class));
+        testCase.setHistory(mock(List.class));
+        OnboardingCase second = new OnboardingCase();
+        second.setCaseId("MOP-2026-002");
+        second.setBusinessName("XYZ Retail");
+        User officer = new User();
+        officer.setId("USR002");
+        officer.setName("Jane Smith");
+        when(userRepository.findAll()).thenReturn(List.of(officer));
+        when(caseRepository.streamAll()).thenReturn(Stream.of(testCase, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        caseService.streamCases(null, out);
+
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertEquals(2, json.size());
+        assertEquals("MOP-2026-001", json.get(0).get("caseId").asText());
+        assertEquals("Jane Smith", json.get(0).get("assignedToName").asText());
+        assertEquals("XYZ Retail", json.get(1).get("businessName").asText());
+        verify(entityManager).detach(testCase);
+        verify(entityManager).detach(second);
+        verify(userRepository, never()).findById(anyString());
+        verifyNoInteractions(testCase.getDocuments(), testCase.getHistory());
+    }
+
+    // Test: a status filter streams from the status_code query
+    @Test
+    void streamCases_WithStatus() throws Exception {
+        ReflectionTestUtils.setField(caseService, "objectMapper", new ObjectMapper());
+        when(caseRepository.streamByStatusCode(CaseStatus.APPROVED)).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        caseService.streamCases("Approved", out);
+
+        assertEquals("[]", out.toString());
+        verify(caseRepository, never()).streamAll();
+    }
+
+    // ─── getCaseSummaries() ─────────────────────────────────
+
+    // Test: summaries come straight from the projection query, page with the same cursor scheme,
+    // and never hydrate entities, documents or history
+    @Test
+    void getCaseSummaries_PagesWithCursor() {
+        LocalDateTime newerAt = LocalDateTime.of(2026, 4, 1, 10, 0);
+        LocalDateTime olderAt = LocalDateTime.of(2026, 3, 1, 10, 0);
+        CaseSummaryDTO newer = new CaseSummaryDTO("MOP-2026-002", "Newer Trading", "Retail", "Food",
+                "Pending Review", "USR002", "Jane Smith", "2026-04-01", "2026-04-01 10:00", newerAt);
+        CaseSummaryDTO older = new CaseSummaryDTO("MOP-2026-001", "Older Trading", "Retail", "Food",
+                "Pending Review", null, null, "2026-03-01", "2026-03-01 10:00", olderAt);
+        when(caseRepository.findSummaries(argThat(p -> p.getPageSize() == 2))).thenReturn(List.of(newer, older));
+
+        CursorPageDTO<CaseSummaryDTO> page = caseService.getCaseSummaries(null, null, 1);
+
+        assertEquals(List.of(newer), page.getItems());
+        assertTrue(page.isHasMore());
+
+        when(caseRepository.findSummariesAfter(eq(newerAt), eq("MOP-2026-002"), any(Pageable.class)))
+                .thenReturn(List.of(older));
+
+        CursorPageDTO<CaseSummaryDTO> next = caseService.getCaseSummaries(null, page.getNextCursor(), 1);
+
+        assertEquals(List.of(older), next.getItems());
+        assertNull(next.getNextCursor());
+        verifyNoInteractions(documentRepository, caseHistoryRepository, userRepository);
+    }
+
+    // Test: the status filter and the officer view use their own projection queries
+    @Test
+    void getCaseSummaries_ByStatusAndOfficer() {
+        when(caseRepository.findSummariesByStatus(eq(CaseStatus.APPROVED), any(Pageable.class))).thenReturn(List.of());
+        when(caseRepository.findSummariesByAssignedTo(eq("USR002"), any(Pageable.class))).thenReturn(List.of());
+
+        assertTrue(caseService.getCaseSummaries("Approved", null, 20).getItems().isEmpty());
+        assertTrue(caseService.getCaseSummariesByOfficer("USR002").isEmpty());
+        verify(caseRepository, never()).findByAssignedTo(anyString());
+    }
+
     // ─── createCase() ──────────────────────────────────────
 
     // Test: creating a new case saves it to the database and returns the correct business name
@@ -146,13 +345,185 @@ class CaseServiceTest {
     @Test
     void createCase_GeneratesCaseId() {
         testCaseDTO.setCaseId(null);
-        when(caseRepository.findAll()).thenReturn(Collections.emptyList());
+        when(caseIdGenerator.nextCaseId()).thenReturn("MOP-2026-001");
         when(caseRepository.save(any(OnboardingCase.class))).thenAnswer(inv -> inv.getArgument(0));
 
         CaseDTO result = caseService.createCase(testCaseDTO);
 
         assertNotNull(result.getCaseId());
         assertTrue(result.getCaseId().startsWith("MOP-2026-"));
+        // ID generation must not scan the cases table
+        verify(caseRepository, never()).findAll();
+    }
+
+    // ─── bulkCreateCases() ──────────────────────────────────
+
+    // Test: valid items are inserted together with their history rows, invalid or already existing items are
+    // reported per item in request order, and the batch gets one audit entry, one notification round
+    // and one search index update
+    @Test
+    void bulkCreateCases_MixedResults() {
+        ReflectionTestUtils.setField(caseService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        CaseSearchIndex searchIndex = mock(CaseSearchIndex.class);
+        ReflectionTestUtils.setField(caseService, "caseSearchIndex", searchIndex);
+        CaseDTO invalid = new CaseDTO();
+        invalid.setBusinessName("X");
+        CaseDTO existing = new CaseDTO();
+        existing.setCaseId("MOP-2026-001");
+        existing.setBusinessName("Existing Trading");
+        existing.setBusinessType("Sdn Bhd");
+        existing.setRegistrationNumber("123456789012");
+        existing.setMerchantCategory("Retail");
+        existing.setBusinessAddress("No. 1, Jalan Ampang, 50450 Kuala Lumpur");
+        existing.setDirectorName("Jane Doe");
+        existing.setDirectorIC("900101141235");
+        when(caseRepository.findExistingIds(anyCollection())).thenReturn(List.of("MOP-2026-001"));
+        when(caseIdGenerator.nextCaseIds(2)).thenReturn(List.of("MOP-2026-101", "MOP-2026-102"));
+
+        BulkOperationResultDTO result = caseService.bulkCreateCases(List.of(testCaseDTO, invalid, existing, testCaseDTO));
+
+        assertEquals(4, result.getRequested());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+        assertEquals("MOP-2026-101", result.getResults().get(0).getCaseId());
+        assertFalse(result.getResults().get(1).isSuccess());
+        assertTrue(result.getResults().get(1).getError().contains("Business name must be between 2 and 100 characters"));
+        assertEquals("Case already exists with id: MOP-2026-001", result.getResults().get(2).getError());
+        assertEquals("MOP-2026-102", result.getResults().get(3).getCaseId());
+
+        verify(caseBulkRepository).insertCases(argThat(cases -> cases.size() == 2
+                && cases.get(0).getCreatedAt() != null && cases.get(0).getStatusCode() == CaseStatus.PENDING_REVIEW));
+        verify(caseBulkRepository).insertHistory(argThat(history -> history.size() == 2
+                && history.get(1).getOnboardingCase().getCaseId().equals("MOP-2026-102")));
+        verify(caseRepository, never()).save(any(OnboardingCase.class));
+        verify(auditService).logAction(eq("BULK_CREATE_CASES"), eq("Case"), isNull(), isNull(), isNull(),
+                eq("PARTIAL"), startsWith("Created 2 of 4 cases"));
+        verify(notificationService).notifyCasesCreated(2, Map.of("USR003", 2L));
+        verify(notificationService, never()).notifyCaseCreated(any(), any(), any(), any());
+        verify(searchIndex).indexAllAfterCommit(argThat(cases -> cases.size() == 2));
+        verify(searchIndex, never()).indexAfterCommit(any());
+    }
+
+    // Test: a request over the bulk limit is rejected before anything is written
+    @Test
+    void bulkCreateCases_TooManyItems() {
+        ReflectionTestUtils.setField(caseService, "maxBulkItems", 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> caseService.bulkCreateCases(List.of(testCaseDTO, testCaseDTO)));
+        verifyNoInteractions(caseBulkRepository, auditService);
+    }
+
+    // Test: a bulk status change loads all cases in one query, applies the single-case rules to each
+    // (final cases and approvals of someone else's case fail), batches history and notifies each assignee once
+    @Test
+    void bulkUpdateCaseStatus_AppliesRulesPerCase() {
+        Authentication auth = mock(Authentication.class);
+        when(auth.getName()).thenReturn("sarah@merchant.com");
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(auth);
+        SecurityContextHolder.setContext(securityContext);
+        when(auth.getAuthorities()).thenReturn((java.util.Collection) List.of(new SimpleGrantedAuthority("CASE_MANAGEMENT")));
+        User sarah = new User();
+        sarah.setId("USR003");
+        when(userRepository.findByEmail("sarah@merchant.com")).thenReturn(Optional.of(sarah));
+        OnboardingCase otherOfficer = bulkCase("MOP-2026-002", "Pending Review", "USR002");
+        OnboardingCase rejected = bulkCase("MOP-2026-003", "Rejected", "USR003");
+        when(caseRepository.findAllById(anyCollection())).thenReturn(List.of(testCase, otherOfficer, rejected));
+
+        BulkOperationResultDTO result = caseService.bulkUpdateCaseStatus(
+                List.of("MOP-2026-001", "MOP-2026-002", "MOP-2026-003", "MOP-2026-404", "MOP-2026-001"), "approved");
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(4, result.getFailed());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals("Only the assigned reviewer can approve or reject case MOP-2026-002", result.getResults().get(1).getError());
+        assertTrue(result.getResults().get(2).getError().startsWith("Case already has a final decision"));
+        assertEquals("Case not found with id: MOP-2026-404", result.getResults().get(3).getError());
+        assertEquals("Duplicate case id in request: MOP-2026-001", result.getResults().get(4).getError());
+        assertEquals(CaseStatus.APPROVED, testCase.getStatusCode());
+        assertEquals(CaseStatus.PENDING_REVIEW, otherOfficer.getStatusCode());
+
+        verify(caseRepository).saveAllAndFlush(List.of(testCase));
+        verify(caseBulkRepository).insertHistory(argThat(history -> history.size() == 1
+                && history.get(0).getAction().equals("Status changed from 'Pending Review' to 'Approved'")));
+        verify(caseRepository, never()).findById(anyString());
+        verify(auditService).logAction(eq("BULK_UPDATE_STATUS"), eq("Case"), isNull(), eq("sarah@merchant.com"),
+                eq("sarah@merchant.com"), eq("PARTIAL"), anyString());
+        verify(notificationService).notifyCaseStatusesChanged("Approved", Map.of("USR003", 1L));
+        verify(notificationService, never()).notifyCaseStatusChanged(any(), any(), any(), any(), any(), any());
+
+        SecurityContextHolder.clearContext();
+    }
+
+    // Test: bulk status changes leave the documents guard to case edits, so submitting drafts in bulk
+    // neither queries document presence nor loads any case's document collection
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkUpdateCaseStatus_LeavesDocumentsUnloaded() {
+        authenticateAs("USR001", "CASE_CREATION");
+        OnboardingCase withDocuments = bulkCase("MOP-2026-002", "Draft", null);
+        OnboardingCase empty = bulkCase("MOP-2026-003", "Draft", null);
+        List<Document> lazyDocuments = mock(List.class);
+        withDocuments.setDocuments(lazyDocuments);
+        empty.setDocuments(lazyDocuments);
+        when(caseRepository.findAllById(anyCollection())).thenReturn(List.of(withDocuments, empty));
+
+        BulkOperationResultDTO result = caseService.bulkUpdateCaseStatus(
+                List.of("MOP-2026-002", "MOP-2026-003"), "pending_review");
+
+        assertEquals(2, result.getSucceeded());
+        verify(documentRepository, never()).findCaseIdsWithDocuments(anyCollection());
+        verifyNoInteractions(lazyDocuments);
+    }
+
+    // Test: a bulk reassignment resolves all assignee names in one query, skips cases already with the
+    // reviewer, writes the history rows in one batch, sends the reviewer a single notification and updates
+    // the search index once instead of once per saved case
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkAssignCases_GroupsHistoryAndNotification() {
+        CaseSearchIndex searchIndex = mock(CaseSearchIndex.class);
+        ReflectionTestUtils.setField(caseService, "caseSearchIndex", searchIndex);
+        CaseIndexListener listener = new CaseIndexListener();
+        ObjectProvider<CaseSearchIndex> indexProvider = mock(ObjectProvider.class);
+        lenient().doAnswer(inv -> {
+            ((Consumer<CaseSearchIndex>) inv.getArgument(0)).accept(searchIndex);
+            return null;
+        }).when(indexProvider).ifAvailable(any());
+        ReflectionTestUtils.setField(listener, "caseSearchIndex", indexProvider);
+        // The flush fires the entity listener for every saved case
+        when(caseRepository.saveAllAndFlush(anyList())).thenAnswer(inv -> {
+            ((List<OnboardingCase>) inv.getArgument(0)).forEach(listener::onSave);
+            return inv.getArgument(0);
+        });
+        OnboardingCase unassigned = bulkCase("MOP-2026-002", "Pending Review", null);
+        OnboardingCase alreadyAssigned = bulkCase("MOP-2026-003", "Pending Review", "USR002");
+        when(caseRepository.findAllById(anyCollection())).thenReturn(List.of(testCase, unassigned, alreadyAssigned));
+        User jane = new User();
+        jane.setId("USR002");
+        jane.setName("Jane Smith");
+        User sarah = new User();
+        sarah.setId("USR003");
+        sarah.setName("Sarah Lee");
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(jane, sarah));
+
+        BulkOperationResultDTO result = caseService.bulkAssignCases(
+                List.of("MOP-2026-001", "MOP-2026-002", "MOP-2026-003"), "USR002");
+
+        assertEquals(3, result.getSucceeded());
+        assertEquals("USR002", testCase.getAssignedTo());
+        assertEquals("USR002", unassigned.getAssignedTo());
+        verify(caseRepository).saveAllAndFlush(List.of(testCase, unassigned));
+        verify(caseBulkRepository).insertHistory(argThat(history -> history.size() == 2
+                && history.get(0).getAction().equals("Case reassigned from 'Sarah Lee' to 'Jane Smith'")
+                && history.get(1).getAction().equals("Case assigned to 'Jane Smith'")));
+        verify(userRepository, never()).findById(anyString());
+        verify(notificationService).notifyCasesAssigned("USR002", 2);
+        verify(notificationService, never()).notifyCaseAssigned(any(), any(), any(), any());
+        verify(searchIndex).indexAllAfterCommit(List.of(testCase, unassigned));
+        verify(searchIndex, never()).indexAfterCommit(any());
     }
 
     // ─── saveDraft() ──────────────────────────────────────
@@ -160,7 +531,7 @@ class CaseServiceTest {
     // Test: saving a draft sets the status to "Draft" and does NOT send any notifications (drafts are private)
     @Test
     void saveDraft_Success() {
-        when(caseRepository.findAll()).thenReturn(Collections.emptyList());
+        when(caseIdGenerator.nextCaseId()).thenReturn("MOP-2026-002");
         when(caseRepository.save(any(OnboardingCase.class))).thenAnswer(inv -> inv.getArgument(0));
 
         CaseDTO result = caseService.saveDraft(testCaseDTO);
@@ -237,7 +608,7 @@ class CaseServiceTest {
 
         assertNotNull(result);
         // History should include status change entry
-        assertFalse(result.getHistory().isEmpty());
+        verify(caseHistoryRepository).save(argThat(h -> h.getAction().equals("Status changed from 'Pending Review' to 'Background Verification'")));
 
         SecurityContextHolder.clearContext();
     }
@@ -262,6 +633,109 @@ class CaseServiceTest {
                 () -> caseService.updateCase("MOP-2026-001", testCaseDTO));
     }
 
+    // ─── batchGetCases() ──────────────────────────────────────
+
+    // Test: batch-get runs one query, keeps request order, drops duplicates and reports missing ids
+    @Test
+    void batchGetCaseSummaries_FoundAndMissing() {
+        CaseSummaryDTO first = new CaseSummaryDTO();
+        first.setCaseId("MOP-2026-001");
+        CaseSummaryDTO second = new CaseSummaryDTO();
+        second.setCaseId("MOP-2026-002");
+        when(caseRepository.findSummariesByCaseIds(anyCollection())).thenReturn(List.of(first, second));
+
+        CaseBatchGetResultDTO<CaseSummaryDTO> result = caseService.batchGetCaseSummaries(
+                List.of("MOP-2026-002", "MOP-2026-404", "MOP-2026-001", "MOP-2026-002"));
+
+        assertEquals(List.of(second, first), result.getCases());
+        assertEquals(List.of("MOP-2026-404"), result.getMissing());
+        verify(caseRepository).findSummariesByCaseIds(argThat(ids -> ids.size() == 3));
+        verify(caseRepository, never()).findById(anyString());
+    }
+
+    // Test: batch-get refuses requests over the configured id limit
+    @Test
+    void batchGetCases_TooManyIds() {
+        ReflectionTestUtils.setField(caseService, "maxBatchGetIds", 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> caseService.batchGetCases(List.of("MOP-2026-001", "MOP-2026-002", "MOP-2026-003")));
+        verifyNoInteractions(caseRepository);
+    }
+
+    // ─── patchCase() ──────────────────────────────────────
+
+    // Test: a merge patch touches only the supplied fields, and history/audit carry just the changed ones
+    @Test
+    void patchCase_AppliesOnlyChangedFields() {
+        authenticateAs("USR001", "CASE_CREATION");
+        ReflectionTestUtils.setField(caseService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(caseService, "objectMapper", new ObjectMapper());
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+        Map<String, Object> patch = new java.util.LinkedHashMap<>();
+        patch.put("businessName", "ABC Trading Sdn Bhd");
+        patch.put("directorPhone", "0129999999");
+
+        CasePatchResultDTO result = caseService.patchCase("MOP-2026-001", patch, null);
+
+        assertEquals(List.of("directorPhone"), result.getChangedFields());
+        assertEquals("0129999999", testCase.getDirectorPhone());
+        verify(caseHistoryRepository).save(argThat(h -> h.getAction().startsWith("Updated directorPhone by ")));
+        verify(auditService).logAction(eq("PATCH_CASE"), eq("Case"), eq("MOP-2026-001"), eq("usr001@bank.com"),
+                eq("usr001@bank.com"), eq("SUCCESS"), eq("{\"directorPhone\":[\"0121234567\",\"0129999999\"]}"));
+        verify(caseRepository).flush();
+        verify(caseRepository, never()).save(any(OnboardingCase.class));
+    }
+
+    // Test: a patch that changes nothing writes nothing (no flush, history or audit)
+    @Test
+    void patchCase_NoChangeSkipsWrite() {
+        authenticateAs("USR001", "CASE_CREATION");
+        ReflectionTestUtils.setField(caseService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+
+        CasePatchResultDTO result = caseService.patchCase("MOP-2026-001", Map.of("directorName", "John Doe"), null);
+
+        assertTrue(result.getChangedFields().isEmpty());
+        verify(caseRepository, never()).flush();
+        verifyNoInteractions(caseHistoryRepository, auditService);
+    }
+
+    // Test: submitted cases validate each patched value; unknown or non-patchable fields are rejected
+    @Test
+    void patchCase_RejectsInvalidAndUnknownFields() {
+        authenticateAs("USR001", "CASE_CREATION");
+        ReflectionTestUtils.setField(caseService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+
+        IllegalArgumentException invalid = assertThrows(IllegalArgumentException.class,
+                () -> caseService.patchCase("MOP-2026-001", Map.of("registrationNumber", "123"), null));
+        assertEquals("Registration Number must have 12 numbers.", invalid.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> caseService.patchCase("MOP-2026-001", Map.of("status", "Approved"), null));
+        assertEquals("123456789012", testCase.getRegistrationNumber());
+    }
+
+    // Test: assignment is not patchable (it goes through assignCase), and a draft's NOT NULL business name
+    // cannot be cleared even though drafts skip value validation
+    @Test
+    void patchCase_RejectsAssignmentAndNullRequiredField() {
+        authenticateAs("USR001", "CASE_CREATION");
+        testCase.setStatus("Draft");
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+        Map<String, Object> clearName = new java.util.HashMap<>();
+        clearName.put("businessName", null);
+
+        IllegalArgumentException nullName = assertThrows(IllegalArgumentException.class,
+                () -> caseService.patchCase("MOP-2026-001", clearName, null));
+        assertEquals("Field 'businessName' cannot be null", nullName.getMessage());
+        IllegalArgumentException assign = assertThrows(IllegalArgumentException.class,
+                () -> caseService.patchCase("MOP-2026-001", Map.of("assignedTo", "USR002"), null));
+        assertEquals("Field 'assignedTo' cannot be patched", assign.getMessage());
+        assertEquals("ABC Trading Sdn Bhd", testCase.getBusinessName());
+        verify(caseRepository, never()).flush();
+    }
+
     // ─── deleteCase() ──────────────────────────────────────
 
     // Test: deleting an existing case succeeds and calls deleteById on the repository
@@ -269,8 +743,12 @@ class CaseServiceTest {
     void deleteCase_Success() {
         when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
 
+        Document document = new Document();
+        testCase.getDocuments().add(document);
+
         assertDoesNotThrow(() -> caseService.deleteCase("MOP-2026-001"));
         verify(caseRepository).deleteById("MOP-2026-001");
+        verify(documentStorage).release(document);
     }
 
     // Test: deleting a non-existent case throws ResourceNotFoundException (404)
@@ -287,6 +765,7 @@ class CaseServiceTest {
     // Test: updating case status (e.g. to "Background Verification") changes the status field successfully
     @Test
     void updateCaseStatus_Success() {
+        authenticateAs("USR003", "CASE_MANAGEMENT");
         when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
         when(caseRepository.save(any(OnboardingCase.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -295,9 +774,47 @@ class CaseServiceTest {
         assertEquals("Background Verification", result.getStatus());
     }
 
+    // Test: a status change sent with a stale If-Match version is rejected before anything is written
+    @Test
+    void updateCaseStatus_StaleVersion() {
+        testCase.setVersion(3L);
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> caseService.updateCaseStatus("MOP-2026-001", "Background Verification", 2L));
+        verify(caseRepository, never()).save(any());
+        verify(caseHistoryRepository, never()).save(any());
+    }
+
+    // Test: a matching If-Match version lets the change through, flushed so the returned version is current
+    @Test
+    void updateCaseStatus_MatchingVersion() {
+        authenticateAs("USR003", "CASE_MANAGEMENT");
+        testCase.setVersion(3L);
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+        when(caseRepository.save(any(OnboardingCase.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        CaseDTO result = caseService.updateCaseStatus("MOP-2026-001", "Background Verification", 3L);
+
+        assertEquals("Background Verification", result.getStatus());
+        verify(caseRepository).flush();
+    }
+
+    // Test: the version lookup for conditional GETs is a scalar query and 404s for unknown cases
+    @Test
+    void getCaseVersion_UsesScalarQuery() {
+        when(caseRepository.findVersionByCaseId("MOP-2026-001")).thenReturn(Optional.of(7L));
+        when(caseRepository.findVersionByCaseId("MOP-9999-999")).thenReturn(Optional.empty());
+
+        assertEquals(7L, caseService.getCaseVersion("MOP-2026-001"));
+        assertThrows(ResourceNotFoundException.class, () -> caseService.getCaseVersion("MOP-9999-999"));
+        verify(caseRepository, never()).findById(anyString());
+    }
+
     // Test: when a case is rejected, the system records which stage it was rejected at (e.g. "Compliance Review")
     @Test
     void updateCaseStatus_Rejected_TracksStage() {
+        authenticateAs("USR003", "CASE_MANAGEMENT");
         testCase.setStatus("Compliance Review");
         when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
         when(caseRepository.save(any(OnboardingCase.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -308,6 +825,56 @@ class CaseServiceTest {
         assertEquals("Compliance Review", result.getRejectedAtStage());
     }
 
+    // Test: a status given in code or query form is stored as the canonical label and code
+    @Test
+    void updateCaseStatus_NormalizesStatus() {
+        authenticateAs("USR003", "CASE_MANAGEMENT");
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+        when(caseRepository.save(any(OnboardingCase.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        CaseDTO result = caseService.updateCaseStatus("MOP-2026-001", "background_verification");
+
+        assertEquals("Background Verification", result.getStatus());
+        assertEquals(CaseStatus.BACKGROUND_VERIFICATION, testCase.getStatusCode());
+    }
+
+    // Test: approving a case assigned to someone else is refused as 403, before anything is saved
+    @Test
+    void updateCaseStatus_ApproveByNonAssignee() {
+        authenticateAs("USR002", "CASE_MANAGEMENT");
+        testCase.setStatus("Compliance Review");
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+
+        assertThrows(AccessDeniedException.class,
+                () -> caseService.updateCaseStatus("MOP-2026-001", "Approved"));
+        verify(caseRepository, never()).save(any(OnboardingCase.class));
+    }
+
+    // Test: allowed transitions list every status the caller can move the case to, in workflow order,
+    // with approve/reject only for the assignee
+    @Test
+    void getAllowedTransitions_ForAssignedReviewer() {
+        authenticateAs("USR003", "CASE_MANAGEMENT");
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+
+        assertEquals(List.of("Draft", "Pending Review", "Background Verification", "Compliance Review", "Approved", "Rejected"),
+                caseService.getAllowedTransitions("MOP-2026-001"));
+
+        authenticateAs("USR002", "CASE_MANAGEMENT");
+        assertEquals(List.of("Draft", "Pending Review", "Background Verification", "Compliance Review"),
+                caseService.getAllowedTransitions("MOP-2026-001"));
+    }
+
+    // Test: an unknown status is rejected before anything is saved
+    @Test
+    void updateCaseStatus_UnknownStatus() {
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> caseService.updateCaseStatus("MOP-2026-001", "On Hold"));
+        verify(caseRepository, never()).save(any(OnboardingCase.class));
+    }
+
     // ─── assignCase() ──────────────────────────────────────
 
     // Test: assigning a case to a reviewer updates the assignedTo field and sends a notification to the assignee
@@ -344,17 +911,44 @@ class CaseServiceTest {
                 "file", "business_cert.pdf", "application/pdf", "PDF content".getBytes());
         String[] types = {"Business Registration Certificate"};
 
+        DocumentStorage.StoredContent content = new DocumentStorage.StoredContent("ab".repeat(32), 11, tempDir.resolve("f").toString());
+        when(caseRepository.existsById("MOP-2026-001")).thenReturn(true);
+        when(documentStorage.storeAll(List.of(file))).thenReturn(List.of(content));
+
         CaseDTO result = caseService.uploadDocuments("MOP-2026-001",
                 new org.springframework.web.multipart.MultipartFile[]{file}, types);
 
         assertNotNull(result);
+        assertEquals(11L, result.getDocuments().get(0).getSizeBytes());
+        assertEquals("ab".repeat(32), result.getDocuments().get(0).getContentHash());
     }
 
-    // Test: uploading a dangerous file type (.exe) is rejected — only safe file types (PDF, images) are allowed (security)
+    // Test: re-uploading a document type reuses the row and releases the old content instead of deleting it outright
     @Test
-    void uploadDocuments_InvalidFileType() {
+    void uploadDocuments_ReplacesExistingType() {
+        Document existing = new Document();
+        existing.setType("Business Registration Certificate");
+        existing.setContentHash("cd".repeat(32));
+        testCase.getDocuments().add(existing);
         when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+        when(caseRepository.save(any(OnboardingCase.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(caseRepository.existsById("MOP-2026-001")).thenReturn(true);
+        when(documentStorage.storeAll(anyList())).thenReturn(
+                List.of(new DocumentStorage.StoredContent("ab".repeat(32), 11, tempDir.resolve("f").toString())));
+
+        caseService.uploadDocuments("MOP-2026-001", new org.springframework.web.multipart.MultipartFile[]{
+                new MockMultipartFile("file", "cert_v2.pdf", "application/pdf", "PDF content".getBytes())},
+                new String[]{"Business Registration Certificate"});
+
+        assertEquals(1, testCase.getDocuments().size());
+        assertEquals("ab".repeat(32), existing.getContentHash());
+        assertEquals("cert_v2.pdf", existing.getName());
+        verify(documentStorage).release(argThat(d -> d == existing));
+    }
 
+    // Test: uploading a dangerous file type (.exe) is rejected — only safe file types (PDF, images) are allowed (security)
+    @Test
+    void uploadDocuments_InvalidFileType() {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "malware.exe", "application/octet-stream", "content".getBytes());
         String[] types = {"Other"};
@@ -364,23 +958,155 @@ class CaseServiceTest {
                         new org.springframework.web.multipart.MultipartFile[]{file}, types));
     }
 
+    // Test: files are written before the transaction starts, and removed again if the commit fails
+    @Test
+    void uploadDocuments_DiscardsFilesWhenCommitFails() {
+        MockMultipartFile first = new MockMultipartFile("file", "a.pdf", "application/pdf", "A".getBytes());
+        MockMultipartFile second = new MockMultipartFile("file", "b.png", "image/png", "B".getBytes());
+        List<DocumentStorage.StoredContent> stored = List.of(
+                new DocumentStorage.StoredContent("aa".repeat(32), 1, tempDir.resolve("a").toString()),
+                new DocumentStorage.StoredContent("bb".repeat(32), 1, tempDir.resolve("b").toString()));
+        when(caseRepository.existsById("MOP-2026-001")).thenReturn(true);
+        when(documentStorage.storeAll(List.of(first, second))).thenReturn(stored);
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+        when(caseRepository.save(any(OnboardingCase.class))).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> caseService.uploadDocuments("MOP-2026-001",
+                new org.springframework.web.multipart.MultipartFile[]{first, second}, null));
+
+        InOrder inOrder = inOrder(documentStorage, transactionManager);
+        inOrder.verify(documentStorage).storeAll(anyList());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(transactionManager).rollback(any());
+        verify(documentStorage).discard(stored);
+    }
+
+    // Test: nothing is written to storage for a case that does not exist
+    @Test
+    void uploadDocuments_CaseNotFound() {
+        when(caseRepository.existsById("NONEXISTENT")).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> caseService.uploadDocuments("NONEXISTENT",
+                new org.springframework.web.multipart.MultipartFile[]{
+                        new MockMultipartFile("file", "a.pdf", "application/pdf", "A".getBytes())}, null));
+        verifyNoInteractions(documentStorage);
+    }
+
+    // ─── getDocumentDownload() ──────────────────────────────
+
+    // Test: downloads take type, size and ETag from the document row rather than probing the file
+    @Test
+    void getDocumentDownload_UsesStoredMetadata() throws Exception {
+        Path file = tempDir.resolve("scan");
+        Document document = new Document();
+        document.setName("cert.pdf");
+        document.setFilePath(file.toString());
+        document.setContentType("application/pdf");
+        document.setSizeBytes(11L);
+        document.setContentHash("ab".repeat(32));
+        document.setOnboardingCase(testCase);
+        when(documentRepository.findById(7L)).thenReturn(Optional.of(document));
+        when(documentStorage.stat(document)).thenReturn(new DocumentStore.ObjectInfo(11, 1000L));
+        when(documentStorage.localPath(document)).thenReturn(file);
+
+        DocumentDownload download = caseService.getDocumentDownload("MOP-2026-001", 7L);
+
+        assertEquals("application/pdf", download.contentType());
+        assertEquals(11, download.size());
+        assertEquals("\"" + "ab".repeat(32) + "\"", download.etag());
+        assertEquals(file.toAbsolutePath(), download.path());
+        assertThrows(ResourceNotFoundException.class, () -> caseService.getDocumentDownload("MOP-2026-002", 7L));
+
+        when(documentStorage.stat(document)).thenReturn(null);
+        assertThrows(ResourceNotFoundException.class, () -> caseService.getDocumentDownload("MOP-2026-001", 7L));
+    }
+
+    // Test: the archive lists the case's documents in upload order with their recorded CRCs, and fails up front
+    // if one is missing
+    @Test
+    void getDocumentArchive_ChecksEveryDocument() throws Exception {
+        Document later = new Document();
+        later.setId(9L);
+        later.setName("later.pdf");
+        later.setContentHash("bb".repeat(32));
+        Document earlier = new Document();
+        earlier.setId(3L);
+        earlier.setName("earlier.pdf");
+        earlier.setContentHash("aa".repeat(32));
+        when(caseRepository.existsById("MOP-2026-001")).thenReturn(true);
+        when(documentRepository.findByOnboardingCaseCaseId("MOP-2026-001")).thenReturn(List.of(later, earlier));
+        when(documentStorage.stat(any(Document.class))).thenReturn(new DocumentStore.ObjectInfo(5, 1000L));
+
+        when(documentStorage.crc32s(Set.of("aa".repeat(32), "bb".repeat(32)))).thenReturn(Map.of("aa".repeat(32), 42L));
+
+        List<DocumentDownload> archive = caseService.getDocumentArchive("MOP-2026-001");
+
+        assertEquals(List.of("earlier.pdf", "later.pdf"), archive.stream().map(DocumentDownload::name).toList());
+        assertEquals(42L, archive.get(0).crc32());
+        assertNull(archive.get(1).crc32());
+        when(documentStorage.stat(later)).thenReturn(null);
+        assertThrows(ResourceNotFoundException.class, () -> caseService.getDocumentArchive("MOP-2026-001"));
+    }
+
+    // Test: OCR status comes from the result stored for the document's content hash
+    @Test
+    void getDocumentOcr_ByContentHash() {
+        Document document = new Document();
+        document.setId(7L);
+        document.setContentHash("ab".repeat(32));
+        document.setOnboardingCase(testCase);
+        when(documentRepository.findById(7L)).thenReturn(Optional.of(document));
+
+        assertEquals("UNAVAILABLE", caseService.getDocumentOcr("MOP-2026-001", 7L).getStatus());
+
+        ReflectionTestUtils.setField(caseService, "ocrPipeline", mock(OcrPipeline.class));
+        assertEquals("NOT_STARTED", caseService.getDocumentOcr("MOP-2026-001", 7L).getStatus());
+
+        DocumentOcrResult result = new DocumentOcrResult();
+        result.setStatus(OcrStatus.COMPLETED);
+        result.setRegistrationNumber("201901012345");
+        when(documentOcrResultRepository.findById("ab".repeat(32))).thenReturn(Optional.of(result));
+        DocumentOcrDTO dto = caseService.getDocumentOcr("MOP-2026-001", 7L);
+        assertEquals("COMPLETED", dto.getStatus());
+        assertEquals("201901012345", dto.getRegistrationNumber());
+    }
+
     // ─── filterCases() & searchCases() ──────────────────────
 
-    // Test: filtering cases by both status and search keyword returns matching cases
+    // Test: filtering cases by both status and search keyword returns matching cases,
+    // with the status applied in the query rather than in memory
     @Test
     void filterCases_ByStatusAndSearch() {
-        testCase.setStatus("pending_review");
-        when(caseRepository.searchCases("ABC")).thenReturn(List.of(testCase));
+        when(caseRepository.searchCasesByStatus(eq("ABC"), eq(CaseStatus.PENDING_REVIEW), any(Pageable.class)))
+                .thenReturn(List.of(testCase));
 
         List<CaseDTO> result = caseService.filterCases("pending_review", "ABC");
 
         assertEquals(1, result.size());
+        verify(caseRepository, never()).searchCases(anyString(), any(Pageable.class));
+    }
+
+    // Test: a status-only filter is a single status_code query, whatever form the status is given in
+    @Test
+    void filterCases_ByStatusOnly() {
+        when(caseRepository.findByStatusCodeOrderByCreatedAtDescCaseIdDesc(eq(CaseStatus.COMPLIANCE_REVIEW), any(Pageable.class)))
+                .thenReturn(List.of(testCase));
+
+        assertEquals(1, caseService.filterCases("Compliance Review", null).size());
+        assertEquals(1, caseService.filterCases("compliance_review", null).size());
+        verify(caseRepository, never()).findAllByOrderByCreatedAtDescCaseIdDesc(any(Pageable.class));
+    }
+
+    // Test: an unknown status filter is rejected as a bad request
+    @Test
+    void filterCases_UnknownStatus() {
+        assertThrows(IllegalArgumentException.class, () -> caseService.filterCases("archived", null));
     }
 
     // Test: searching cases by keyword (e.g. "ABC") returns cases where the business name matches
     @Test
     void searchCases_ByKeyword() {
-        when(caseRepository.searchCases("ABC")).thenReturn(List.of(testCase));
+        when(caseRepository.searchCases(eq("ABC"), any(Pageable.class))).thenReturn(List.of(testCase));
 
         List<CaseDTO> result = caseService.searchCases("ABC");
 
@@ -388,15 +1114,107 @@ class CaseServiceTest {
         assertEquals("ABC Trading Sdn Bhd", result.get(0).getBusinessName());
     }
 
+    // Test: with the search index enabled, matches are loaded by ID in the index's relevance order
+    // and the LIKE query is not used
+    @Test
+    void searchCases_UsesIndexOrder() {
+        CaseSearchIndex searchIndex = mock(CaseSearchIndex.class);
+        ReflectionTestUtils.setField(caseService, "caseSearchIndex", searchIndex);
+        OnboardingCase second = new OnboardingCase();
+        second.setCaseId("MOP-2026-002");
+        second.setBusinessName("ABC Logistics");
+        when(searchIndex.searchIds(eq("ABC"), eq("PENDING_REVIEW"), anyInt()))
+                .thenReturn(List.of("MOP-2026-002", "MOP-2026-001"));
+        when(caseRepository.findAllById(anyList())).thenReturn(List.of(testCase, second));
+
+        List<CaseDTO> result = caseService.filterCases("pending_review", "ABC");
+
+        assertEquals(List.of("MOP-2026-002", "MOP-2026-001"), result.stream().map(CaseDTO::getCaseId).toList());
+        verify(caseRepository, never()).searchCases(anyString(), any(Pageable.class));
+    }
+
     // ─── addHistoryEntry() ──────────────────────────────────
 
-    // Test: adding a history entry (e.g. "Comment added") to a case saves it successfully for audit trail
+    // Test: adding a history entry (e.g. "Comment added") inserts just that row for the audit trail,
+    // without loading the case's existing history or re-saving the case
     @Test
+    @SuppressWarnings("unchecked")
     void addHistoryEntry_Success() {
+        List<CaseHistory> existingHistory = mock(List.class);
+        testCase.setHistory(existingHistory);
         when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
-        when(caseRepository.save(any(OnboardingCase.class))).thenReturn(testCase);
 
         assertDoesNotThrow(() -> caseService.addHistoryEntry("MOP-2026-001", "Comment added"));
-        verify(caseRepository).save(any(OnboardingCase.class));
+        verify(caseHistoryRepository).save(argThat(h -> h.getAction().equals("Comment added")
+                && h.getOnboardingCase() == testCase));
+        verify(caseRepository, never()).save(any(OnboardingCase.class));
+        verifyNoInteractions(existingHistory);
+    }
+
+    // Test: case detail embeds only the latest history entries, oldest first, plus the full count
+    @Test
+    void getCaseById_EmbedsLatestHistoryOnly() {
+        ReflectionTestUtils.setField(caseService, "detailHistorySize", 2);
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+        when(caseHistoryRepository.findByOnboardingCaseCaseIdOrderByIdDesc(eq("MOP-2026-001"), any(Pageable.class)))
+                .thenReturn(List.of(new CaseHistory(3L, LocalDateTime.of(2026, 4, 3, 10, 0), "Third", testCase),
+                        new CaseHistory(2L, LocalDateTime.of(2026, 4, 2, 10, 0), "Second", testCase)));
+        when(caseHistoryRepository.countByOnboardingCaseCaseId("MOP-2026-001")).thenReturn(3L);
+
+        CaseDTO result = caseService.getCaseById("MOP-2026-001");
+
+        assertEquals(List.of("Second", "Third"), result.getHistory().stream().map(CaseDTO.CaseHistoryDTO::getAction).toList());
+        assertEquals(3L, result.getHistoryTotal());
+    }
+
+    // Test: typed DATE/DATETIME values are rendered in the existing wire format (yyyy-MM-dd, yyyy-MM-dd HH:mm)
+    @Test
+    void getCaseById_KeepsDateWireFormat() {
+        testCase.setLastUpdated(LocalDateTime.of(2026, 4, 2, 15, 30, 45));
+        when(caseRepository.findById("MOP-2026-001")).thenReturn(Optional.of(testCase));
+        when(caseHistoryRepository.findByOnboardingCaseCaseIdOrderByIdDesc(eq("MOP-2026-001"), any(Pageable.class)))
+                .thenReturn(List.of(new CaseHistory(1L, LocalDateTime.of(2026, 4, 1, 9, 5, 12), "Case created by System", testCase)));
+
+        CaseDTO result = caseService.getCaseById("MOP-2026-001");
+
+        assertEquals("2026-04-01", result.getCreatedDate());
+        assertEquals("2026-04-02 15:30", result.getLastUpdated());
+        assertEquals("2026-04-01 09:05", result.getHistory().get(0).getTime());
+    }
+
+    // Test: a malformed createdDate is a client error (400), not a parse failure (500)
+    @Test
+    void createCase_InvalidCreatedDate() {
+        testCaseDTO.setCreatedDate("01/04/2026");
+
+        assertThrows(IllegalArgumentException.class, () -> caseService.createCase(testCaseDTO));
+        verify(caseRepository, never()).save(any(OnboardingCase.class));
+    }
+
+    // Test: the paged history endpoint returns 404 for an unknown case instead of an empty page
+    @Test
+    void getCaseHistory_NotFound() {
+        when(caseRepository.existsById("MOP-9999-999")).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> caseService.getCaseHistory("MOP-9999-999", 0, 20));
+        verifyNoInteractions(caseHistoryRepository);
+    }
+
+    private OnboardingCase bulkCase(String caseId, String status, String assignedTo) {
+        OnboardingCase c = new OnboardingCase();
+        c.setCaseId(caseId);
+        c.setBusinessName("Trading " + caseId);
+        c.setStatus(status);
+        c.setAssignedTo(assignedTo);
+        return c;
+    }
+
+    private void authenticateAs(String userId, String... authorities) {
+        String email = userId.toLowerCase() + "@bank.com";
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null,
+                Arrays.stream(authorities).map(SimpleGrantedAuthority::new).toList()));
+        User user = new User();
+        user.setId(userId);
+        lenient().when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
     }
 }
@@ -0,0 +1,126 @@
+package com.merchantonboarding.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.merchantonboarding.model.CaseStatus;
+import com.merchantonboarding.model.Document;
+import com.merchantonboarding.model.OnboardingCase;
+
+class CaseWorkflowTest {
+
+    private final CaseWorkflow workflow = new CaseWorkflow();
+
+    // Test: a draft edited into Pending Review needs its documents uploaded; the status endpoints do not check them
+    @Test
+    void submitDraft_RequiresDocumentsWhenEdited() {
+        OnboardingCase draft = newCase(CaseStatus.DRAFT, "USR001");
+        CaseWorkflow.Actor officer = actor("USR001", "CASE_CREATION");
+
+        IllegalStateException noDocuments = assertThrows(IllegalStateException.class,
+                () -> workflow.checkTransition(draft, CaseStatus.PENDING_REVIEW, officer, CaseWorkflow.EDIT_GUARDS));
+        assertEquals("Cannot submit case without uploading all required documents", noDocuments.getMessage());
+        assertNull(workflow.check(draft, CaseStatus.PENDING_REVIEW, officer, CaseWorkflow.STATUS_GUARDS));
+
+        draft.getDocuments().add(new Document());
+        assertDoesNotThrow(() -> workflow.checkTransition(draft, CaseStatus.PENDING_REVIEW, officer, CaseWorkflow.EDIT_GUARDS));
+    }
+
+    // Test: a caller-supplied documents answer replaces the lazy collection, and only moves into
+    // Pending Review need it at all
+    @Test
+    void submitDraft_DocumentsAnsweredByCaller() {
+        OnboardingCase draft = newCase(CaseStatus.DRAFT, "USR001");
+        draft.setDocuments(null);
+        CaseWorkflow.Actor officer = actor("USR001", "CASE_CREATION");
+
+        assertNull(workflow.check(draft, CaseStatus.PENDING_REVIEW, officer, CaseWorkflow.EDIT_GUARDS, c -> true));
+        assertNotNull(workflow.check(draft, CaseStatus.PENDING_REVIEW, officer, CaseWorkflow.EDIT_GUARDS, c -> false));
+        assertTrue(workflow.requiresDocuments(CaseStatus.PENDING_REVIEW, CaseWorkflow.EDIT_GUARDS));
+        assertFalse(workflow.requiresDocuments(CaseStatus.PENDING_REVIEW, CaseWorkflow.STATUS_GUARDS));
+        assertFalse(workflow.requiresDocuments(CaseStatus.APPROVED, CaseWorkflow.EDIT_GUARDS));
+    }
+
+    // Test: an open case may move to any status, back or unchanged included, whatever the caller's authority;
+    // final decisions have no way out
+    @Test
+    void transitions_OpenStatusesMoveAnywhere() {
+        CaseWorkflow.Actor officer = actor("USR001", "CASE_CREATION");
+
+        assertEquals(List.of(CaseStatus.values()),
+                workflow.allowedTransitions(newCase(CaseStatus.BACKGROUND_VERIFICATION, "USR001"), officer));
+        assertNull(workflow.check(newCase(CaseStatus.COMPLIANCE_REVIEW, "USR001"), CaseStatus.DRAFT, officer,
+                CaseWorkflow.STATUS_GUARDS));
+        assertNull(workflow.check(newCase(CaseStatus.PENDING_REVIEW, "USR001"), CaseStatus.PENDING_REVIEW, officer,
+                CaseWorkflow.STATUS_GUARDS));
+        assertNull(workflow.check(newCase(null, "USR001"), CaseStatus.APPROVED, officer, CaseWorkflow.STATUS_GUARDS));
+        assertTrue(workflow.allowedTransitions(newCase(CaseStatus.APPROVED, "USR001"), officer).isEmpty());
+        assertTrue(workflow.check(newCase(CaseStatus.REJECTED, "USR001"), CaseStatus.APPROVED, officer, CaseWorkflow.STATUS_GUARDS)
+                .reason().startsWith("Case already has a final decision"));
+    }
+
+    // Test: approve/reject through the status endpoints is for the assignee only, while a case edit may set a
+    // decision like any other status
+    @Test
+    void decisions_AssigneeOnlyOnStatusEndpoints() {
+        OnboardingCase c = newCase(CaseStatus.COMPLIANCE_REVIEW, "USR003");
+        CaseWorkflow.Actor otherReviewer = actor("USR002", "CASE_MANAGEMENT");
+
+        assertThrows(AccessDeniedException.class,
+                () -> workflow.checkTransition(c, CaseStatus.APPROVED, otherReviewer, CaseWorkflow.STATUS_GUARDS));
+        assertDoesNotThrow(() -> workflow.checkTransition(c, CaseStatus.APPROVED, otherReviewer, CaseWorkflow.EDIT_GUARDS));
+    }
+
+    // Test: the assignee user id is looked up at most once, and only when a decision guard needs it
+    @Test
+    void actor_ResolvesUserIdLazily() {
+        int[] lookups = {0};
+        CaseWorkflow.Actor reviewer = workflow.actor(List.of(new SimpleGrantedAuthority("CASE_MANAGEMENT")), () -> {
+            lookups[0]++;
+            return "USR003";
+        });
+        OnboardingCase c = newCase(CaseStatus.PENDING_REVIEW, "USR003");
+
+        assertNull(workflow.check(c, CaseStatus.BACKGROUND_VERIFICATION, reviewer, CaseWorkflow.STATUS_GUARDS));
+        assertEquals(0, lookups[0]);
+        assertNull(workflow.check(c, CaseStatus.APPROVED, reviewer, CaseWorkflow.STATUS_GUARDS));
+        assertNull(workflow.check(c, CaseStatus.REJECTED, reviewer, CaseWorkflow.STATUS_GUARDS));
+        assertEquals(1, lookups[0]);
+    }
+
+    // Test: edit and delete rules per status (drafts and pending cases: officers/admins only; final cases: never)
+    @Test
+    void editAndDeleteRules() {
+        CaseWorkflow.Actor reviewer = actor("USR003", "CASE_MANAGEMENT");
+
+        assertThrows(IllegalStateException.class,
+                () -> workflow.checkEditable(newCase(CaseStatus.PENDING_REVIEW, "USR003"), reviewer));
+        assertDoesNotThrow(() -> workflow.checkEditable(newCase(CaseStatus.COMPLIANCE_REVIEW, "USR003"), reviewer));
+        assertThrows(IllegalStateException.class,
+                () -> workflow.checkEditable(newCase(CaseStatus.APPROVED, "USR003"), actor("USR001", "ALL_MODULES")));
+
+        assertDoesNotThrow(() -> workflow.checkDeletable(newCase(CaseStatus.DRAFT, "USR001")));
+        assertThrows(IllegalStateException.class,
+                () -> workflow.checkDeletable(newCase(CaseStatus.BACKGROUND_VERIFICATION, "USR001")));
+    }
+
+    private CaseWorkflow.Actor actor(String userId, String... authorities) {
+        return workflow.actor(Arrays.stream(authorities).map(SimpleGrantedAuthority::new).toList(), () -> userId);
+    }
+
+    private OnboardingCase newCase(CaseStatus status, String assignedTo) {
+        OnboardingCase c = new OnboardingCase();
+        c.setCaseId("MOP-2026-001");
+        c.setStatusCode(status);
+        c.setAssignedTo(assignedTo);
+        c.setDocuments(new ArrayList<>());
+        return c;
+    }
+}
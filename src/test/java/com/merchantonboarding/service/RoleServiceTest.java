@@ -30,6 +30,7 @@ class RoleServiceTest {
 
     @Mock private RoleRepository roleRepository;
     @Mock private PermissionRepository permissionRepository;
+    @Mock private EntityCacheEvictor entityCacheEvictor;
 
     @InjectMocks
     private RoleService roleService;
@@ -149,6 +150,7 @@ class RoleServiceTest {
 
         assertDoesNotThrow(() -> roleService.deleteRole("onboarding_officer"));
         verify(roleRepository).deleteById("onboarding_officer");
+        verify(entityCacheEvictor).evictAccessControl();
     }
 
     // Tests that deleting a non-existent role throws ResourceNotFoundException
@@ -158,6 +160,7 @@ class RoleServiceTest {
 
         assertThrows(ResourceNotFoundException.class,
                 () -> roleService.deleteRole("nonexistent"));
+        verifyNoInteractions(entityCacheEvictor);
     }
 
     // ─── userHasPermission() ──────────────────────────────────
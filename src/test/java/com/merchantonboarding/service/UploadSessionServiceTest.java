@@ -0,0 +1,202 @@
+package com.merchantonboarding.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.merchantonboarding.dto.CaseDTO;
+import com.merchantonboarding.dto.UploadSessionDTO;
+import com.merchantonboarding.exception.ResourceNotFoundException;
+import com.merchantonboarding.exception.UploadSessionException;
+import com.merchantonboarding.model.UploadSession;
+import com.merchantonboarding.repository.CaseRepository;
+import com.merchantonboarding.repository.UploadSessionRepository;
+import com.merchantonboarding.storage.DocumentStorage;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceTest {
+
+    private static final String CASE_ID = "MOP-2026-001";
+    private static final String UPLOAD_ID = "0b7f9a52-6c1e-4c39-9d55-1f1b2a3c4d5e";
+
+    @Mock private UploadSessionRepository sessionRepository;
+    @Mock private CaseRepository caseRepository;
+    @Mock private CaseService caseService;
+    @Mock private DocumentStorage documentStorage;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private UploadSessionService service;
+
+    @TempDir
+    Path tempDir;
+
+    private UploadSession session;
+    private Path part;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        session = new UploadSession(UPLOAD_ID, CASE_ID, "scan.pdf", "SSM", 10, 0, null, "node-1", now, now);
+        part = tempDir.resolve("sessions").resolve(UPLOAD_ID + ".part");
+        ReflectionTestUtils.setField(service, "node", "node-1");
+        lenient().when(documentStorage.spoolDir()).thenReturn(tempDir);
+        lenient().when(sessionRepository.findByIdAndCaseId(UPLOAD_ID, CASE_ID)).thenReturn(Optional.of(session));
+        lenient().when(sessionRepository.findById(UPLOAD_ID)).thenReturn(Optional.of(session));
+    }
+
+    // Test: a session opened on another node is refused with 421 before any bytes are written,
+    // unless the spool is shared by every node
+    @Test
+    void appendChunk_SessionOfAnotherNodeIsMisdirected() throws Exception {
+        session.setNode("node-2");
+
+        UploadSessionException e = assertThrows(UploadSessionException.class,
+                () -> service.appendChunk(CASE_ID, UPLOAD_ID, 0, checksum("01234"), body("01234")));
+        assertEquals(UploadSessionService.MISDIRECTED_REQUEST, e.getStatus());
+        assertFalse(Files.exists(part));
+
+        ReflectionTestUtils.setField(service, "sharedSpool", true);
+        when(sessionRepository.advanceOffset(eq(UPLOAD_ID), anyLong(), anyLong(), any())).thenReturn(1);
+        assertEquals(5, service.appendChunk(CASE_ID, UPLOAD_ID, 0, checksum("01234"), body("01234")).getOffset());
+    }
+
+    // Test: chunks land at their offsets and the offset only advances once each chunk is verified
+    @Test
+    void appendChunk_WritesChunksInOrder() throws Exception {
+        when(sessionRepository.advanceOffset(eq(UPLOAD_ID), anyLong(), anyLong(), any())).thenReturn(1);
+
+        UploadSessionDTO first = service.appendChunk(CASE_ID, UPLOAD_ID, 0, checksum("01234"), body("01234"));
+        session.setReceivedBytes(first.getOffset());
+        UploadSessionDTO second = service.appendChunk(CASE_ID, UPLOAD_ID, 5, checksum("56789"), body("56789"));
+
+        assertEquals(5, first.getOffset());
+        assertEquals(10, second.getOffset());
+        assertEquals("0123456789", Files.readString(part));
+        verify(sessionRepository).advanceOffset(eq(UPLOAD_ID), eq(5L), eq(10L), any());
+    }
+
+    // Test: a chunk at the wrong offset is refused with 409 and nothing is written
+    @Test
+    void appendChunk_WrongOffsetConflicts() {
+        session.setReceivedBytes(5);
+
+        UploadSessionException ex = assertThrows(UploadSessionException.class,
+            () -> service.appendChunk(CASE_ID, UPLOAD_ID, 0, checksum("01234"), body("01234")));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+        verify(sessionRepository, never()).advanceOffset(any(), anyLong(), anyLong(), any());
+    }
+
+    // Test: a corrupted chunk is rejected and its bytes removed, so the client resends from the same offset
+    @Test
+    void appendChunk_ChecksumMismatchIsDiscarded() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.appendChunk(CASE_ID, UPLOAD_ID, 0, checksum("01234"), body("0123X")));
+
+        assertEquals(0, Files.size(part));
+        verify(sessionRepository, never()).advanceOffset(any(), anyLong(), anyLong(), any());
+        assertThrows(IllegalArgumentException.class,
+            () -> service.appendChunk(CASE_ID, UPLOAD_ID, 0, null, body("01234")));
+    }
+
+    // Test: bytes past the offset left by a dropped connection are truncated before the resent chunk is written
+    @Test
+    void appendChunk_DropsBytesOfInterruptedChunk() throws Exception {
+        Files.createDirectories(part.getParent());
+        Files.writeString(part, "01234567");
+        session.setReceivedBytes(5);
+        when(sessionRepository.advanceOffset(eq(UPLOAD_ID), eq(5L), eq(10L), any())).thenReturn(1);
+
+        service.appendChunk(CASE_ID, UPLOAD_ID, 5, checksum("abcde"), body("abcde"));
+
+        assertEquals("01234abcde", Files.readString(part));
+    }
+
+    // Test: completing stores the assembled file and attaches it while the session row is retired
+    @Test
+    void complete_AttachesDocumentAndEndsSession() throws Exception {
+        Files.createDirectories(part.getParent());
+        Files.writeString(part, "0123456789");
+        session.setReceivedBytes(10);
+        DocumentStorage.StoredContent content = new DocumentStorage.StoredContent("ab".repeat(32), 10, "objects/ab");
+        when(documentStorage.storeFile(part)).thenReturn(content);
+        when(sessionRepository.deleteIfComplete(UPLOAD_ID)).thenReturn(1);
+        CaseDTO updated = new CaseDTO();
+        when(caseService.attachStoredDocument(CASE_ID, "scan.pdf", "SSM", content)).thenReturn(updated);
+
+        assertSame(updated, service.complete(CASE_ID, UPLOAD_ID, null));
+        verify(documentStorage, never()).discard(any());
+    }
+
+    // Test: an upload cannot be completed before every byte has arrived, or with a whole-file hash that differs
+    @Test
+    void complete_RejectsIncompleteOrMismatchedUpload() throws Exception {
+        session.setReceivedBytes(5);
+        UploadSessionException ex = assertThrows(UploadSessionException.class,
+            () -> service.complete(CASE_ID, UPLOAD_ID, null));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+
+        Files.createDirectories(part.getParent());
+        Files.writeString(part, "0123456789");
+        session.setReceivedBytes(10);
+        DocumentStorage.StoredContent content = new DocumentStorage.StoredContent("ab".repeat(32), 10, "objects/ab");
+        when(documentStorage.storeFile(part)).thenReturn(content);
+
+        assertThrows(IllegalArgumentException.class, () -> service.complete(CASE_ID, UPLOAD_ID, "cd".repeat(32)));
+        verify(documentStorage).discard(List.of(content));
+        verify(sessionRepository).deleteById(UPLOAD_ID);
+        verifyNoInteractions(caseService);
+    }
+
+    // Test: sessions belong to the user who opened them
+    @Test
+    void get_OtherUsersSessionIsNotFound() {
+        session.setCreatedBy("someone.else@example.com");
+
+        assertThrows(ResourceNotFoundException.class, () -> service.get(CASE_ID, UPLOAD_ID));
+    }
+
+    // Test: idle sessions are purged together with their part files
+    @Test
+    void purgeAbandoned_RemovesPartFiles() throws Exception {
+        Files.createDirectories(part.getParent());
+        Files.writeString(part, "01234");
+        when(sessionRepository.findIdsIdleSince(any())).thenReturn(List.of(UPLOAD_ID));
+
+        service.purgeAbandoned();
+
+        verify(sessionRepository).deleteById(UPLOAD_ID);
+        assertFalse(Files.exists(part));
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String checksum(String content) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        return "sha256 " + Base64.getEncoder().encodeToString(digest);
+    }
+}
@@ -36,6 +36,7 @@ class UserServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private RoleRepository roleRepository;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private EntityCacheEvictor entityCacheEvictor;
 
     @InjectMocks
     private UserService userService;
@@ -195,6 +196,7 @@ class UserServiceTest {
 
         assertDoesNotThrow(() -> userService.deleteUser("USR001"));
         verify(userRepository).deleteById("USR001");
+        verify(entityCacheEvictor).evictUser("USR001");
     }
 
     // Tests that deleting a non-existent user throws ResourceNotFoundException
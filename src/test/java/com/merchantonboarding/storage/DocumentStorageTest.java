@@ -0,0 +1,214 @@
+package com.merchantonboarding.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.merchantonboarding.model.Document;
+import com.merchantonboarding.model.DocumentContent;
+import com.merchantonboarding.repository.DocumentContentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentStorageTest {
+
+    // SHA-256 of "PDF content"
+    private static final String HASH = "7e7f04c8b5646f7ad29b1cb0c8085d4ff9c6b08f2a632f496641b31f524c7b98";
+
+    @Mock
+    private DocumentContentRepository contentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DocumentStorage storage;
+
+    @TempDir
+    Path tempDir;
+
+    // ref_count per hash, as document_contents would hold it; updated from the writer threads
+    private final Map<String, Integer> refCounts = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(contentRepository.addReference(anyString(), anyLong(), anyLong(), any())).thenAnswer(inv -> {
+            refCounts.merge(inv.getArgument(0), 1, Integer::sum);
+            return 1;
+        });
+        lenient().when(contentRepository.removeReference(anyString())).thenAnswer(inv ->
+            refCounts.computeIfPresent(inv.getArgument(0), (hash, count) -> count - 1) != null ? 1 : 0);
+        lenient().when(contentRepository.findByHashForUpdate(anyString())).thenAnswer(inv ->
+            Optional.ofNullable(refCounts.get(inv.getArgument(0)))
+                .map(count -> new DocumentContent(inv.getArgument(0), 0L, null, count, null)));
+        lenient().when(contentRepository.deleteIfUnreferenced(anyString())).thenAnswer(inv ->
+            refCounts.remove(inv.getArgument(0), 0) ? 1 : 0);
+
+        LocalDocumentStore store = new LocalDocumentStore();
+        ReflectionTestUtils.setField(store, "uploadDir", tempDir.toString());
+        ReflectionTestUtils.setField(storage, "store", store);
+        ReflectionTestUtils.setField(storage, "uploadDir", tempDir.toString());
+        storage.startWriters();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.stopWriters();
+    }
+
+    // Test: identical uploads hash to the same sharded path and leave a single copy on disk, with the spool emptied;
+    // the CRC-32 is recorded with each reference
+    @Test
+    void store_DeduplicatesIdenticalContent() throws Exception {
+        DocumentStorage.StoredContent first = storage.store(stream("PDF content"));
+        DocumentStorage.StoredContent second = storage.store(stream("PDF content"));
+
+        assertEquals(HASH, first.hash());
+        assertEquals(HASH, second.hash());
+        assertEquals(11, first.size());
+        assertEquals(tempDir.resolve("objects").resolve(first.hash().substring(0, 2))
+                .resolve(first.hash().substring(2, 4)).resolve(first.hash()).toString(), first.location());
+        assertEquals("PDF content", Files.readString(Path.of(first.location())));
+        assertEquals(2, refCounts.get(HASH));
+        CRC32 crc = new CRC32();
+        crc.update("PDF content".getBytes(StandardCharsets.UTF_8));
+        verify(contentRepository, times(2)).addReference(eq(HASH), eq(11L), eq(crc.getValue()), any());
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    // Test: a failed write in a parallel upload gives back the references the other writes took, removing
+    // the files only they used but leaving alone bytes that were already stored before this upload
+    @Test
+    void storeAll_CleansUpAfterFailure() throws Exception {
+        DocumentStorage.StoredContent existing = storage.store(stream("already stored"));
+        InputStreamSource failing = () -> {
+            throw new IOException("client went away");
+        };
+
+        assertThrows(UncheckedIOException.class, () -> storage.storeAll(List.of(
+                () -> stream("new scan"), () -> stream("already stored"), failing)));
+
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertEquals(List.of(Path.of(existing.location())), files.filter(Files::isRegularFile).toList());
+        }
+        assertEquals(Map.of(existing.hash(), 1), refCounts);
+    }
+
+    // Test: an interrupted parallel upload waits for the writes already running and gives back every
+    // reference they took, leaving nothing behind
+    @Test
+    void storeAll_InterruptedLeavesNoReferences() throws Exception {
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(IllegalStateException.class, () -> storage.storeAll(List.of(
+                    () -> stream("first scan"), () -> stream("second scan"), () -> stream("third scan"))));
+            assertTrue(Thread.interrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertTrue(refCounts.isEmpty());
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    // Test: discarding an upload that created the object keeps it when another upload of the same
+    // bytes has referenced it meanwhile, and deletes it once that one is discarded too
+    @Test
+    void discard_KeepsObjectReferencedByAnotherUpload() throws Exception {
+        DocumentStorage.StoredContent first = storage.store(stream("PDF content"));
+        DocumentStorage.StoredContent second = storage.store(stream("PDF content"));
+
+        storage.discard(List.of(first));
+        assertTrue(Files.exists(Path.of(second.location())));
+        assertEquals(1, refCounts.get(HASH));
+
+        storage.discard(List.of(second));
+        assertFalse(Files.exists(Path.of(second.location())));
+        assertTrue(refCounts.isEmpty());
+    }
+
+    // Test: the file is only deleted once the last document referencing it is released
+    @Test
+    void release_DeletesFileWhenUnreferenced() throws Exception {
+        DocumentStorage.StoredContent content = storage.store(stream("PDF content"));
+        storage.store(stream("PDF content"));
+        Document document = new Document();
+        document.setContentHash(content.hash());
+
+        storage.release(document);
+        assertTrue(Files.exists(Path.of(content.location())));
+
+        storage.release(document);
+        assertFalse(Files.exists(Path.of(content.location())));
+        assertFalse(refCounts.containsKey(content.hash()));
+    }
+
+    // Test: an upload that reuses the bytes between a release's commit and its cleanup keeps the object,
+    // because its reference is counted before it looks for the object
+    @Test
+    void release_LeavesObjectReusedBeforeCleanup() throws Exception {
+        DocumentStorage.StoredContent content = storage.store(stream("PDF content"));
+        Document document = new Document();
+        document.setContentHash(content.hash());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            storage.release(document);
+            DocumentStorage.StoredContent reused = storage.store(stream("PDF content"));
+            assertEquals(content.location(), reused.location());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(Files.exists(Path.of(content.location())));
+        assertEquals(1, refCounts.get(content.hash()));
+    }
+
+    // Test: documents from before content addressing have their own file deleted by path
+    @Test
+    void release_LegacyDocumentDeletesByPath() throws Exception {
+        Path legacy = Files.writeString(tempDir.resolve("old_cert.pdf"), "PDF content");
+        Document document = new Document();
+        document.setFilePath(legacy.toString());
+
+        storage.release(document);
+
+        assertFalse(Files.exists(legacy));
+        verify(contentRepository, never()).removeReference(anyString());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
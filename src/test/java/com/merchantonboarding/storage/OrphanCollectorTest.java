@@ -0,0 +1,225 @@
+package com.merchantonboarding.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.merchantonboarding.model.UploadSession;
+import com.merchantonboarding.repository.DocumentContentRepository;
+import com.merchantonboarding.repository.DocumentRepository;
+import com.merchantonboarding.repository.UploadSessionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanCollectorTest {
+
+    private static final String KEPT = "aa".repeat(32);
+    private static final String ORPHAN = "ab".repeat(32);
+    private static final String FRESH = "ac".repeat(32);
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private DocumentContentRepository contentRepository;
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private OrphanCollector collector;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(collector, "uploadDir", tempDir.toString());
+        ReflectionTestUtils.setField(collector, "maxFilesPerSecond", 0);
+        lenient().when(documentRepository.findReferencedContentHashes(anyCollection())).thenReturn(List.of(KEPT));
+        lenient().when(documentRepository.findLegacyFilePaths(anyCollection())).thenReturn(List.of());
+        lenient().when(contentRepository.findReferencedHashes(anyCollection())).thenReturn(List.of());
+        lenient().when(uploadSessionRepository.findAllById(anyIterable())).thenReturn(List.of());
+    }
+
+    // Test: old unreferenced files are quarantined (legacy case directories removed once empty), referenced and
+    // recent files stay, and spool leftovers are deleted outright with their bytes counted as reclaimed
+    @Test
+    void collect_QuarantinesOrphansAndClearsSpool() throws Exception {
+        Path kept = old(object(KEPT, "kept"));
+        Path orphan = old(object(ORPHAN, "orphan"));
+        Path fresh = object(FRESH, "fresh");
+        Path legacy = old(write("MOP-2024-001/old_cert.pdf", "legacy"));
+        Path spool = old(write("tmp/upload-123.tmp", "partial"));
+        Path part = old(write("tmp/sessions/gone.part", "abandoned"));
+
+        collector.collect();
+
+        assertTrue(Files.exists(kept));
+        assertTrue(Files.exists(fresh));
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(tempDir.resolve("quarantine").resolve(tempDir.relativize(orphan))));
+        assertTrue(Files.exists(tempDir.resolve("quarantine/MOP-2024-001/old_cert.pdf")));
+        assertFalse(Files.exists(legacy.getParent()));
+        assertFalse(Files.exists(spool));
+        assertFalse(Files.exists(part));
+        assertEquals(16, meterRegistry.get("storage.gc.reclaimed.bytes").counter().count());
+        assertEquals(2, meterRegistry.get("storage.gc.files").tag("action", "quarantined").counter().count());
+        assertEquals("tmp", Files.readString(tempDir.resolve(OrphanCollector.CHECKPOINT_FILE)));
+    }
+
+    // Test: quarantined files are deleted once retention passes, unless a document points at them again
+    @Test
+    void collect_ExpiresQuarantineButRestoresRevivedFiles() throws Exception {
+        Path orphan = old(object(ORPHAN, "orphan"));
+        Path revived = old(object(KEPT, "revived"));
+        when(documentRepository.findReferencedContentHashes(anyCollection())).thenReturn(List.of());
+        collector.collect();
+        assertFalse(Files.exists(revived));
+
+        ReflectionTestUtils.setField(collector, "quarantineRetention", Duration.ofMillis(-1));
+        when(documentRepository.findReferencedContentHashes(anyCollection())).thenReturn(List.of(KEPT));
+        collector.collect();
+
+        assertTrue(Files.exists(revived));
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(tempDir.resolve("quarantine").resolve(tempDir.relativize(orphan))));
+        assertEquals(6, meterRegistry.get("storage.gc.reclaimed.bytes").counter().count());
+        assertEquals(1, meterRegistry.get("storage.gc.files").tag("action", "restored").counter().count());
+    }
+
+    // Test: a run stops after its file budget and the next run resumes after the checkpointed slice
+    @Test
+    void collect_ResumesFromCheckpoint() throws Exception {
+        old(object(KEPT, "kept"));
+        old(object(ORPHAN, "orphan"));
+        Path part = old(write("tmp/sessions/live.part", "in progress"));
+        UploadSession live = new UploadSession();
+        live.setId("live");
+        when(uploadSessionRepository.findAllById(anyIterable())).thenReturn(List.of(live));
+        ReflectionTestUtils.setField(collector, "filesPerRun", 1L);
+
+        collector.collect();
+        assertEquals("objects/aa", Files.readString(tempDir.resolve(OrphanCollector.CHECKPOINT_FILE)));
+        assertTrue(Files.exists(tempDir.resolve("objects/ab/ab").resolve(ORPHAN)));
+
+        collector.collect();
+        assertEquals("objects/ab", Files.readString(tempDir.resolve(OrphanCollector.CHECKPOINT_FILE)));
+        assertFalse(Files.exists(tempDir.resolve("objects/ab/ab").resolve(ORPHAN)));
+
+        collector.collect();
+        assertEquals("tmp", Files.readString(tempDir.resolve(OrphanCollector.CHECKPOINT_FILE)));
+        assertTrue(Files.exists(part));
+    }
+
+    // Test: purging the quarantine stops after its own budget and the next run resumes after the checkpointed
+    // slice, so expired files past a large slice are still reached
+    @Test
+    void collect_PurgesQuarantineInBudgetedSlices() throws Exception {
+        old(object(ORPHAN, "orphan"));
+        old(write("MOP-2024-001/old_cert.pdf", "legacy"));
+        when(documentRepository.findReferencedContentHashes(anyCollection())).thenReturn(List.of());
+        collector.collect();
+        Path quarantinedObject = tempDir.resolve("quarantine/objects/ab/ab").resolve(ORPHAN);
+        Path quarantinedLegacy = tempDir.resolve("quarantine/MOP-2024-001/old_cert.pdf");
+        assertTrue(Files.exists(quarantinedObject));
+        assertTrue(Files.exists(quarantinedLegacy));
+
+        ReflectionTestUtils.setField(collector, "quarantineRetention", Duration.ofMillis(-1));
+        ReflectionTestUtils.setField(collector, "quarantineFilesPerRun", 1L);
+        collector.collect();
+        assertEquals("MOP-2024-001", Files.readString(tempDir.resolve(OrphanCollector.QUARANTINE_CHECKPOINT_FILE)));
+        assertFalse(Files.exists(quarantinedLegacy));
+        assertTrue(Files.exists(quarantinedObject));
+
+        collector.collect();
+        assertEquals("objects/ab", Files.readString(tempDir.resolve(OrphanCollector.QUARANTINE_CHECKPOINT_FILE)));
+        assertFalse(Files.exists(quarantinedObject));
+    }
+
+    // Test: legacy files are matched on {caseId}/{name}, so a path recorded under another spelling of the
+    // upload dir (relative, ./-prefixed, absolute, Windows separators) still keeps its file
+    @Test
+    void collect_MatchesLegacyPathsWhateverTheUploadDirSpelling() throws Exception {
+        Path relative = old(write("MOP-2024-001/a.pdf", "a"));
+        Path dotted = old(write("MOP-2024-001/b.pdf", "b"));
+        Path absolute = old(write("MOP-2024-002/c.pdf", "c"));
+        Path windows = old(write("MOP-2024-002/d.pdf", "d"));
+        Path orphan = old(write("MOP-2024-002/e.pdf", "e"));
+        when(documentRepository.findLegacyFilePaths(anyCollection())).thenReturn(List.of(
+                "uploads/MOP-2024-001/a.pdf", "./uploads/MOP-2024-001/b.pdf",
+                "/srv/app/uploads/MOP-2024-002/c.pdf", "C:\\app\\uploads\\MOP-2024-002\\d.pdf",
+                "/srv/app/uploads/MOP-2024-002/other-e.pdf"));
+
+        collector.collect();
+
+        assertTrue(Files.exists(relative));
+        assertTrue(Files.exists(dotted));
+        assertTrue(Files.exists(absolute));
+        assertTrue(Files.exists(windows));
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(tempDir.resolve("quarantine/MOP-2024-002/e.pdf")));
+    }
+
+    // Test: an object an upload reuses while the collector works is put back: either its reference is
+    // counted by the check after the move, or its fresh mtime shows up on the moved file
+    @Test
+    void collect_RestoresObjectsReusedDuringTheScan() throws Exception {
+        Path counted = old(object(ORPHAN, "counted"));
+        Path touched = old(object(FRESH, "touched"));
+        when(documentRepository.findReferencedContentHashes(anyCollection())).thenAnswer(inv -> {
+            // An upload touches the object between the lookup and the move
+            if (inv.<Collection<String>>getArgument(0).contains(FRESH)) {
+                Files.setLastModifiedTime(touched, FileTime.from(Instant.now()));
+            }
+            return List.of();
+        });
+        when(contentRepository.findReferencedHashes(anyCollection())).thenReturn(List.of(), List.of(ORPHAN));
+
+        collector.collect();
+
+        assertTrue(Files.exists(counted));
+        assertTrue(Files.exists(touched));
+        assertFalse(Files.exists(tempDir.resolve("quarantine").resolve(tempDir.relativize(counted))));
+        assertFalse(Files.exists(tempDir.resolve("quarantine").resolve(tempDir.relativize(touched))));
+        assertEquals(2, meterRegistry.get("storage.gc.files").tag("action", "restored").counter().count());
+    }
+
+    private Path object(String hash, String content) throws Exception {
+        return write("objects/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash, content);
+    }
+
+    private Path write(String relative, String content) throws Exception {
+        Path file = tempDir.resolve(relative);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private static Path old(Path file) throws Exception {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        return file;
+    }
+}